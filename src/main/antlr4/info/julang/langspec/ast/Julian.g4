@@ -516,8 +516,13 @@ lambda_body
 // given token sequence were there no precedence defined, such as "expr AND expr OR expr". Since there 
 // will be no ambiguity between "expression function_call", "expression DOT IDENTIFIER" and several 
 // others level-10 alternatives, the order of them in the production rules doesn't really matter.
+//
+// An expression node may carry a binding which the interpreter resolved upon evaluating the node for
+// the first time. The binding is opaque to the parser, and must be re-validated by the interpreter on
+// every use, since the same node is evaluated many times, possibly by different threads.
 
 expression
+    locals [ Object binding ]
     : primary                                                                # e_primary  
     | expression LEFT_BRACKET expression RIGHT_BRACKET                       # e_indexer       // 10
     | expression function_call                                               # e_function_call
@@ -780,7 +785,9 @@ foreach_statement
 try_statement 
     : TRY block catch_block* finally_block?
     ;
+// A catch block carries the exception type resolved upon the first match attempt. See also the binding of expression.
 catch_block 
+    locals [ Object binding ]
     : CATCH LEFT_PAREN type IDENTIFIER RIGHT_PAREN block
     ;
 finally_block 
@@ -29,7 +29,8 @@ import info.julang.interpretation.context.Context;
 import info.julang.interpretation.errorhandling.JSExceptionFactory;
 import info.julang.interpretation.errorhandling.JulianScriptException;
 import info.julang.interpretation.errorhandling.KnownJSException;
-import info.julang.langspec.CharacterEscaping;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.TempValueFactory;
 
 /**
  * A JSE Runtime Exception is the kind of exception caused by incorrect script or bad engine state. 
@@ -76,11 +77,12 @@ public abstract class JSERuntimeException extends RuntimeException {
 	public abstract KnownJSException getKnownJSException();
 	
 	private JulianScriptException toJSE0(ThreadRuntime rt, Context context, KnownJSException kjs){
+		String msg = getScriptMessage();
 		return JSExceptionFactory.createException(
 				kjs, 
 				rt, 
 				context, 
-				CharacterEscaping.encodeAsStringLiteral("(", getScriptMessage(), ");")
+				msg != null ? new JValue[] { TempValueFactory.createTempStringValue(msg) } : new JValue[0]
 				);
 	}
 	
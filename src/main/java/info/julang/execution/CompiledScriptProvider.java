@@ -0,0 +1,115 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.execution;
+
+import java.io.ByteArrayInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+import info.julang.external.exceptions.ScriptNotFoundException;
+import info.julang.interpretation.BadSyntaxException;
+import info.julang.interpretation.GlobalScriptExecutable;
+import info.julang.parser.ANTLRParser;
+import info.julang.parser.LazyAstInfo;
+
+/**
+ * The compiled script provider provides an executable from a script which has been parsed in advance.
+ * <p>
+ * Unlike {@link StringScriptProvider}, which scans and parses the script each time an executable is 
+ * requested, this provider holds on to the parsed AST and creates a new executable around it for each 
+ * run. Therefore the same instance can be used to run the script any number of times. The AST is never
+ * modified during interpretation. (The executable itself cannot be cached, since it carries the state of 
+ * a particular run.)
+ * 
+ * @author Ming Zhou
+ */
+public class CompiledScriptProvider implements ScriptProvider {
+
+	private LazyAstInfo lainfo;
+	private String defaultModulePath;
+	private boolean interactiveMode;
+	
+	/**
+	 * Scan and parse the given script.
+	 * 
+	 * @param script the contents of script.
+	 * @param interactiveMode whether the script is to be run in interactive mode.
+	 * @return A provider holding the parsed script. If the script contains syntax errors, 
+	 * it will be reported when the script is run.
+	 */
+	public static CompiledScriptProvider compile(String script, boolean interactiveMode){
+		ByteArrayInputStream bais = new ByteArrayInputStream(script.getBytes());
+		ANTLRParser ap = new ANTLRParser("<memory>", bais, false);
+		LazyAstInfo lainfo = ap.scan(false);
+		ap.parse(true, false);
+		return new CompiledScriptProvider(lainfo, null, interactiveMode);
+	}
+	
+	/**
+	 * Scan and parse the given script file.
+	 * 
+	 * @param filePathName the path of script file.
+	 * @return A provider holding the parsed script. If the script contains syntax errors, 
+	 * it will be reported when the script is run.
+	 * @throws ScriptNotFoundException if the file cannot be found.
+	 */
+	public static CompiledScriptProvider compileFile(String filePathName) throws ScriptNotFoundException {
+		FileScriptProvider fsp = FileScriptProvider.create(filePathName);
+		try {
+			FileInputStream fis = new FileInputStream(filePathName);
+			ANTLRParser ap = new ANTLRParser(filePathName, fis, true);
+			LazyAstInfo lainfo = ap.scan(false);
+			ap.parse(true, false);
+			return new CompiledScriptProvider(lainfo, fsp.getDefaultModulePath(), false);
+		} catch (FileNotFoundException e) {
+			throw new ScriptNotFoundException("Script not found", e);
+		}
+	}
+	
+	private CompiledScriptProvider(LazyAstInfo lainfo, String defaultModulePath, boolean interactiveMode){
+		this.lainfo = lainfo;
+		this.defaultModulePath = defaultModulePath;
+		this.interactiveMode = interactiveMode;
+	}
+	
+	/**
+	 * Get the syntax error found while parsing the script.
+	 * 
+	 * @return null if the script was parsed successfully.
+	 */
+	public BadSyntaxException getBadSyntaxException() {
+		return lainfo.getBadSyntaxException();
+	}
+	
+	@Override
+	public GlobalScriptExecutable getExecutable(boolean allowReentry) {
+		return new GlobalScriptExecutable(lainfo, allowReentry, interactiveMode);
+	}
+
+	@Override
+	public String getDefaultModulePath() {
+		return defaultModulePath;
+	}
+}
@@ -34,9 +34,12 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
+import javax.script.ScriptException;
+
 import info.julang.JSERuntimeException;
 import info.julang.execution.Argument;
 import info.julang.execution.ArgumentUtil;
+import info.julang.execution.CompiledScriptProvider;
 import info.julang.execution.EngineContext;
 import info.julang.execution.EngineRuntime;
 import info.julang.execution.FileScriptProvider;
@@ -65,14 +68,18 @@ import info.julang.external.exceptions.JSEError;
 import info.julang.external.exceptions.JSEException;
 import info.julang.external.exceptions.ScriptNotFoundException;
 import info.julang.external.interfaces.IExtEngineRuntime;
+import info.julang.external.interfaces.IExtValue;
 import info.julang.external.interfaces.ResetPolicy;
 import info.julang.hosting.HostedMethodManager;
 import info.julang.hosting.mapped.implicit.ImplicitPlatformTypeMapper;
 import info.julang.hosting.mapped.implicit.ObjectBindingGroup;
+import info.julang.interpretation.BadSyntaxException;
+import info.julang.interpretation.FunctionInvocationExecutable;
 import info.julang.interpretation.InterpretedExecutable;
 import info.julang.interpretation.errorhandling.JulianScriptException;
 import info.julang.memory.MemoryArea;
 import info.julang.memory.value.JValue;
+import info.julang.memory.value.RefValue;
 import info.julang.memory.value.ValueUtilities;
 import info.julang.modulesystem.IModuleManager;
 import info.julang.modulesystem.ModuleInfo;
@@ -125,6 +132,9 @@ public class SimpleScriptEngine implements IScriptEngine {
 	
 	private Map<EngineLimit, Integer> limits;
 	
+	// The compiled scripts which have been run successfully since the user-defined types were cleared last time.
+	private Set<CompiledScriptProvider> loadedScripts;
+	
 	/**
 	 * [CFOW] Create a new SimpleScriptEngine.
 	 * 
@@ -177,8 +187,171 @@ public class SimpleScriptEngine implements IScriptEngine {
 		run(new StringScriptProvider(script, interactiveMode));
 	}
 	
+	/**
+	 * [CFOW]
+	 */
+	@Override
+	public Object compileSnippet(String script) throws EngineInvocationError {
+		return checkSyntax(CompiledScriptProvider.compile(script, interactiveMode));
+	}
+	
+	/**
+	 * [CFOW]
+	 */
+	@Override
+	public Object compileFile(String fileName) throws EngineInvocationError {
+		try {
+			return checkSyntax(CompiledScriptProvider.compileFile(fileName));
+		} catch (ScriptNotFoundException e) {
+			throw new EngineInvocationError("Engine cannot be invoked without script.", e);
+		}
+	}
+	
+	/**
+	 * [CFOW]
+	 */
+	@Override
+	public void runCompiled(Object handle) throws EngineInvocationError {
+		runCompiled(toCompiledScript(handle));
+	}
+	
+	private void runCompiled(CompiledScriptProvider csp) throws EngineInvocationError {
+		run(csp);
+		
+		if (state == State.SUCCESS) {
+			if (loadedScripts == null) {
+				loadedScripts = new HashSet<>();
+			}
+			
+			loadedScripts.add(csp);
+		}
+	}
+	
+	private CompiledScriptProvider checkSyntax(CompiledScriptProvider csp) throws EngineInvocationError {
+		BadSyntaxException bse = csp.getBadSyntaxException();
+		if (bse != null) {
+			throw new EngineInvocationError(
+				"The script contains a syntax error.", 
+				new ScriptException(bse.getMessage(), bse.getFileName(), bse.getLineNumber()));
+		}
+		
+		return csp;
+	}
+	
+	private CompiledScriptProvider toCompiledScript(Object handle) throws EngineInvocationError {
+		if (!(handle instanceof CompiledScriptProvider)) {
+			throw new EngineInvocationError("The handle doesn't refer to a script compiled by this engine.");
+		}
+		
+		return (CompiledScriptProvider)handle;
+	}
+	
+	/**
+	 * [CFOW]
+	 */
+	@Override
+	public void invoke(Object handle, String target, String funcName, IBinding[] args) throws EngineInvocationError {
+		if (!loadForInvocation(handle)) {
+			return;
+		}
+		
+		JValue[] values = convertArguments(funcName, args);
+		runInvocation(new FunctionInvocationExecutable(target, funcName, values));
+	}
+	
+	/**
+	 * [CFOW]
+	 */
+	@Override
+	public boolean hasFunction(String target, String funcName, int argCount) {
+		return FunctionInvocationExecutable.isDefined(getRuntime().getGlobalVariableTable(), target, funcName, argCount);
+	}
+	
+	/**
+	 * [CFOW]
+	 */
+	@Override
+	public IExtValue[] invokeBatch(
+		Object handle, String target, String funcName, IBinding[][] args, int parallelism) throws EngineInvocationError {
+		if (!loadForInvocation(handle)) {
+			return null;
+		}
+		
+		JValue[][] inputs = new JValue[args.length][];
+		for (int i = 0; i < inputs.length; i++) {
+			inputs[i] = convertArguments(funcName, args[i]);
+		}
+		
+		FunctionInvocationExecutable exec = new FunctionInvocationExecutable(target, funcName, inputs, parallelism);
+		runInvocation(exec);
+		if (state != State.SUCCESS) {
+			return null;
+		}
+		
+		JValue[] results = exec.getResults();
+		IExtValue[] values = new IExtValue[results.length];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = results[i].deref();
+		}
+		
+		return values;
+	}
+	
+	// Run the compiled script unless it has been loaded. Return false if the script failed.
+	private boolean loadForInvocation(Object handle) throws EngineInvocationError {
+		if (handle != null) {
+			CompiledScriptProvider csp = toCompiledScript(handle);
+			if (loadedScripts == null || !loadedScripts.contains(csp)) {
+				// Load the script which defines the function
+				runCompiled(csp);
+				if (state != State.SUCCESS) {
+					return false;
+				}
+			}
+		}
+		
+		return true;
+	}
+	
+	private JValue[] convertArguments(String funcName, IBinding[] args) throws EngineInvocationError {
+		MemoryArea heap = getRuntime().getHeap();
+		JValue[] values = new JValue[args != null ? args.length : 0];
+		try {
+			for (int i = 0; i < values.length; i++) {
+				IBinding arg = args[i];
+				values[i] = arg != null 
+					? ValueUtilities.convertFromExtValue(heap, funcName, arg.toInternal())
+					: RefValue.NULL;
+			}
+		} catch (ExternalBindingException e) {
+			throw new EngineInvocationError("Cannot convert the arguments to call " + funcName + ".", e);
+		}
+		
+		return values;
+	}
+	
+	private void runInvocation(final FunctionInvocationExecutable exec) throws EngineInvocationError {
+		run(new ScriptProvider() {
+			@Override
+			public InterpretedExecutable getExecutable(boolean allowReentry) {
+				return exec;
+			}
+
+			@Override
+			public String getDefaultModulePath() {
+				return null;
+			}
+		}, true);
+	}
+	
 	@Override
 	public void run(ScriptProvider provider) throws EngineInvocationError {
+		run(provider, false);
+	}
+	
+	// If isInvocation = true, the engine is to call a function defined by the previous runs. 
+	// The user-defined types must be kept intact in this case.
+	private void run(ScriptProvider provider, boolean isInvocation) throws EngineInvocationError {
 		if(!firstTime && !allowReentry){
 			throw new EngineInvocationError("The engine doesn't support re-entrance.");
 		} else {
@@ -199,7 +372,7 @@ public class SimpleScriptEngine implements IScriptEngine {
 		IModuleManager modManager = runtime.getModuleManager();
 		
 		boolean inited = runtime.getTypeTable().initialize(runtime);
-		if (!firstTime && !inited && clearUserDefinedTypesOnReentry) {
+		if (!firstTime && !inited && clearUserDefinedTypesOnReentry && !isInvocation) {
 			// The engine is being re-entered without resetting.
 			resetUserDefinedTypes(modManager);
 		}
@@ -292,7 +465,11 @@ public class SimpleScriptEngine implements IScriptEngine {
 				context.detachedBindings = null;
 			}
 			
-			Argument[] scriptArguments = ArgumentUtil.convertArguments(runtime.getTypeTable(), context.getArguments());
+			// An invocation doesn't take script arguments. Skip the conversion, which 
+			// can be costlier than the function call itself due to array allocation.
+			Argument[] scriptArguments = isInvocation 
+				? new Argument[0] 
+				: ArgumentUtil.convertArguments(runtime.getTypeTable(), context.getArguments());
 			
 			// Clear the result from last run
 			result = null;
@@ -363,6 +540,9 @@ public class SimpleScriptEngine implements IScriptEngine {
 	}
 	
 	private void resetUserDefinedTypes(IModuleManager modManager) {
+		// Functions defined by compiled scripts are gone with the types.
+		loadedScripts = null;
+		
 		TypeTable tt = (TypeTable)runtime.getTypeTable();
 		tt.clearAllUserDefinedTypes();
 		
@@ -462,14 +642,31 @@ public class SimpleScriptEngine implements IScriptEngine {
 		if (pol == ResetPolicy.FULL || runtime == null) {
 			runtime = null;
 			mainThread = null;
+			loadedScripts = null;
 			runtime = getRuntime();
-		} else { // ResetPolicy.USER_DEFINED_ONLY
+		} else { // ResetPolicy.USER_DEFINED_ONLY, ResetPolicy.RECYCLE
 			// variables
 			runtime.getGlobalVariableTable().clear();
 			
 			// types
 			IModuleManager modManager = runtime.getModuleManager();
 			resetUserDefinedTypes(modManager);
+			
+			if (pol == ResetPolicy.RECYCLE) {
+				// bindings, module paths and arguments
+				if (context != null) {
+					context.clear();
+				}
+				
+				// policies and limits
+				modManager.resetPlatformAccess();
+				modManager.clearExecutionData();
+				limits = null;
+				policyUpdated = false;
+				
+				// IO redirection
+				runtime.setStandardIO(new StandardIO());
+			}
 		}
 		
 		state = State.NOT_STARTED;
@@ -627,6 +824,15 @@ public class SimpleScriptEngine implements IScriptEngine {
 			exception = null;
 		}
 		
+		void clear(){
+			reset();
+			bindings = null;
+			detachedBindings = null;
+			policies = null;
+			modulePaths.clear();
+			modulePathSet.clear();
+		}
+		
 		@Override
 		public void addPolicy(boolean allowOrDeny, String category, String[] operations) {
 			if (policies == null) {
@@ -0,0 +1,247 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.execution.symboltable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import info.julang.typesystem.jclass.ICompoundType;
+import info.julang.typesystem.jclass.JClassMember;
+
+/**
+ * An index from attribute types to the types and members annotated with them.
+ * <p>
+ * The index is populated as the attributes are initialized during type loading, so that a query for all
+ * the targets of an attribute doesn't need to enumerate the loaded types and inspect each of their members.
+ * The targets are appended to growable lists while the types are being loaded, and frozen into arrays on
+ * the first query after that. The arrays are cached until another target is added for the same attribute.
+ * <p>
+ * An entry is recorded against the type instance being loaded. If loading fails, or the type is later 
+ * cleared from the type table, the entry is not immediately removed. The caller should therefore verify 
+ * that the type of each returned target is still the one registered in the type table.
+ * 
+ * @author Ming Zhou
+ */
+public class AttributeIndex {
+
+	/**
+	 * A type or member annotated with a certain attribute.
+	 */
+	public static class Target {
+		
+		private final ICompoundType type;
+		private final JClassMember member;
+		
+		private Target(ICompoundType type, JClassMember member){
+			this.type = type;
+			this.member = member;
+		}
+		
+		/**
+		 * @return the annotated type, or the type declaring the annotated member.
+		 */
+		public ICompoundType getType() {
+			return type;
+		}
+		
+		/**
+		 * @return the annotated member; null if the attribute is applied on the type itself.
+		 */
+		public JClassMember getMember() {
+			return member;
+		}
+	}
+	
+	// The targets of an attribute on a single type.
+	private static class TypeTargets {
+		
+		private final ICompoundType type;
+		private final List<Target> list;
+		private Target[] frozen;
+		
+		private TypeTargets(ICompoundType type){
+			this.type = type;
+			this.list = new ArrayList<Target>();
+		}
+		
+		private boolean add(JClassMember member){
+			for (Target t : list) {
+				if (t.member == member) {
+					// The same attribute applied more than once
+					return false;
+				}
+			}
+			
+			list.add(new Target(type, member));
+			frozen = null;
+			return true;
+		}
+		
+		private Target[] freeze(){
+			if (frozen == null) {
+				frozen = list.toArray(new Target[list.size()]);
+			}
+			
+			return frozen;
+		}
+	}
+	
+	// The targets of an attribute, grouped by type.
+	private static class AttrTargets {
+		
+		// Type name => targets, in the order the types were indexed
+		private final Map<String, TypeTargets> byType;
+		private volatile Target[] frozen;
+		
+		private AttrTargets(){
+			this.byType = new LinkedHashMap<String, TypeTargets>();
+		}
+		
+		private Target[] freeze(){
+			Target[] targets = frozen;
+			if (targets == null) {
+				List<Target> all = new ArrayList<Target>();
+				for (TypeTargets tt : byType.values()) {
+					all.addAll(tt.list);
+				}
+				
+				targets = all.toArray(new Target[all.size()]);
+				frozen = targets;
+			}
+			
+			return targets;
+		}
+	}
+	
+	private static final Target[] EMPTY = new Target[0];
+	
+	// Attribute type name => targets. All modifications are made while holding the lock of this index.
+	private ConcurrentMap<String, AttrTargets> targetsByAttr;
+	
+	public AttributeIndex() {
+		targetsByAttr = new ConcurrentHashMap<String, AttrTargets>();
+	}
+	
+	/**
+	 * Record a target for the given attribute. If the same target has been added already, this is a no-op.
+	 * 
+	 * @param attrTypeName the name of attribute type
+	 * @param type the annotated type, or the type declaring the annotated member
+	 * @param member if null, the attribute is applied on the type itself
+	 */
+	public synchronized void add(String attrTypeName, ICompoundType type, JClassMember member) {
+		AttrTargets targets = targetsByAttr.get(attrTypeName);
+		if (targets == null) {
+			targets = new AttrTargets();
+			targetsByAttr.put(attrTypeName, targets);
+		}
+		
+		String typName = type.getName();
+		TypeTargets tt = targets.byType.get(typName);
+		if (tt == null || tt.type != type) {
+			// Drop the targets from an earlier version of this type
+			targets.byType.remove(typName);
+			tt = new TypeTargets(type);
+			targets.byType.put(typName, tt);
+		}
+		
+		if (tt.add(member)) {
+			targets.frozen = null;
+		}
+	}
+	
+	/**
+	 * Get all the targets annotated with the given attribute.
+	 * 
+	 * @param attrTypeName the name of attribute type
+	 * @return an array of targets, grouped by type in the order the types were first indexed, and in the order 
+	 * they were added within each type. Never null. Must not be modified.
+	 */
+	public Target[] get(String attrTypeName) {
+		AttrTargets targets = targetsByAttr.get(attrTypeName);
+		if (targets == null) {
+			return EMPTY;
+		}
+		
+		Target[] frozen = targets.frozen;
+		if (frozen != null) {
+			return frozen;
+		}
+		
+		synchronized(this){
+			return targets.freeze();
+		}
+	}
+	
+	/**
+	 * Get the targets annotated with the given attribute on a single type.
+	 * 
+	 * @param attrTypeName the name of attribute type
+	 * @param type the annotated type, or the type declaring the annotated members
+	 * @return an array of targets in the order they were added. Never null. Must not be modified.
+	 */
+	public Target[] get(String attrTypeName, ICompoundType type) {
+		AttrTargets targets = targetsByAttr.get(attrTypeName);
+		if (targets == null) {
+			return EMPTY;
+		}
+		
+		synchronized(this){
+			TypeTargets tt = targets.byType.get(type.getName());
+			return tt != null && tt.type == type ? tt.freeze() : EMPTY;
+		}
+	}
+	
+	/**
+	 * Remove all the targets declared by, or annotated with, any of the given types.
+	 * 
+	 * @param typeNames the names of the types to remove
+	 */
+	public synchronized void clear(Collection<String> typeNames) {
+		if (typeNames.isEmpty()) {
+			return;
+		}
+		
+		Iterator<Map.Entry<String, AttrTargets>> iter = targetsByAttr.entrySet().iterator();
+		while (iter.hasNext()) {
+			Map.Entry<String, AttrTargets> entry = iter.next();
+			if (typeNames.contains(entry.getKey())) {
+				iter.remove();
+				continue;
+			}
+			
+			AttrTargets targets = entry.getValue();
+			if (targets.byType.keySet().removeAll(typeNames)) {
+				targets.frozen = null;
+			}
+		}
+	}
+}
@@ -24,8 +24,8 @@ SOFTWARE.
 
 package info.julang.execution.symboltable;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import info.julang.memory.value.ObjectMember;
 import info.julang.typesystem.jclass.ICompoundType;
@@ -35,25 +35,29 @@ import info.julang.util.OneOrMoreList;
  * A cache to store extension methods.
  * <p>
  * The cache gets automatically (but lazily) invalidated if the type is updated during runtime.
+ * <p>
+ * The cache is safe for concurrent use by multiple threads. The methods cached for a type are kept in a
+ * storage tagged with the type's stamp. A stale storage is replaced as a whole, so a reader never sees 
+ * methods cached against different versions of the type.
  * 
  * @author Ming Zhou
  */
 public class ExtMethodCache {
 
 	private static class ExtMethodStorage {
-		private int stamp;
-		private Map<String, OneOrMoreList<ObjectMember>> methodsByName;
+		private final int stamp;
+		private final ConcurrentMap<String, OneOrMoreList<ObjectMember>> methodsByName;
 		
 		ExtMethodStorage(int stamp){
 			this.stamp = stamp;
-			this.methodsByName = new HashMap<String, OneOrMoreList<ObjectMember>>();
+			this.methodsByName = new ConcurrentHashMap<String, OneOrMoreList<ObjectMember>>();
 		}
 	}
 	
-	private Map<String, ExtMethodStorage> extCache;
+	private ConcurrentMap<String, ExtMethodStorage> extCache;
 	
 	public ExtMethodCache() {
-		extCache = new HashMap<String, ExtMethodStorage>();
+		extCache = new ConcurrentHashMap<String, ExtMethodStorage>();
 	}
 	
 	public OneOrMoreList<ObjectMember> get(ICompoundType ctyp, String methodName) {
@@ -64,8 +68,8 @@ public class ExtMethodCache {
 		}
 		
 		if (stor.stamp != ctyp.getStamp()) {
-			// Invalidate now
-			extCache.remove(typName);
+			// Invalidate now, unless another thread has already replaced it.
+			extCache.remove(typName, stor);
 			return null;
 		}
 		
@@ -75,25 +79,21 @@ public class ExtMethodCache {
 	
 	public void put(ICompoundType ctyp, String methodName, OneOrMoreList<ObjectMember> members) {
 		String typName = ctyp.getName();
-		ExtMethodStorage stor = extCache.get(typName);
 		int stamp = ctyp.getStamp();
-		boolean shouldAdd = false;
-		if (stor == null) {
-			// Not cached before
-			shouldAdd = true;
-		} else if (stor.stamp != stamp) {
-			// Must invalidate
-			extCache.remove(typName);
-			shouldAdd = true;
-		}
-		
-		if (shouldAdd) {
-			stor = new ExtMethodStorage(stamp);
-			extCache.put(typName, stor);
+		ExtMethodStorage stor = extCache.get(typName);
+		while (stor == null || stor.stamp != stamp) {
+			ExtMethodStorage newStor = new ExtMethodStorage(stamp);
+			boolean added = stor == null
+				// Not cached before
+				? extCache.putIfAbsent(typName, newStor) == null
+				// Must invalidate
+				: extCache.replace(typName, stor, newStor);
+			
+			// If we lost the race, retry against the storage added by the other thread.
+			stor = added ? newStor : extCache.get(typName);
 		}
 		
 		stor.methodsByName.put(methodName, members);
-		
 	}
 
 	public void clear(String name) {
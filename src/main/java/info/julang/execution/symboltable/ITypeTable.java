@@ -87,6 +87,13 @@ public interface ITypeTable extends IExtTypeTable {
 	 */
 	public void removeUnfinalizedTypes(List<String> typeNames);
 	
+	/**
+	 * Get the index from attribute types to the types and members annotated with them.
+	 * 
+	 * @return the attribute index, populated as the types are loaded.
+	 */
+	public AttributeIndex getAttributeIndex();
+	
 	//----------------------- Array Type Cache ------------------------//
 	// Array types are created implicitly in the script (through array
 	// definitions like "Object[]". To make sure that we have only one
@@ -103,6 +103,11 @@ public class RestrictedTypeTable implements ITypeTable {
 		this.tt.removeUnfinalizedTypes(typeNames);
 	}
 
+	@Override
+	public AttributeIndex getAttributeIndex() {
+		return this.tt.getAttributeIndex();
+	}
+
 	@Override
 	public JArrayType getArrayType(JType elementType) {
 		if (!isAllowedInAttributContext(elementType, false)) {
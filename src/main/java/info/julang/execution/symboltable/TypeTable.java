@@ -33,6 +33,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import info.julang.execution.EngineRuntime;
 import info.julang.execution.StandardIO;
@@ -80,6 +81,12 @@ import info.julang.util.OneOrMoreList;
  * added with <code>finalized = false</code>. Then after the initialization is done, mark <code>finalized
  * </code> as <code>true</code>. This is because initialization cannot be performed while the type is not
  * present in type table.
+ * <p>
+ * Type lookups vastly outnumber type additions, and are made from all the threads. So the reads are not
+ * synchronized. All the types are kept in a concurrent map, while the finalized ones are also published
+ * in an immutable snapshot which is replaced by each write that finalizes or removes types. A lookup 
+ * checks the snapshot first, and falls back to the concurrent map only for the types not yet finalized.
+ * The writes are still serialized on the type table.
  *
  * @author Ming Zhou
  */
@@ -94,9 +101,9 @@ public class TypeTable implements ITypeTable {
 	 */
 	private static class TypeInfo {
 		JType type;
-		TypeValue value;
+		volatile TypeValue value;
 		OneOrMoreList<JArrayType> art;
-		boolean finalized;
+		volatile boolean finalized;
 		
 		// TODO - when we add support of type overwriting in REPL, must call this when loading new types
 		// so that we can remove all types of the same name.
@@ -123,11 +130,16 @@ public class TypeTable implements ITypeTable {
 	
 	private MemoryArea heap;
 	
-	private Map<String, TypeInfo> types = new HashMap<String, TypeInfo>();
+	private Map<String, TypeInfo> types = new ConcurrentHashMap<String, TypeInfo>();
+	
+	// An immutable map of all the finalized types. Replaced, never modified, upon writes.
+	private volatile Map<String, TypeInfo> finalizedTypes = Collections.emptyMap();
 	
 	private ExtMethodCache extMethodCache = new ExtMethodCache();
 	
-	private Map<String, ArrayTypeInfo> arrayTypes = Collections.synchronizedMap(new HashMap<String, ArrayTypeInfo>());
+	private AttributeIndex attrIndex = new AttributeIndex();
+	
+	private Map<String, ArrayTypeInfo> arrayTypes = new ConcurrentHashMap<String, ArrayTypeInfo>();
 	
 	/**
 	 * [CFOW]
@@ -145,7 +157,7 @@ public class TypeTable implements ITypeTable {
 	 * @param fqname fully qualified name
 	 * @return null if no type of given name is defined.
 	 */
-	public synchronized JType getType(String fqname){
+	public JType getType(String fqname){
 		return getType(fqname, false);
 	}
 	
@@ -156,11 +168,9 @@ public class TypeTable implements ITypeTable {
 	 * @param requireFinalized specify true if the type must be finalized to retrieve. Un-finalized type will be treated as if not present.
 	 * @return null if no type of given name is defined.
 	 */
-	public synchronized JType getType(String fqname, boolean requireFinalized){
-		TypeInfo info = types.get(fqname);
-		return 
-			info == null ? null : 
-				(requireFinalized && !info.finalized) ? null : info.type;
+	public JType getType(String fqname, boolean requireFinalized){
+		TypeInfo info = getTypeInfo(fqname, requireFinalized);
+		return info == null ? null : info.type;
 	}
 	
 	/**
@@ -171,7 +181,7 @@ public class TypeTable implements ITypeTable {
 	 * @param fqname fully qualified name
 	 * @return null if no type of given name is defined.
 	 */
-	public synchronized TypeValue getValue(String fqname){
+	public TypeValue getValue(String fqname){
 		return getValue(fqname, false);
 	}
 	
@@ -184,16 +194,27 @@ public class TypeTable implements ITypeTable {
 	 * @param requireFinalized specify true if the type must be finalized to retrieve. Un-finalized type will be treated as if not present.
 	 * @return null if no type of given name is defined.
 	 */
-	public synchronized TypeValue getValue(String fqname, boolean requireFinalized){
+	public TypeValue getValue(String fqname, boolean requireFinalized){
 		if(fqname.startsWith("[")) {
 			ArrayTypeInfo info = arrayTypes.get(fqname);
 			return info == null ? null : info.value;
 		} else {
-			TypeInfo info = types.get(fqname);
-			return 
-				info == null ? null : 
-					(requireFinalized && !info.finalized) ? null : info.value;
+			TypeInfo info = getTypeInfo(fqname, requireFinalized);
+			return info == null ? null : info.value;
+		}
+	}
+	
+	private TypeInfo getTypeInfo(String fqname, boolean requireFinalized){
+		// Most lookups are for finalized types, which are found in the snapshot.
+		TypeInfo info = finalizedTypes.get(fqname);
+		if (info != null) {
+			return info;
 		}
+		
+		info = types.get(fqname);
+		return 
+			info == null ? null : 
+				(requireFinalized && !info.finalized) ? null : info;
 	}
 	
 	/**
@@ -349,6 +370,7 @@ public class TypeTable implements ITypeTable {
 				ati.value = new TypeValue(heap, ati.type);
 			}
 			
+			publishFinalizedTypes();
 			initialized = true;
 			
 			return true;
@@ -364,6 +386,8 @@ public class TypeTable implements ITypeTable {
 				info.finalized = true;
 			}
 		}
+		
+		publishFinalizedTypes();
 	}
 	
 	public synchronized void removeUnfinalizedTypes(List<String> typeNames){
@@ -373,6 +397,13 @@ public class TypeTable implements ITypeTable {
 				throw new JSEError("Removed a finalized type.");
 			}
 		}
+		
+		attrIndex.clear(typeNames);
+	}
+	
+	@Override
+	public AttributeIndex getAttributeIndex() {
+		return attrIndex;
 	}
 	
 	@Override
@@ -463,6 +494,23 @@ public class TypeTable implements ITypeTable {
 		for (String name : aNames) {
 			arrayTypes.remove(name);
 		}
+		
+		attrIndex.clear(names);
+		
+		publishFinalizedTypes();
+	}
+	
+	// Must be called with the lock on this type table held.
+	private void publishFinalizedTypes() {
+		Map<String, TypeInfo> snapshot = new HashMap<String, TypeInfo>(types.size() * 2);
+		for (Entry<String, TypeInfo> entry : types.entrySet()) {
+			TypeInfo info = entry.getValue();
+			if (info.finalized) {
+				snapshot.put(entry.getKey(), info);
+			}
+		}
+		
+		finalizedTypes = Collections.unmodifiableMap(snapshot);
 	}
 	
 	public static boolean isSystemType(String name) {		
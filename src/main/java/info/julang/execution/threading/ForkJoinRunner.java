@@ -0,0 +1,158 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.execution.threading;
+
+import java.util.List;
+
+import info.julang.execution.Argument;
+import info.julang.execution.Executable;
+import info.julang.execution.Result;
+import info.julang.execution.security.RuntimeQuotaException;
+import info.julang.external.exceptions.JSEError;
+import info.julang.memory.value.IFuncValue;
+
+/**
+ * Runs a group of tasks on behalf of the calling thread, each of which may be run in a separate worker thread.
+ * <p>
+ * The first task is run by the calling thread, and each of the others by a worker {@link JThread} forked for it. A 
+ * worker is only forked if it doesn't break the engine's thread limit. Once the limit is reached, no more workers are 
+ * forked, and the remaining tasks are run by the calling thread after its own one.
+ * <p>
+ * The calling thread doesn't return until all the workers are done, even if some tasks have failed. Then the first 
+ * exception is re-thrown, starting from the calling thread's own, followed by those from the workers in the order 
+ * of their tasks.
+ * 
+ * @author Ming Zhou
+ */
+public final class ForkJoinRunner {
+
+	/**
+	 * A task to be run by either the calling thread or a worker.
+	 */
+	public static interface Task {
+		
+		/**
+		 * Run the task. In a worker thread, this is called within a new frame, and the exception thrown from here 
+		 * will be re-thrown by the calling thread. 
+		 * 
+		 * @param rt the runtime of the thread running this task.
+		 */
+		void run(ThreadRuntime rt);
+		
+	}
+	
+	private ForkJoinRunner() {
+		
+	}
+	
+	/**
+	 * Run all the tasks and wait for them to complete.
+	 * 
+	 * @param rt the runtime of the calling thread.
+	 * @param tasks the tasks to run. Must not be empty.
+	 * @param desc what the tasks do as a whole, to be used in the error message if a worker fails unexpectedly.
+	 */
+	public static void run(ThreadRuntime rt, List<? extends Task> tasks, String desc) {
+		int count = tasks.size();
+		JThreadManager tm = rt.getThreadManager();
+		Worker[] workers = new Worker[count];
+		JThreadRunnable[] forks = new JThreadRunnable[count];
+		RuntimeException error = null;
+		try {
+			int forked = 1;
+			for (; forked < count; forked++) {
+				Worker worker = new Worker(tasks.get(forked));
+				JThread thread = tm.createWorker(null, rt, worker);
+				try {
+					forks[forked] = tm.runBackground(thread);
+				} catch (RuntimeQuotaException ex) {
+					// Not allowed to fork more threads. Run the rest in this thread.
+					break;
+				}
+				
+				workers[forked] = worker;
+			}
+			
+			tasks.get(0).run(rt);
+			for (int i = forked; i < count; i++) {
+				tasks.get(i).run(rt);
+			}
+		} catch (RuntimeException ex) {
+			error = ex;
+		} finally {
+			// Do not return until all the workers are done.
+			for (JThreadRunnable r : forks) {
+				if (r != null) {
+					r.waitForCompletion();
+				}
+			}
+		}
+		
+		for (int i = 1; i < count && error == null; i++) {
+			if (forks[i] != null) {
+				if (workers[i].error != null) {
+					error = workers[i].error;
+				} else if (!forks[i].isSuccess()) {
+					error = new JSEError("A thread running " + desc + " failed.", forks[i].getException());
+				}
+			}
+		}
+		
+		if (error != null) {
+			throw error;
+		}
+	}
+	
+	/**
+	 * Runs a task in a worker thread.
+	 */
+	private static class Worker implements Executable {
+		
+		private Task task;
+		
+		// Do not let the exception escape from a background thread. It will be re-thrown by the calling thread.
+		private RuntimeException error;
+		
+		private Worker(Task task) {
+			this.task = task;
+		}
+		
+		@Override
+		public Result execute(ThreadRuntime runtime, IFuncValue f, Argument[] args) {
+			ThreadStack stack = runtime.getThreadStack();
+			stack.pushFrame();
+			try {
+				task.run(runtime);
+			} catch (RuntimeException ex) {
+				error = ex;
+			} finally {
+				stack.popFrame();
+			}
+			
+			return Result.Void;
+		}
+		
+	}
+}
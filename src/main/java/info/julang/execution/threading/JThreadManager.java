@@ -55,6 +55,9 @@ import info.julang.memory.simple.SimpleStackArea;
 import info.julang.memory.value.FuncValue;
 import info.julang.memory.value.HostedValue;
 import info.julang.memory.value.IFuncValue;
+import info.julang.typesystem.JType;
+import info.julang.typesystem.jclass.jufc.SystemTypeUtility;
+import info.julang.typesystem.jclass.jufc.System.Concurrency.ScriptThread;
 import info.julang.typesystem.jclass.jufc.System.Network.AsyncSocketSession;
 import info.julang.util.Pair;
 
@@ -308,6 +311,31 @@ public class JThreadManager {
 		return jt;
 	}
 	
+	/**
+	 * Create a background thread to run an engine-internal executable on behalf of the current thread, 
+	 * but not run it. 
+	 * <p>
+	 * Unlike the threads created through Julian's concurrency API, a worker thread is not started from a 
+	 * <code style="color:green">System.Concurrency.Thread</code> object. Such an object is created here 
+	 * to represent the worker, in the same way as for the main thread.
+	 * 
+	 * @param name if null or empty, will assign a unique name.
+	 * @param threadRt the runtime of the current thread
+	 * @param exec the executable
+	 * @return the worker thread, which is yet to be started by {@link #runBackground(JThread)}.
+	 */
+	public JThread createWorker(String name, ThreadRuntime threadRt, Executable exec){
+		JThread jt = createBackground(
+			name, threadRt, FuncValue.DUMMY, exec, null, null, false, JThreadPriority.NORMAL);
+		
+		JType typ = SystemTypeUtility.ensureTypeBeLoaded(threadRt, ScriptThread.FullTypeName);
+		HostedValue hv = new HostedValue(threadRt.getHeap(), typ);
+		hv.setHostedObject(new ScriptThread(jt, null));
+		jt.setScriptThreadObject(hv);
+		
+		return jt;
+	}
+	
 	/**
 	 * Run a {@link JThread} as a background thread on the platform.
 	 * 
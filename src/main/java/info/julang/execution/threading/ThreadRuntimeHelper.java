@@ -140,7 +140,7 @@ public final class ThreadRuntimeHelper {
 	}
 	
 	public static ArrayValue createAndPopulateArrayValue(
-		ThreadRuntime rt, JClassType eleTyp, JValue[] values){
+		ThreadRuntime rt, JType eleTyp, JValue[] values){
 		// 1) Create an array of same length as given values
 		ITypeTable tt = rt.getTypeTable();
 		MemoryArea mem = rt.getHeap();
@@ -27,14 +27,25 @@ package info.julang.external;
 import info.julang.dev.GlobalSetting;
 import info.julang.external.exceptions.JSEError;
 
+import java.lang.reflect.InvocationTargetException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * A customized class loader used in Julian script engine. When loading JSE internal classes, it disregards the
  * standard delegation model and probes locally from URL paths. This way, multiple Julian engine instances will 
  * each maintain its own set of internal classes.
+ * <p>
+ * Loading the engine classes, running their static initializers and warming up JIT for them all over again is
+ * a significant cost when creating a new engine. To mitigate it, a loader can be {@link #lease(URL, ClassLoader)
+ * leased} from a process-wide pool, and {@link #recycle(EngineComponentClassLoader) recycled} once the engines
+ * that were created from it are no longer in use. Recycling resets the static state of the engine world (most
+ * notably the built-in types), but retains all the loaded classes and the code compiled for them.
  * 
  * @author Ming Zhou
  */
@@ -42,6 +53,11 @@ public class EngineComponentClassLoader extends URLClassLoader {
 
 	private static final AtomicInteger COUNTER = new AtomicInteger();
 	
+	// Idle loaders, keyed by the path to engine binaries.
+	private static final Map<String, Deque<EngineComponentClassLoader>> IDLE_LOADERS = new HashMap<>();
+	
+	private static final String BUILTIN_BOOTSTRAPPER_CLASS = "info.julang.typesystem.jclass.BuiltinTypeBootstrapper";
+	
 	// Classes from the following packages, as well as packages underneath them, will
 	// be delegated to the parent loader.
 	private static final String PKG_EXTERNAL_PREFIX = "info.julang.external.";
@@ -49,11 +65,74 @@ public class EngineComponentClassLoader extends URLClassLoader {
 
 	private int seq;
 	
+	private String key;
+	
 	public EngineComponentClassLoader(URL[] urls, ClassLoader parent) {
 		super(urls, parent);
 		seq = COUNTER.incrementAndGet();
 	}
 	
+	/**
+	 * Get a loader for the engine binaries at the given path. If a recycled loader is available, return it. 
+	 * Otherwise create a new one.
+	 * 
+	 * @param url The path to engine binaries.
+	 * @param parent The parent class loader.
+	 * @return A loader which is exclusively held by the caller until it's {@link #recycle(EngineComponentClassLoader) recycled}.
+	 */
+	public static EngineComponentClassLoader lease(URL url, ClassLoader parent) {
+		String key = url.toString();
+		synchronized (IDLE_LOADERS) {
+			Deque<EngineComponentClassLoader> loaders = IDLE_LOADERS.get(key);
+			if (loaders != null) {
+				while (!loaders.isEmpty()) {
+					EngineComponentClassLoader loader = loaders.pop();
+					if (loader.getParent() == parent) {
+						return loader;
+					}
+				}
+			}
+		}
+		
+		EngineComponentClassLoader loader = new EngineComponentClassLoader(new URL[]{url}, parent);
+		loader.key = key;
+		return loader;
+	}
+	
+	/**
+	 * Return a loader obtained from {@link #lease(URL, ClassLoader)} so that it can be used by other callers.
+	 * <p>
+	 * The caller must guarantee that none of the engines or components created from this loader will be used 
+	 * afterwards. In particular, the built-in types are rebuilt when the loader is used next time.
+	 * 
+	 * @param loader A loader previously returned by {@link #lease(URL, ClassLoader)}.
+	 */
+	public static void recycle(EngineComponentClassLoader loader) {
+		if (loader.key == null) {
+			throw new JSEError("Cannot recycle a class loader which is not obtained from the pool.");
+		}
+		
+		// Reset the static states in the engine world.
+		try {
+			loader.loadClass(BUILTIN_BOOTSTRAPPER_CLASS).getMethod("clearClassTypes").invoke(null);
+		} catch (ClassNotFoundException | IllegalAccessException | NoSuchMethodException e) {
+			throw new JSEError("Cannot reset the engine class loader.", e);
+		} catch (InvocationTargetException e) {
+			// The static states may be corrupted. Let it go.
+			return;
+		}
+		
+		synchronized (IDLE_LOADERS) {
+			Deque<EngineComponentClassLoader> loaders = IDLE_LOADERS.get(loader.key);
+			if (loaders == null) {
+				loaders = new ArrayDeque<>();
+				IDLE_LOADERS.put(loader.key, loaders);
+			}
+			
+			loaders.push(loader);
+		}
+	}
+	
 	public Class<?> loadClass(String name) throws ClassNotFoundException {
 		// Follow standard delegation model if it is not a Julian component, or ...
 		if (!name.startsWith(GlobalSetting.PKG_PREFIX)) {
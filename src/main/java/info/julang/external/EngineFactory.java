@@ -60,21 +60,39 @@ public class EngineFactory {
 
 	private ClassLoader loader;
 	private EngineInitializationOption option;
+	private boolean isolated;
 	
 	protected static final String INITIAL_PATH = "info/julang/external/EngineFactory.class";
 	protected static final int INITIAL_PATH_LEN = INITIAL_PATH.length();
 
 	/**
 	 * Create an engine factory with specified configuration.
+	 * <p>
+	 * The factory may reuse a class loader which was previously used by another factory and has been 
+	 * {@link #release() released} since. This saves the cost of loading and warming up engine classes.
 	 * 
 	 * @param option The option used to created the factory. 
 	 */
 	public EngineFactory(EngineInitializationOption option){
+		this(option, false);
+	}
+	
+	/**
+	 * Create an engine factory with specified configuration.
+	 * 
+	 * @param option The option used to created the factory. 
+	 * @param isolated If true, the factory will use a brand-new class loader which is never shared with 
+	 * other factories, even after this factory is {@link #release() released}. 
+	 */
+	public EngineFactory(EngineInitializationOption option, boolean isolated){
 		this.option = option;
+		this.isolated = isolated;
 		
 		ClassLoader appLoader = EngineFactory.class.getClassLoader();
 		URL url = getEngineBinariesPath();
-		loader = new EngineComponentClassLoader(new URL[]{url}, appLoader);
+		loader = isolated 
+			? new EngineComponentClassLoader(new URL[]{url}, appLoader)
+			: EngineComponentClassLoader.lease(url, appLoader);
 	}
 	
 	/**
@@ -84,6 +102,24 @@ public class EngineFactory {
 		this(new EngineInitializationOption());
 	}
 	
+	/**
+	 * Release the class loader held by this factory so that it can be reused by factories created later.
+	 * <p>
+	 * Call this method only when the engines and components created by this factory are no longer in use. 
+	 * The factory itself cannot be used after this call. This method has no effect on an isolated factory.
+	 */
+	public void release(){
+		if (loader == null) {
+			return;
+		}
+		
+		if (!isolated) {
+			EngineComponentClassLoader.recycle((EngineComponentClassLoader)loader);
+		}
+		
+		loader = null;
+	}
+	
 	/**
 	 * Create a {@link info.julang.execution.simple.SimpleScriptEngine simple engine}
 	 * along with its runtime.
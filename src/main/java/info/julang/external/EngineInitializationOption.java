@@ -46,6 +46,13 @@ public class EngineInitializationOption {
 		this.clearUserBindingsOnExit = false;
 	}
 	
+	EngineInitializationOption(EngineInitializationOption other) {
+		this(other.allowReentry, other.useExceptionDefaultHandler, other.interactiveMode);
+		
+		this.clearUserDefinedTypesOnReentry = other.clearUserDefinedTypesOnReentry;
+		this.clearUserBindingsOnExit = other.clearUserBindingsOnExit;
+	}
+	
 	public boolean allowReentry() {
 		return allowReentry;
 	}
@@ -26,8 +26,10 @@ package info.julang.external;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -83,6 +85,8 @@ public class JulianScriptEngine {
 	
 	protected IExtScriptEngine engine;
 	
+	private EngineFactory factory;
+	
 	private EngineInitializationOption option;
 	
 	private InputStream input;
@@ -102,8 +106,8 @@ public class JulianScriptEngine {
 	}
 	
 	protected JulianScriptEngine(EngineInitializationOption option){
-		EngineFactory fact = new EngineFactory(option);
-		engine = fact.createEngine();
+		factory = new EngineFactory(option);
+		engine = factory.createEngine();
 		this.option = option;
 	}
 	
@@ -216,8 +220,28 @@ public class JulianScriptEngine {
 		}
 		
 		public JulianScriptEngine build() {
-			JulianScriptEngine instance = new JulianScriptEngine(option);
-			
+			JulianScriptEngine instance = newEngine();
+			configure(instance);
+			return instance;
+		}
+		
+		/**
+		 * Create an engine pool, the engines in which are all built with the current settings of this builder.
+		 * The engines will be always configured to allow re-entry.
+		 * 
+		 * @param size The number of engines to keep in the pool.
+		 * @return A pool filled with initialized engines.
+		 * @see JulianScriptEnginePool
+		 */
+		public JulianScriptEnginePool buildPool(int size) {
+			// The builder may still be used afterwards, so don't change its own option.
+			EngineInitializationOption poolOption = new EngineInitializationOption(option);
+			poolOption.allowReentry = true;
+			return new JulianScriptEnginePool(this, poolOption, size);
+		}
+		
+		// Apply the staged settings to an engine. This is also called when recycling an engine to the pool.
+		void configure(JulianScriptEngine instance) {
 			if (modulePaths != null && modulePaths.size() > 0) {
 				for (String mpath : modulePaths) {
 					instance.addModulePath(mpath);
@@ -253,8 +277,14 @@ public class JulianScriptEngine {
 			if (stderr != null) {
 				instance.setError(stderr);
 			}
-			
-			return instance;
+		}
+		
+		JulianScriptEngine newEngine() {
+			return newEngine(option);
+		}
+		
+		JulianScriptEngine newEngine(EngineInitializationOption option) {
+			return new JulianScriptEngine(option);
 		}
 	}
 	
@@ -276,6 +306,12 @@ public class JulianScriptEngine {
 	 */
 	public void reset(ResetPolicy pol){
 		engine.reset(pol);
+		
+		if (pol == ResetPolicy.RECYCLE) {
+			input = null;
+			output = null;
+			error = null;
+		}
 	}
 	
 	/**
@@ -574,6 +610,197 @@ public class JulianScriptEngine {
 		return runInternal(script, arguments, false);
 	}
 	
+	/**
+	 * Parse the string as a Julian script without running it. The returned handle can be run with 
+	 * {@link #run(ScriptHandle, String[])}, or used to {@link #invoke(ScriptHandle, String, Object...) 
+	 * invoke} the functions it defines, any number of times without parsing the script again.
+	 * 
+	 * @param script the script content
+	 * @return A handle to the compiled script, which can only be used with this engine.
+	 * @throws JSEException if the script contains a syntax error, in which case the cause is a {@link ScriptException}.
+	 */
+	public ScriptHandle compileScript(String script) throws JSEException {
+		try {
+			return new ScriptHandle(this, engine.compileSnippet(script));
+		} catch (EngineInvocationError eir) {
+			throw toCompilationException(eir);
+		}
+	}
+	
+	/**
+	 * Parse the Julian script as specified by the path without running it. The returned handle can be run 
+	 * with {@link #run(ScriptHandle, String[])}, or used to {@link #invoke(ScriptHandle, String, Object...) 
+	 * invoke} the functions it defines, any number of times without reading and parsing the file again.
+	 * 
+	 * @param path the script file's path
+	 * @return A handle to the compiled script, which can only be used with this engine.
+	 * @throws JSEException if the file cannot be found, or contains a syntax error. In the latter case 
+	 * the cause is a {@link ScriptException}.
+	 */
+	public ScriptHandle compileFile(String path) throws JSEException {
+		try {
+			return new ScriptHandle(this, engine.compileFile(path));
+		} catch (EngineInvocationError eir) {
+			throw toCompilationException(eir);
+		}
+	}
+	
+	// A syntax error is reported in the same way as an exception thrown from running the script.
+	private JSEException toCompilationException(EngineInvocationError eir) {
+		if (eir.getCause() instanceof ScriptException) {
+			return new JSEException("The script has a syntax error.", eir.getCause());
+		} else {
+			return new JSEException("The engine encountered an exception.", eir);
+		}
+	}
+	
+	/**
+	 * Check whether a global function, or a method of an object stored in a global variable, has been 
+	 * defined by the scripts run previously and takes the given number of arguments. Nothing is called.
+	 * 
+	 * @param target the name of the global variable holding the object. If null, check a global function.
+	 * @param funcName the name of the function or method
+	 * @param argCount the number of arguments
+	 * @return true if the function, or an overload of the method, takes <code>argCount</code> arguments.
+	 */
+	public boolean hasFunction(String target, String funcName, int argCount) {
+		return engine.hasFunction(target, funcName, argCount);
+	}
+	
+	/**
+	 * Run a compiled script.
+	 * 
+	 * @param handle the handle returned by {@link #compileScript(String)} or {@link #compileFile(String)}
+	 * @param arguments Arguments to pass along to the script
+	 * @return The result of running; can be null
+	 * @throws JSEException A wrapper exception, the cause of which can be any of 
+	 * {@link JSEError}, {@link EngineInvocationError}, {@link ScriptException}, etc.
+	 */
+	public Object run(ScriptHandle handle, String[] arguments) throws JSEException {
+		final Object compiled = getCompiled(handle);
+		return runInternal(arguments, new EngineCall() {
+			@Override
+			public void call() throws EngineInvocationError {
+				engine.runCompiled(compiled);
+			}
+		});
+	}
+	
+	/**
+	 * Call a global function defined by a compiled script.
+	 * <p>
+	 * Upon the first call, the script is run to load its definitions. Subsequent calls only invoke the 
+	 * function, without re-running the top-level script, until the engine is {@link #reset(ResetPolicy) 
+	 * reset}, or the user-defined types are cleared on reentry. This allows a script to be loaded once 
+	 * and have its functions called many times. The engine must allow reentry.
+	 * <p>
+	 * The arguments can be of type int, boolean, char, float or String. Null is also allowed.
+	 * 
+	 * @param handle the handle returned by {@link #compileScript(String)} or {@link #compileFile(String)}
+	 * @param funcName the name of the global function
+	 * @param args the arguments
+	 * @return The value returned by the function; can be null
+	 * @throws JSEException A wrapper exception, the cause of which can be any of 
+	 * {@link JSEError}, {@link EngineInvocationError}, {@link ScriptException}, etc.
+	 */
+	public Object invoke(ScriptHandle handle, String funcName, Object... args) throws JSEException {
+		return invokeInternal(handle, null, funcName, args);
+	}
+	
+	/**
+	 * Call a global function defined by a compiled script over a batch of inputs, one call for each.
+	 * <p>
+	 * This is equivalent to calling {@link #invoke(ScriptHandle, String, Object...)} for each input, 
+	 * but the engine is prepared and the function looked up only once for the entire batch, which makes 
+	 * it considerably cheaper when the function is to be applied to a large number of inputs.
+	 * <p>
+	 * An input which is an <code>Object[]</code> provides all the arguments for the call. Any other 
+	 * input is passed as the sole argument. The batch stops at the first call which throws.
+	 * 
+	 * @param handle the handle returned by {@link #compileScript(String)} or {@link #compileFile(String)}
+	 * @param funcName the name of the global function
+	 * @param inputs the inputs
+	 * @return The values returned by the function, in the same order as the inputs
+	 * @throws JSEException A wrapper exception, the cause of which can be any of 
+	 * {@link JSEError}, {@link EngineInvocationError}, {@link ScriptException}, etc.
+	 */
+	public List<Object> invokeBatch(ScriptHandle handle, String funcName, Iterable<?> inputs) throws JSEException {
+		return invokeBatch(handle, funcName, inputs, 1);
+	}
+	
+	/**
+	 * Call a global function defined by a compiled script over a batch of inputs, with the calls 
+	 * partitioned among several threads. 
+	 * <p>
+	 * The current thread takes one partition, and a script thread is started for each of the others. 
+	 * Therefore the function must be safe to call concurrently, and the engine's limit on threads, if 
+	 * set, must allow <code>parallelism - 1</code> more threads. Otherwise the same as 
+	 * {@link #invokeBatch(ScriptHandle, String, Iterable)}.
+	 * 
+	 * @param handle the handle returned by {@link #compileScript(String)} or {@link #compileFile(String)}
+	 * @param funcName the name of the global function
+	 * @param inputs the inputs
+	 * @param parallelism the number of threads to make the calls, including the current one
+	 * @return The values returned by the function, in the same order as the inputs
+	 * @throws JSEException A wrapper exception, the cause of which can be any of 
+	 * {@link JSEError}, {@link EngineInvocationError}, {@link ScriptException}, etc.
+	 */
+	public List<Object> invokeBatch(
+		ScriptHandle handle, final String funcName, Iterable<?> inputs, final int parallelism) throws JSEException {
+		if (parallelism < 1) {
+			throw new JSEException("Parallelism must be positive.");
+		}
+		
+		final Object compiled = handle != null ? getCompiled(handle) : null;
+		List<IBinding[]> list = new ArrayList<IBinding[]>();
+		for (Object input : inputs) {
+			Object[] args = input instanceof Object[] ? (Object[])input : new Object[] { input };
+			IBinding[] bindings = new IBinding[args.length];
+			for (int i = 0; i < bindings.length; i++) {
+				bindings[i] = toArgumentBinding(funcName, args[i]);
+			}
+			
+			list.add(bindings);
+		}
+		
+		final IBinding[][] bindings = list.toArray(new IBinding[list.size()][]);
+		final IExtValue[][] holder = new IExtValue[1][];
+		runInternal(null, new EngineCall() {
+			@Override
+			public void call() throws EngineInvocationError {
+				holder[0] = engine.invokeBatch(compiled, null, funcName, bindings, parallelism);
+			}
+		});
+		
+		// Null if the failure was not thrown, such as in interactive mode
+		IExtValue[] values = holder[0];
+		if (values == null) {
+			return null;
+		}
+		
+		List<Object> results = new ArrayList<Object>(values.length);
+		for (IExtValue val : values) {
+			results.add(convertValue(val));
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Dispose this engine. The engine cannot be used after this call.
+	 * <p>
+	 * Disposing allows the internal resources held by this engine, in particular the classes loaded for 
+	 * engine components, to be reused by engines created later. This can considerably reduce the cost of 
+	 * engine creation.
+	 */
+	public void dispose() {
+		if (factory != null) {
+			engine = null;
+			factory.release();
+			factory = null;
+		}
+	}
+	
 	/**
 	 * Stop the current running.
 	 * 
@@ -589,16 +816,25 @@ public class JulianScriptEngine {
 	
 	//-------------------------------- Invocation: internals ----------------------------------//
 	
-	private Object runInternal(String script, String[] args, boolean isFileOrSnippet) throws JSEException {
+	private Object runInternal(final String script, String[] args, final boolean isFileOrSnippet) throws JSEException {
+		return runInternal(args, new EngineCall() {
+			@Override
+			public void call() throws EngineInvocationError {
+				if (isFileOrSnippet) {
+					engine.runFile(script);
+				} else {
+					engine.runSnippet(script);
+				}
+			}
+		});
+	}
+	
+	private Object runInternal(String[] args, EngineCall call) throws JSEException {
 		try {
 			engine.setRedirection(output, error, input);
 			
 			engine.getContext().setArguments(args);
-			if (isFileOrSnippet) {
-				engine.runFile(script);
-			} else {
-				engine.runSnippet(script);
-			}
+			call.call();
 			
 			IExtResult result = engine.getResult();
 			
@@ -614,6 +850,70 @@ public class JulianScriptEngine {
 			throw new JSEException("The script threw an exception.", se);
 		}
 	}
+	
+	private static interface EngineCall {
+		
+		void call() throws EngineInvocationError;
+		
+	}
+	
+	/**
+	 * Call a global function, or a method of an object stored in a global variable, which has been 
+	 * defined by the scripts run previously. The top-level script is not re-run.
+	 * <p>
+	 * The arguments can be of type int, boolean, char, float or String. Null is also allowed.
+	 * 
+	 * @param handle the compiled script which defines the function. It will be run first if it hasn't 
+	 * been loaded into the engine yet. Can be null.
+	 * @param target the name of the global variable holding the object. If null, call a global function.
+	 * @param funcName the name of the function or method
+	 * @param args the arguments
+	 * @return The value returned by the function; can be null
+	 * @throws JSEException A wrapper exception, the cause of which can be any of 
+	 * {@link JSEError}, {@link EngineInvocationError}, {@link ScriptException}, etc.
+	 */
+	protected Object invokeInternal(
+		ScriptHandle handle, final String target, final String funcName, Object... args) throws JSEException {
+		final Object compiled = handle != null ? getCompiled(handle) : null;
+		final IBinding[] bindings = new IBinding[args != null ? args.length : 0];
+		for (int i = 0; i < bindings.length; i++) {
+			bindings[i] = toArgumentBinding(funcName, args[i]);
+		}
+		
+		return runInternal(null, new EngineCall() {
+			@Override
+			public void call() throws EngineInvocationError {
+				engine.invoke(compiled, target, funcName, bindings);
+			}
+		});
+	}
+	
+	private Object getCompiled(ScriptHandle handle) throws JSEException {
+		if (handle.getEngine() != this) {
+			throw new JSEException("The script was not compiled by this engine.");
+		}
+		
+		return handle.getCompiled();
+	}
+	
+	private IBinding toArgumentBinding(String funcName, Object arg) throws JSEException {
+		if (arg == null) {
+			return null;
+		} else if (arg instanceof String) {
+			return new StringBinding((String) arg);
+		} else if (arg instanceof Integer) {
+			return new IntegerBinding((int) arg);
+		} else if (arg instanceof Boolean) {
+			return new BooleanBinding((boolean) arg);
+		} else if (arg instanceof Character) {
+			return new CharacterBinding((char) arg);
+		} else if (arg instanceof Float) {
+			return new FloatBinding((float) arg);
+		}
+		
+		throw new JSEException(
+			"Cannot pass a value of type " + arg.getClass().getName() + " as an argument to " + funcName + ".");
+	}
 
 	private Object convertResult(IExtResult result) throws ScriptException {
 		if(result == null){
@@ -621,39 +921,7 @@ public class JulianScriptEngine {
 		}
 		
 		if(result.isSuccess()){
-			IExtValue jval = result.getReturnedValue(true);
-			switch(jval.getKind()){
-			case BOOLEAN:
-				return ((IBoolVal)jval).getBoolValue();
-			case BYTE:
-				return ((IByteVal)jval).getByteValue();
-			case CHAR:
-				return ((ICharVal)jval).getCharValue();
-			case FLOAT:
-				return ((IFloatVal)jval).getFloatValue();
-			case INTEGER:
-				return ((IIntVal)jval).getIntValue();
-			case NONE:
-				return null;
-			case OBJECT:
-				IObjectVal ov = (IObjectVal)jval;
-				switch(ov.getBuiltInValueKind()){
-				case HOSTED:
-					IHostedVal hv = (IHostedVal) ov;
-					return hv.getHostedObject();
-				case STRING:
-					IStringVal sv = (IStringVal) ov;
-					return sv.getStringValue();
-				case ENUM:
-					IEnumVal ev = (IEnumVal) ov;
-					return ev.getOrdinal();
-				default:
-					break;
-				}
-				// Fall thru
-			default:
-				return JSE_OBJECT_VALUE;
-			}
+			return convertValue(result.getReturnedValue(true));
 		} else {
 			String error = result.getExceptionOutput();
 			String fileName = result.getExceptionFileName();
@@ -670,6 +938,41 @@ public class JulianScriptEngine {
 		}
 	}
 	
+	private Object convertValue(IExtValue jval) {
+		switch(jval.getKind()){
+		case BOOLEAN:
+			return ((IBoolVal)jval).getBoolValue();
+		case BYTE:
+			return ((IByteVal)jval).getByteValue();
+		case CHAR:
+			return ((ICharVal)jval).getCharValue();
+		case FLOAT:
+			return ((IFloatVal)jval).getFloatValue();
+		case INTEGER:
+			return ((IIntVal)jval).getIntValue();
+		case NONE:
+			return null;
+		case OBJECT:
+			IObjectVal ov = (IObjectVal)jval;
+			switch(ov.getBuiltInValueKind()){
+			case HOSTED:
+				IHostedVal hv = (IHostedVal) ov;
+				return hv.getHostedObject();
+			case STRING:
+				IStringVal sv = (IStringVal) ov;
+				return sv.getStringValue();
+			case ENUM:
+				IEnumVal ev = (IEnumVal) ov;
+				return ev.getOrdinal();
+			default:
+				break;
+			}
+			// Fall thru
+		default:
+			return JSE_OBJECT_VALUE;
+		}
+	}
+	
 	// A temporary solution for now. Will evolve.
 	public final static Object JSE_OBJECT_VALUE = new Object() {
 		@Override
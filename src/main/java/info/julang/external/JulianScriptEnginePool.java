@@ -0,0 +1,268 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.external;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import info.julang.external.exceptions.JSEError;
+import info.julang.external.exceptions.JSEException;
+import info.julang.external.interfaces.ResetPolicy;
+
+/**
+ * A fixed-size pool of {@link JulianScriptEngine}s.
+ * <p>
+ * Creating an engine is expensive, as the engine components must be instantiated through a dedicated class 
+ * loader and the type table be populated with built-in types and JuFC types the first time a script runs. 
+ * For workloads that run each script in a fresh engine (for example, one script per request), the pool keeps 
+ * a number of engines that have already been through this initialization, and hands them out on demand.
+ * <p>
+ * When an engine is returned to the pool through {@link #release(JulianScriptEngine)}, it's reset with 
+ * {@link ResetPolicy#RECYCLE}, which wipes out variables, user-defined types, bindings, policies and limits, 
+ * while keeping all the system types. The settings staged in the {@link JulianScriptEngine.Builder builder} 
+ * are then re-applied so that the next borrower sees the engine in the same state as a freshly built one.
+ * <p>
+ * A pool is created by {@link JulianScriptEngine.Builder#buildPool(int)}. This class is thread safe.
+ * 
+ * @author Ming Zhou
+ */
+public class JulianScriptEnginePool {
+	
+	/** The script to run on a new engine so that the system types get loaded. */
+	private static final String WARM_UP_SCRIPT = "";
+	
+	/** How often a thread waiting for an engine checks whether the pool has been closed. */
+	private static final long CLOSE_CHECK_INTERVAL_MILLIS = 100;
+	
+	private JulianScriptEngine.Builder builder;
+	
+	private EngineInitializationOption option;
+	
+	private int size;
+	
+	private AtomicInteger created;
+	
+	private LinkedBlockingQueue<JulianScriptEngine> idle;
+	
+	private Set<JulianScriptEngine> leased;
+	
+	private volatile boolean closed;
+	
+	JulianScriptEnginePool(JulianScriptEngine.Builder builder, EngineInitializationOption option, int size) {
+		if (size <= 0) {
+			throw new IllegalArgumentException("The size of engine pool must be positive.");
+		}
+		
+		this.builder = builder;
+		this.option = option;
+		this.size = size;
+		this.created = new AtomicInteger();
+		this.idle = new LinkedBlockingQueue<JulianScriptEngine>(size);
+		this.leased = Collections.newSetFromMap(new ConcurrentHashMap<JulianScriptEngine, Boolean>());
+		
+		for (int i = 0; i < size; i++) {
+			created.incrementAndGet();
+			idle.offer(createEngine());
+		}
+	}
+	
+	/**
+	 * Get an engine from the pool. If all the engines are leased out, block until one is returned, or the pool 
+	 * is closed.
+	 * 
+	 * @return An initialized engine, which must be returned by {@link #release(JulianScriptEngine)} after use.
+	 * @throws InterruptedException If the calling thread is interrupted while waiting.
+	 * @throws JSEError If the pool has been closed, including while waiting.
+	 */
+	public JulianScriptEngine acquire() throws InterruptedException {
+		JulianScriptEngine engine = tryAcquire();
+		while (engine == null) {
+			engine = idle.poll(CLOSE_CHECK_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+			if (engine == null) {
+				checkClosed();
+			}
+		}
+		
+		return lease(engine);
+	}
+	
+	/**
+	 * Get an engine from the pool. If all the engines are leased out, wait up to the specified time.
+	 * 
+	 * @param timeout The maximum time to wait.
+	 * @param unit The unit of timeout argument.
+	 * @return An initialized engine, or null if the specified waiting time elapses before an engine is available.
+	 * @throws InterruptedException If the calling thread is interrupted while waiting.
+	 * @throws JSEError If the pool has been closed, including while waiting.
+	 */
+	public JulianScriptEngine acquire(long timeout, TimeUnit unit) throws InterruptedException {
+		JulianScriptEngine engine = tryAcquire();
+		long deadline = System.nanoTime() + unit.toNanos(timeout);
+		while (engine == null) {
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				return null;
+			}
+			
+			engine = idle.poll(
+				Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(CLOSE_CHECK_INTERVAL_MILLIS)), TimeUnit.NANOSECONDS);
+			if (engine == null) {
+				checkClosed();
+			}
+		}
+		
+		return lease(engine);
+	}
+	
+	/**
+	 * Return an engine back to the pool. The engine must have been acquired from this pool and is no longer running.
+	 * <p>
+	 * The caller must not use the engine after it is returned.
+	 * 
+	 * @param engine An engine previously acquired from this pool.
+	 * @throws JSEException If the engine doesn't belong to this pool, or has been returned already.
+	 */
+	public void release(JulianScriptEngine engine) throws JSEException {
+		if (engine == null || !leased.remove(engine)) {
+			throw new JSEException("The engine is not leased from this pool.");
+		}
+		
+		if (closed) {
+			engine.dispose();
+			return;
+		}
+		
+		try {
+			engine.reset(ResetPolicy.RECYCLE);
+			builder.configure(engine);
+		} catch (RuntimeException ex) {
+			// Something went wrong with this engine. Discard it, and let the pool create a new one on demand.
+			created.decrementAndGet();
+			engine.dispose();
+			return;
+		}
+		
+		idle.offer(engine);
+		
+		// The pool may have been closed after the check above, in which case no one else would dispose the engine.
+		if (closed) {
+			disposeIdle();
+		}
+	}
+	
+	/**
+	 * Get the number of engines that are currently available for acquisition without creating a new one.
+	 * 
+	 * @return The count of idle engines.
+	 */
+	public int getIdleCount() {
+		return idle.size();
+	}
+	
+	/**
+	 * Get the maximum number of engines this pool manages.
+	 * 
+	 * @return The size of this pool.
+	 */
+	public int getSize() {
+		return size;
+	}
+	
+	/**
+	 * Close the pool. All the idle engines are disposed, and engines returned after this call will not be recycled.
+	 * The threads waiting for an engine will fail.
+	 */
+	public void close() {
+		closed = true;
+		disposeIdle();
+	}
+	
+	private void disposeIdle() {
+		JulianScriptEngine engine;
+		while ((engine = idle.poll()) != null) {
+			engine.dispose();
+		}
+	}
+	
+	private void checkClosed() {
+		if (closed) {
+			throw new JSEError("The engine pool has been closed.");
+		}
+	}
+	
+	private JulianScriptEngine tryAcquire() {
+		checkClosed();
+		
+		JulianScriptEngine engine = idle.poll();
+		if (engine == null) {
+			// Replenish the engines previously discarded.
+			int count = created.get();
+			while (count < size) {
+				if (created.compareAndSet(count, count + 1)) {
+					try {
+						engine = createEngine();
+					} catch (JSEError err) {
+						created.decrementAndGet();
+						throw err;
+					}
+					break;
+				}
+				
+				count = created.get();
+			}
+		}
+		
+		return engine;
+	}
+	
+	private JulianScriptEngine lease(JulianScriptEngine engine) {
+		if (closed) {
+			// Taken from the pool right before it's closed. 
+			engine.dispose();
+			checkClosed();
+		}
+		
+		leased.add(engine);
+		return engine;
+	}
+	
+	private JulianScriptEngine createEngine() {
+		JulianScriptEngine engine = builder.newEngine(option);
+		try {
+			// Run an empty script to have the type table populated with all the system types.
+			engine.runScript(WARM_UP_SCRIPT, null);
+		} catch (JSEException e) {
+			throw new JSEError("Failed to initialize an engine for the pool.", e);
+		}
+		
+		engine.reset(ResetPolicy.RECYCLE);
+		builder.configure(engine);
+		return engine;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.external;
+
+/**
+ * A handle to a script compiled by {@link JulianScriptEngine#compileScript(String)} or 
+ * {@link JulianScriptEngine#compileFile(String)}.
+ * <p>
+ * The handle holds on to the parsed script, so that it can be run, or have its functions invoked, 
+ * any number of times without being read and parsed again. A handle can only be used with the engine 
+ * which compiled it.
+ * 
+ * @author Ming Zhou
+ */
+public final class ScriptHandle {
+
+	private JulianScriptEngine engine;
+	
+	private Object compiled;
+	
+	ScriptHandle(JulianScriptEngine engine, Object compiled) {
+		this.engine = engine;
+		this.compiled = compiled;
+	}
+	
+	/**
+	 * Get the engine which compiled the script.
+	 * 
+	 * @return The engine which compiled the script.
+	 */
+	public JulianScriptEngine getEngine() {
+		return engine;
+	}
+	
+	// The handle understood by engine internals.
+	Object getCompiled() {
+		return compiled;
+	}
+}
@@ -27,6 +27,7 @@ package info.julang.external.interfaces;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import info.julang.external.binding.IBinding;
 import info.julang.external.exceptions.EngineInvocationError;
 
 public interface IExtScriptEngine {
@@ -54,6 +55,92 @@ public interface IExtScriptEngine {
 	 */
 	void runSnippet(String script) throws EngineInvocationError;
 	
+	/**
+	 * Parse a script snippet without running it. The returned handle can be passed to
+	 * {@link #runCompiled(Object)} any number of times, saving the cost of lexing and
+	 * parsing on each run.
+	 * 
+	 * @param script the contents of script
+	 * @return An opaque handle to the compiled script. It can only be used with this engine.
+	 * @throws EngineInvocationError if the script contains a syntax error, in which case the cause is a 
+	 * {@link javax.script.ScriptException} with the location of error.
+	 */
+	Object compileSnippet(String script) throws EngineInvocationError;
+	
+	/**
+	 * Parse a script file without running it. The returned handle can be passed to
+	 * {@link #runCompiled(Object)} any number of times, saving the cost of reading, lexing 
+	 * and parsing on each run.
+	 * 
+	 * @param filePathName the full path of script file.
+	 * @return An opaque handle to the compiled script. It can only be used with this engine.
+	 * @throws EngineInvocationError if the file cannot be found, or contains a syntax error. In the latter 
+	 * case the cause is a {@link javax.script.ScriptException} with the location of error.
+	 */
+	Object compileFile(String filePathName) throws EngineInvocationError;
+	
+	/**
+	 * Execute a script previously compiled by {@link #compileSnippet(String)} or {@link #compileFile(String)}.
+	 * 
+	 * @param handle the handle returned by {@link #compileSnippet(String)} or {@link #compileFile(String)}.
+	 * @throws EngineInvocationError if the engine encountered a fatal error, or the handle is not valid.
+	 */
+	void runCompiled(Object handle) throws EngineInvocationError;
+	
+	/**
+	 * Call a global function, or a method of an object stored in a global variable, that has been
+	 * defined by the scripts run previously. The top-level script is not re-run. The returned value
+	 * can be retrieved through {@link #getResult()}.
+	 * <p>
+	 * If a compiled script is given, it will be run first unless it has been run successfully since 
+	 * the last time the user-defined types were cleared. In other words, a script can be loaded once 
+	 * and have its functions called many times. If the script fails, the function will not be called, 
+	 * and {@link #getResult()} will carry the failure.
+	 * 
+	 * @param handle the handle returned by {@link #compileSnippet(String)} or {@link #compileFile(String)}
+	 * which defines the function. Can be null, in which case the function must have been defined already.
+	 * @param target the name of the global variable holding the object on which to call the method.
+	 * If null, call a global function.
+	 * @param funcName the name of function or method.
+	 * @param args the arguments. A null element is passed along as null.
+	 * @throws EngineInvocationError if the engine encountered a fatal error, or an argument cannot be converted.
+	 */
+	void invoke(Object handle, String target, String funcName, IBinding[] args) throws EngineInvocationError;
+
+	/**
+	 * Check whether a global function, or a method of an object stored in a global variable, has been
+	 * defined by the scripts run previously and takes the given number of arguments. Nothing is called.
+	 * 
+	 * @param target the name of the global variable holding the object on which to find the method.
+	 * If null, find a global function.
+	 * @param funcName the name of function or method.
+	 * @param argCount the number of arguments.
+	 * @return true if the function, or an overload of the method, takes <code>argCount</code> arguments.
+	 */
+	boolean hasFunction(String target, String funcName, int argCount);
+	
+	/**
+	 * Call a global function, or a method of an object stored in a global variable, over a batch of
+	 * inputs. This is equivalent to calling {@link #invoke(Object, String, String, IBinding[])} for
+	 * each input, but the engine is prepared and the target resolved only once for the entire batch.
+	 * <p>
+	 * The batch stops at the first failed call, in which case null is returned and {@link #getResult()}
+	 * will carry the failure.
+	 *
+	 * @param handle the handle returned by {@link #compileSnippet(String)} or {@link #compileFile(String)}
+	 * which defines the function. Can be null, in which case the function must have been defined already.
+	 * @param target the name of the global variable holding the object on which to call the method.
+	 * If null, call a global function.
+	 * @param funcName the name of function or method.
+	 * @param args the arguments for each call. A null element is passed along as null.
+	 * @param parallelism the number of threads among which the calls are partitioned. If greater than 1,
+	 * the target will be called concurrently and must be thread-safe.
+	 * @return the values returned by each call, in the same order as the inputs; or null if the batch failed.
+	 * @throws EngineInvocationError if the engine encountered a fatal error, or an argument cannot be converted.
+	 */
+	IExtValue[] invokeBatch(Object handle, String target, String funcName, IBinding[][] args, int parallelism)
+		throws EngineInvocationError;
+
 	/**
 	 * Return the context of this engine. Can be null if 
 	 * {@link info.julang.execution.State state} returns {@link 
@@ -39,6 +39,15 @@ public enum ResetPolicy {
 	/**
 	 * Clear all variables; clear only types that are defined by user scripts.
 	 */
-	USER_DEFINED_ONLY
+	USER_DEFINED_ONLY,
+	
+	/**
+	 * Clear all variables, types defined by user scripts, external bindings, module paths, 
+	 * platform access policies and engine limits. Built-in types and JuFC types are preserved. 
+	 * <p>
+	 * This is the policy used to recycle a pooled engine so that it can be handed out again 
+	 * without paying the cost of engine initialization.
+	 */
+	RECYCLE
 	
 }
@@ -38,6 +38,7 @@ import info.julang.memory.value.JValue;
 import info.julang.memory.value.ObjectValue;
 import info.julang.typesystem.JType;
 import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.JInterfaceType;
 import info.julang.typesystem.jclass.builtin.JMethodType;
 
 /**
@@ -136,6 +137,30 @@ public class JSEObjectWrapper {
 		methods.put(key, provider);
 	}
 	
+	/**
+	 * Register a method which implements an interface method. The method will be dispatched through the
+	 * class's interface method table, which is much cheaper than resolving by name and signature.
+	 * 
+	 * @param key Any value as long as it's unique among all the calls to this method against the same instance.
+	 * @param interfaceName The full name of the interface which declares the method.
+	 * @param name The name of method as declared in the script.
+	 * @param types The parameter types, without 'this'.
+	 */
+	protected void registerInterfaceMethod(String key, String interfaceName, String name, JType[] types){
+		JInterfaceType itf = jcp.getImplementedInterface(interfaceName);
+		if (itf == null) {
+			// Not implementing the interface. Resolve by signature.
+			registerMethod(key, name, false, types);
+			return;
+		}
+		
+		if (methods == null){
+			methods = new HashMap<String, MethodProvider>();
+		}
+		
+		methods.put(key, new MethodProvider(name, jcp, itf, types));
+	}
+	
 	/**
 	 * Run a registered method.
 	 * 
@@ -33,6 +33,7 @@ import info.julang.typesystem.jclass.ICompoundType;
 import info.julang.typesystem.jclass.JClassMember;
 import info.julang.typesystem.jclass.JClassMethodMember;
 import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.JInterfaceType;
 import info.julang.typesystem.jclass.JParameter;
 import info.julang.typesystem.jclass.MemberType;
 import info.julang.typesystem.jclass.builtin.JMethodType;
@@ -49,6 +50,8 @@ class MethodProvider {
 	private boolean isStatic;
 	private JType[] types;
 	private JClassType jcp;
+	private JInterfaceType itf;
+	private int slot;
 	
 	private JMethodType jmt;
 	
@@ -59,7 +62,22 @@ class MethodProvider {
 		this.jcp = jcp;
 	}
 	
+	/**
+	 * Create a provider for an interface method, which will be found through the class's interface 
+	 * method table. If the method is not found on the interface, fall back to resolving by signature.
+	 */
+	MethodProvider(String name, JClassType jcp, JInterfaceType itf, JType[] types){
+		this(name, jcp, false, types);
+		this.slot = itf.getMethodSlot(name, types);
+		this.itf = slot >= 0 ? itf : null;
+	}
+	
 	JMethodType provide(){
+		// Dispatch through itable
+		if (jmt == null && itf != null){
+			jmt = jcp.getInterfaceMethodTable(itf)[slot];
+		}
+		
 		// Initialize
 		if (jmt == null){
 			ClassMemberMap mmap = jcp.getMembers(isStatic);
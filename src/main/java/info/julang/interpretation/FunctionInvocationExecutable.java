@@ -0,0 +1,294 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.interpretation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.antlr.v4.runtime.ParserRuleContext;
+
+import info.julang.JSERuntimeException;
+import info.julang.execution.Argument;
+import info.julang.execution.Result;
+import info.julang.execution.namespace.NamespacePool;
+import info.julang.execution.symboltable.IVariableTable;
+import info.julang.execution.symboltable.SymbolUndefinedException;
+import info.julang.execution.threading.ForkJoinRunner;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.execution.threading.ThreadStack;
+import info.julang.external.exceptions.EngineInvocationError;
+import info.julang.interpretation.context.Context;
+import info.julang.interpretation.errorhandling.JulianScriptException;
+import info.julang.interpretation.expression.operator.CallFuncOp;
+import info.julang.interpretation.internal.FuncCallExecutor;
+import info.julang.interpretation.statement.StatementOption;
+import info.julang.memory.value.FuncValue;
+import info.julang.memory.value.IFuncValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.MethodValue;
+import info.julang.memory.value.ObjectValue;
+import info.julang.parser.AstInfo;
+import info.julang.typesystem.jclass.builtin.FunctionKind;
+import info.julang.typesystem.jclass.builtin.JFunctionType;
+import info.julang.typesystem.jclass.builtin.JMethodType;
+
+/**
+ * The executable to call a function, or a method of an object, that has been defined by a previously 
+ * run global script.
+ * <p>
+ * This executable doesn't interpret any script on its own. It pushes a frame sharing the global variable
+ * table, looks up the target by name and calls it with the given arguments through {@link FuncCallExecutor}.
+ * The value returned by the target becomes the result of this executable. Since nothing is parsed or loaded, 
+ * this is much cheaper than running a script which does nothing but calling the function.
+ * <p>
+ * The executable can also call the target over a batch of inputs. The target is resolved only once, and 
+ * all the calls are made from the same frame. The inputs can be partitioned among several threads through 
+ * {@link ForkJoinRunner}, in which case each thread calls the target over its own range of inputs. The 
+ * results are collected by {@link #getResults()}, in the same order as the inputs.
+ * 
+ * @author Ming Zhou
+ */
+public class FunctionInvocationExecutable extends InterpretedExecutable {
+
+	private String target;
+	private String funcName;
+	private JValue[][] inputs;
+	private JValue[] results;
+	private int parallelism;
+	private boolean isBatch;
+	
+	/**
+	 * Create a new {@link FunctionInvocationExecutable} to call the target once.
+	 * 
+	 * @param target The name of the global variable which holds the object on which the method is to be called.
+	 * If null, call the global function of the given name.
+	 * @param funcName The name of the global function, or the method if <code>target</code> is provided.
+	 * @param values The arguments. Must not contain <code>this</code>.
+	 */
+	public FunctionInvocationExecutable(String target, String funcName, JValue[] values) {
+		this(target, funcName, new JValue[][] { values }, 1);
+		this.isBatch = false;
+	}
+	
+	/**
+	 * Create a new {@link FunctionInvocationExecutable} to call the target over a batch of inputs.
+	 * The result of executable is void. To get the values returned by each call, use {@link #getResults()}.
+	 * 
+	 * @param target The name of the global variable which holds the object on which the method is to be called.
+	 * If null, call the global function of the given name.
+	 * @param funcName The name of the global function, or the method if <code>target</code> is provided.
+	 * @param inputs The arguments for each call. Must not contain <code>this</code>.
+	 * @param parallelism The number of threads to run the calls. The main thread counts as one. Note each 
+	 * additional thread is subject to the engine's thread limit.
+	 */
+	public FunctionInvocationExecutable(String target, String funcName, JValue[][] inputs, int parallelism) {
+		super(funcName, null, true, false);
+		this.target = target;
+		this.funcName = funcName;
+		this.inputs = inputs;
+		this.results = new JValue[inputs.length];
+		this.parallelism = parallelism;
+		this.isBatch = true;
+	}
+	
+	/**
+	 * Get the values returned by the target, one for each input.
+	 * 
+	 * @return The returned values, in the same order as the inputs.
+	 */
+	public JValue[] getResults() {
+		return results;
+	}
+	
+	@Override
+	protected void preExecute(ThreadRuntime runtime, StatementOption option, Argument[] args){
+		ThreadStack stack = runtime.getThreadStack();
+		
+		// Share the global variable table without entering a new scope, so that 
+		// the functions and variables left behind by the previous runs are visible.
+		stack.pushFrame(runtime.getGlobalVariableTable(), this, false);
+		stack.setNamespacePool(new NamespacePool());
+	}
+	
+	@Override
+	protected void prepareArguments(Argument[] args, Context ctxt, IFuncValue func) {
+		// The arguments are passed to the target function instead.
+	}
+	
+	@Override	
+	protected Result execute(
+		ThreadRuntime runtime, AstInfo<? extends ParserRuleContext> ast, StatementOption option, Context ctxt)
+		throws EngineInvocationError {
+		RuntimeException error = null;
+		try {
+			int len = inputs.length;
+			int threads = Math.max(Math.min(parallelism, len), 1);
+			
+			// Partition the inputs. This thread takes the first range, along with those which cannot be forked.
+			final IVariableTable gvt = ctxt.getVarTable();
+			int size = (len + threads - 1) / threads;
+			List<ForkJoinRunner.Task> tasks = new ArrayList<ForkJoinRunner.Task>();
+			for (int start = 0; start < len || tasks.isEmpty(); start += size) {
+				final int from = start;
+				final int to = Math.min(start + size, len);
+				final boolean isFirst = tasks.isEmpty();
+				tasks.add(new ForkJoinRunner.Task(){
+					@Override
+					public void run(ThreadRuntime rt) {
+						// A worker shares the global variables, but not the frame set up for this executable.
+						invokeRange(new FuncCallExecutor(rt), isFirst ? gvt : rt.getGlobalVariableTable(), from, to);
+					}
+				});
+			}
+			
+			ForkJoinRunner.run(runtime, tasks, "batch invocation of " + funcName);
+		} catch (RuntimeException ex) {
+			error = ex;
+		}
+		
+		if (error instanceof JSERuntimeException) {
+			// Errors found by the invocation itself, such as a missing function or 
+			// wrong number of arguments, are reported as script exceptions.
+			JulianScriptException jse = ((JSERuntimeException)error).toJSE(runtime, ctxt);
+			if (jse != null) {
+				throw jse;
+			}
+		}
+		
+		if (error != null) {
+			throw error;
+		}
+		
+		return isBatch ? Result.Void : new Result(results[0]);
+	}
+	
+	private void invokeRange(FuncCallExecutor exec, IVariableTable gvt, int start, int end) {
+		if (target == null) {
+			JValue val = getVariable(gvt, funcName);
+			if (!(val instanceof FuncValue)) {
+				throw new RuntimeCheckException("Cannot invoke " + funcName + " since it is not a function.");
+			}
+			
+			FuncValue fv = (FuncValue)val;
+			for (int i = start; i < end; i++) {
+				results[i] = exec.invokeFuncValueInternal(fv, funcName, inputs[i], null);
+			}
+		} else {
+			JValue val = getVariable(gvt, target);
+			if (!(val instanceof ObjectValue)) {
+				throw new RuntimeCheckException("Cannot invoke " + funcName + " on " + target + " since it is not an object.");
+			}
+			
+			ObjectValue ov = (ObjectValue)val;
+			MethodValue[] mvs = ov.getMethodMemberValues(funcName);
+			MethodValue mv = null;
+			for (int i = start; i < end; i++) {
+				JValue[] values = inputs[i];
+				// Most likely the inputs are of the same types, so try the last overload first.
+				if (mv == null || !CallFuncOp.isApplicable(mv, values, mv.isStatic())) {
+					mv = getMethod(mvs, values);
+				}
+				
+				JMethodType mtyp = mv.getMethodType();
+				results[i] = exec.invokeMethodInternal(FuncValue.DUMMY, mtyp, funcName, values, mv.getThisValue());
+			}
+		}
+	}
+	
+	// Pick the overload by the number and types of arguments, in the same way as a call made from script.
+	private MethodValue getMethod(MethodValue[] mvs, JValue[] values) {
+		for (MethodValue m : mvs) {
+			if (CallFuncOp.isApplicable(m, values, m.isStatic())) {
+				return m;
+			}
+		}
+		
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < values.length; i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			
+			JValue v = values[i].deref();
+			sb.append(v.getType() != null ? v.getType().getName() : "null");
+		}
+		
+		throw new RuntimeCheckException(
+			"Cannot find method " + funcName + " on " + target + " which accepts arguments of type (" + sb.toString() + ").");
+	}
+	
+	/**
+	 * Check whether a global function, or a method of an object stored in a global variable, 
+	 * is defined with the given number of parameters. Nothing is called.
+	 * 
+	 * @param gvt The global variable table.
+	 * @param target The name of the global variable which holds the object. If null, check the global function.
+	 * @param funcName The name of the global function, or the method if <code>target</code> is provided.
+	 * @param count The number of parameters, excluding <code>this</code>.
+	 * @return true if the function, or at least one of the method's overloads, takes <code>count</code> parameters.
+	 */
+	public static boolean isDefined(IVariableTable gvt, String target, String funcName, int count) {
+		JValue val = gvt.getVariable(target == null ? funcName : target);
+		if (val == null) {
+			return false;
+		}
+		
+		val = val.deref();
+		if (target == null) {
+			return val instanceof FuncValue 
+				&& ((JFunctionType)val.getType()).getFunctionKind() != FunctionKind.METHOD_GROUP
+				&& ((JFunctionType)val.getType()).getParams().length == count;
+		} else if (val instanceof ObjectValue) {
+			for (MethodValue m : ((ObjectValue)val).getMethodMemberValues(funcName)) {
+				int pcount = m.getMethodType().getParams().length;
+				if (!m.isStatic()) {
+					pcount--; // Exclude 'this'
+				}
+				
+				if (pcount == count) {
+					return true;
+				}
+			}
+		}
+		
+		return false;
+	}
+	
+	private JValue getVariable(IVariableTable gvt, String name) {
+		JValue val = gvt.getVariable(name);
+		if (val == null) {
+			throw new SymbolUndefinedException(name);
+		}
+		
+		return val.deref();
+	}
+	
+	//---------------------------- IStackFrameInfo ----------------------------//
+	
+	@Override
+	public boolean isFromLooseScript() {
+		return true;
+	}
+}
@@ -306,7 +306,7 @@ public class GlobalScriptExecutable extends InterpretedExecutable {
 						throw new JSEError(
 							"An exception thrown when including a file has unexpected trace kind " + stk.name(), GlobalScriptExecutable.class);
 					}
-					jse.addStackTrace(runtime.getTypeTable(), stk.getTraceName(), null, fn, lineNo);
+					jse.addStackTrace(runtime.getTypeTable(), stk.getTraceName(), (String[]) null, fn, lineNo);
 					
 					// Set the new location info pointing whether the include statement occurs.
 					AstInfo<Include_statementContext> ainfo = inf.getAstInfo();
@@ -29,6 +29,7 @@ import java.util.List;
 
 import info.julang.execution.threading.ThreadRuntime;
 import info.julang.interpretation.context.Context;
+import info.julang.interpretation.internal.NewObjExecutor;
 import info.julang.interpretation.syntax.ParsedTypeName;
 import info.julang.langspec.ast.JulianParser.ArgumentContext;
 import info.julang.langspec.ast.JulianParser.Argument_listContext;
@@ -36,6 +37,8 @@ import info.julang.langspec.ast.JulianParser.E_function_callContext;
 import info.julang.langspec.ast.JulianParser.Expression_statementContext;
 import info.julang.langspec.ast.JulianParser.ProgramContext;
 import info.julang.langspec.ast.JulianParser.StatementContext;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.ObjectValue;
 import info.julang.parser.ANTLRParser;
 import info.julang.parser.AstInfo;
 import info.julang.typesystem.JType;
@@ -63,7 +66,40 @@ public final class JSExceptionFactory {
 			KnownJSException jse, 
 			ThreadRuntime rt,
 			Context context){
-		return createException(jse, rt, context, null);
+		return createException(jse, rt, context, new JValue[0]);
+	}
+	
+	/**
+	 * Create a known Julian Script Exception instance.
+	 * <p>
+	 * The instance will be allocated in heap, initialized, with one of its constructor, whose parameter list
+	 * matches best the given argument values, called. Unlike {@link #createException(KnownJSException, ThreadRuntime, 
+	 * Context, String)}, this doesn't involve parsing, thus is preferred if the arguments are known by values.
+	 * 
+	 * @param jse
+	 * @param rt
+	 * @param context
+	 * @param args the argument values.
+	 * @return
+	 */
+	public static JulianScriptException createException(
+		KnownJSException jse, 
+		final ThreadRuntime rt,
+		Context context,
+		final JValue[] args){
+		
+		String efqn = jse.getFullName();
+		
+		JSECreator creator = new JSECreator(){
+			@Override
+			public JulianScriptException create(JClassType etyp, Context context) {
+				NewObjExecutor noe = new NewObjExecutor(rt);
+				ObjectValue ov = noe.newObject(context.getHeap(), etyp, args);
+				return new JulianScriptException(context.getTypTable(), ov);
+			}
+		};
+		
+		return createException(efqn, context, creator);
 	}
 	
 	/**
@@ -38,6 +38,7 @@ import info.julang.memory.MemoryArea;
 import info.julang.memory.value.ArrayValue;
 import info.julang.memory.value.ArrayValueFactory;
 import info.julang.memory.value.BoolValue;
+import info.julang.memory.value.ExceptionValue;
 import info.julang.memory.value.IntValue;
 import info.julang.memory.value.JValue;
 import info.julang.memory.value.ObjectValue;
@@ -46,6 +47,7 @@ import info.julang.memory.value.StringValue;
 import info.julang.memory.value.TempValueFactory;
 import info.julang.parser.AstInfo;
 import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.JParameter;
 import info.julang.typesystem.jclass.builtin.JStringType;
 
 /**
@@ -74,6 +76,11 @@ import info.julang.typesystem.jclass.builtin.JStringType;
  * want to make sure that the line number is set only once between it travels through
  * two frames. We thus use {@link JulianScriptException#UNSET_LINENO} to determine
  * if the line has been set.
+ * <p>
+ * To make throwing cheap, the frames are recorded in a {@link StackTraceBuffer} in raw form, and only
+ * formatted into the script object when the stack trace is requested. Also, this class doesn't capture
+ * the Java stack trace, unless system property <code>{@value #PROP_CAPTURE_JAVA_STACK}</code> is set to
+ * <code>true</code> for debugging purpose.
  * 
  * @author Ming Zhou
  */
@@ -83,6 +90,11 @@ public class JulianScriptException extends RuntimeException {
 
 	public static final int UNSET_LINENO = -1;
 	
+	/** The system property to turn on capturing of Java stack trace for script exceptions. */
+	public static final String PROP_CAPTURE_JAVA_STACK = "jse.debug.captureJavaStack";
+	
+	private final static boolean captureJavaStack = Boolean.getBoolean(PROP_CAPTURE_JAVA_STACK);
+	
 	private final static String ex_field_stacktrace = "_stacktrace";
 	
 	private final static String ex_field_stackdepth = "_stackdepth";
@@ -105,6 +117,8 @@ public class JulianScriptException extends RuntimeException {
 	
 	private MemoryArea memory;
 	
+	private ITypeTable tt;
+	
 	private boolean invokedByPlatform;
 	
 	private boolean preserveAcrossPlatformBoundary;
@@ -132,7 +146,7 @@ public class JulianScriptException extends RuntimeException {
 		this(type.getName(),
 			memory, 
 			tt,
-			new ObjectValue(memory, type, false));
+			new ExceptionValue(memory, type));
 	}
 	
 	/**
@@ -152,9 +166,10 @@ public class JulianScriptException extends RuntimeException {
 	}
 	
 	private JulianScriptException(String typeName, MemoryArea memory, ITypeTable tt, ObjectValue exception) {
-		super("Script exception. Type: " + typeName);
+		super("Script exception. Type: " + typeName, null, true, captureJavaStack);
 		
 		this.memory = memory;
+		this.tt = tt;
 		this.exception = exception;
 		
 		replaceJStackTrace(tt, exception);
@@ -171,34 +186,32 @@ public class JulianScriptException extends RuntimeException {
 	 * @param lineNo	line number in source file
 	 */
 	public void addStackTrace(ITypeTable tt, String funcName, String[] parameters, String fileName, int lineNo){
-		StringBuilder sb = new StringBuilder();
-		sb.append(funcName);
-		
-		if(parameters != null){
-			sb.append("(");
-			for(int i=0;i<parameters.length;){
-				sb.append(parameters[i]);
-				i++;
-				if(i<parameters.length){
-					sb.append(",");
-				}
-			}
-			sb.append(")");
+		StackTraceBuffer buffer = getStackTraceBuffer();
+		if (buffer != null) {
+			buffer.add(funcName, parameters, fileName, lineNo);
+			setLineNumber(UNSET_LINENO);
+		} else {
+			addStackTraceInternal(tt, exception, StackTraceBuffer.format(funcName, parameters, fileName, lineNo));
 		}
-		
-		if(fileName != null){
-			sb.append("  (");
-			sb.append(fileName);
-			
-			if(lineNo != -1){
-				sb.append(", ");
-				sb.append(lineNo);
-			}		
-			
-			sb.append(")");
+	}
+	
+	/**
+	 * Add a frame record, with source info. The parameter types are resolved only if the trace is formatted.
+	 * 
+	 * @param funcName
+	 * @param parameters
+	 * @param fileName	source file's name
+	 * @param lineNo	line number in source file
+	 */
+	public void addStackTrace(ITypeTable tt, String funcName, JParameter[] parameters, String fileName, int lineNo){
+		StackTraceBuffer buffer = getStackTraceBuffer();
+		if (buffer != null) {
+			buffer.add(funcName, parameters, fileName, lineNo);
+			setLineNumber(UNSET_LINENO);
+		} else {
+			addStackTraceInternal(
+				tt, exception, StackTraceBuffer.format(funcName, JParameter.getParamNames(parameters), fileName, lineNo));
 		}
-		
-		addStackTraceInternal(tt, exception, sb.toString());
 	}
 	
 	/**
@@ -207,6 +220,7 @@ public class JulianScriptException extends RuntimeException {
 	 * @param depth
 	 */
 	public void setStackTraceDepth(int depth) {
+		flushStackTrace(tt, exception);
 		IntValue sdepthVal = (IntValue) exception.getMemberValue(ex_field_stackdepth);
 		IntValue newDepth = TempValueFactory.createTempIntValue(depth);
 		newDepth.assignTo(sdepthVal);
@@ -219,7 +233,31 @@ public class JulianScriptException extends RuntimeException {
 	 * @param stackMessage
 	 */
 	public void addRawStackTrace(ITypeTable tt, String stackMessage){
-		addStackTraceInternal(tt, exception, stackMessage);
+		StackTraceBuffer buffer = getStackTraceBuffer();
+		if (buffer != null) {
+			buffer.addRaw(stackMessage);
+			setLineNumber(UNSET_LINENO);
+		} else {
+			addStackTraceInternal(tt, exception, stackMessage);
+		}
+	}
+	
+	/**
+	 * Write the stack frames that are pending formatting into the given exception object. This must be called 
+	 * before the stack trace member of the object is read.
+	 * 
+	 * @param tt
+	 * @param exception the exception object.
+	 */
+	public static void flushStackTrace(ITypeTable tt, ObjectValue exception) {
+		if (exception instanceof ExceptionValue) {
+			StackTraceBuffer buffer = ((ExceptionValue)exception).getStackTraceBuffer(false);
+			if (buffer != null && !buffer.isEmpty()) {
+				for (String frame : buffer.drain()) {
+					writeStackTrace(tt, exception, frame);
+				}
+			}
+		}
 	}
 	
 	/**
@@ -293,7 +331,7 @@ public class JulianScriptException extends RuntimeException {
 	 * (In contrast, getStackTrace() returns Java stack trace.)
 	 */
 	public String[] getStackTraceAsArray(){
-		return getStackTraceAsArrayInternal(exception);
+		return getStackTraceAsArrayInternal(tt, exception);
 	}
 	
 	/**
@@ -317,7 +355,7 @@ public class JulianScriptException extends RuntimeException {
 	 */
 	public String getStandardExceptionOutput(int indent, boolean endByLineBreak){
 		StringBuilder sb = new StringBuilder();
-		generateStandardExceptionOutputInternal(sb, exception, indent, endByLineBreak, 0, invokedByPlatform);
+		generateStandardExceptionOutputInternal(sb, tt, exception, indent, endByLineBreak, 0, invokedByPlatform);
 		return sb.toString();
 	}
 	
@@ -351,15 +389,16 @@ public class JulianScriptException extends RuntimeException {
 		return this.preserveAcrossPlatformBoundary;
 	}
 	
-	public static String toStandardExceptionOutput(ObjectValue exception) {
+	public static String toStandardExceptionOutput(ITypeTable tt, ObjectValue exception) {
 		StringBuilder sb = new StringBuilder();
-		generateStandardExceptionOutputInternal(sb, exception, 0, false, 0, false);
+		generateStandardExceptionOutputInternal(sb, tt, exception, 0, false, 0, false);
 		return sb.toString();
 	}
 	
 	// If the cause chain is longer than 4, do not show the causes beyond the 4th
 	private static void generateStandardExceptionOutputInternal(
 		StringBuilder sb,
+		ITypeTable tt,
 		ObjectValue exception,
 		int indent,
 		boolean endByLineBreak,
@@ -379,7 +418,7 @@ public class JulianScriptException extends RuntimeException {
 		sb.append(System.lineSeparator());
 		
 		// Line 2 ~ N: stack trace
-		String[] stacktrace = getStackTraceAsArrayInternal(exception);
+		String[] stacktrace = getStackTraceAsArrayInternal(tt, exception);
 		for(int i = 0; i < stacktrace.length; i++){
 			if(indent>0){
 				addIndent(sb, indent);
@@ -423,7 +462,7 @@ public class JulianScriptException extends RuntimeException {
 				sb.append("Caused by:");
 				sb.append(System.lineSeparator());
 				generateStandardExceptionOutputInternal(
-					sb, rv.getReferredValue(), indent, false, recursiveCount + 1, invokedByPlatform);
+					sb, tt, rv.getReferredValue(), indent, false, recursiveCount + 1, invokedByPlatform);
 			} else {
 				sb.append("More causes ...");
 				sb.append(System.lineSeparator());
@@ -460,6 +499,17 @@ public class JulianScriptException extends RuntimeException {
 	}
 	
 	private void addStackTraceInternal(ITypeTable tt, ObjectValue exception, String string) {
+		writeStackTrace(tt, exception, string);
+		
+		// Unset line number.
+		setLineNumber(UNSET_LINENO);
+	}
+	
+	private StackTraceBuffer getStackTraceBuffer() {
+		return exception instanceof ExceptionValue ? ((ExceptionValue)exception).getStackTraceBuffer(true) : null;
+	}
+	
+	private static void writeStackTrace(ITypeTable tt, ObjectValue exception, String string) {
 		ArrayValue aval = getJStackTrace(exception);
 		
 		IntValue sdepthVal = (IntValue) exception.getMemberValue(ex_field_stackdepth);
@@ -482,12 +532,9 @@ public class JulianScriptException extends RuntimeException {
 		
 		IntValue newDepth = TempValueFactory.createTempIntValue(depth);
 		newDepth.assignTo(sdepthVal);
-		
-		// Unset line number.
-		setLineNumber(UNSET_LINENO);
 	}
 	
-	private void replaceJStackTrace(ITypeTable tt, ObjectValue exception){
+	private static void replaceJStackTrace(ITypeTable tt, ObjectValue exception){
 		RefValue rval = getJStackTraceRef(exception);
 		int size = 0;
 		ArrayValue old = null;
@@ -503,7 +550,7 @@ public class JulianScriptException extends RuntimeException {
 		}
 		
 		// Create an array value with string as element type
-		ArrayValue aval = ArrayValueFactory.createArrayValue(memory, tt, JStringType.getInstance(), size);
+		ArrayValue aval = ArrayValueFactory.createArrayValue(exception.getMemoryArea(), tt, JStringType.getInstance(), size);
 		
 		// Migrate old data into new array
 		if(old != null){
@@ -539,7 +586,8 @@ public class JulianScriptException extends RuntimeException {
 		return msg != null ? msg.getStringValue() : "";
 	}
 	
-	private static String[] getStackTraceAsArrayInternal(ObjectValue exception){
+	private static String[] getStackTraceAsArrayInternal(ITypeTable tt, ObjectValue exception){
+		flushStackTrace(tt, exception);
 		ArrayValue aval = getJStackTrace(exception);
 		
 		int depth = getJStackDepth(exception);
@@ -573,8 +621,19 @@ public class JulianScriptException extends RuntimeException {
 	}
 	
 	private void setFileNameInternal(ObjectValue exception, String fileName){
-		StringValue sv = TempValueFactory.createTempStringValue(fileName != null ? fileName : "<unknown>");
+		if (fileName == null) {
+			fileName = "<unknown>";
+		}
+		
 		JValue jv = exception.getMemberValue(ex_field_filename);
+		
+		// The source info is set again at each enclosing statement. Skip if nothing changes.
+		StringValue current = StringValue.dereference(jv, true);
+		if (current != null && fileName.equals(current.getStringValue())) {
+			return;
+		}
+		
+		StringValue sv = TempValueFactory.createTempStringValue(fileName);
 		sv.assignTo(jv);
 	}
 	
@@ -584,8 +643,12 @@ public class JulianScriptException extends RuntimeException {
 	}
 	
 	private void setLineNumberInternal(ObjectValue exception, int lineNo){
-		IntValue iv = TempValueFactory.createTempIntValue(lineNo);
 		JValue jv = exception.getMemberValue(ex_field_lineno);
+		if (((IntValue)jv).getIntValue() == lineNo) {
+			return;
+		}
+		
+		IntValue iv = TempValueFactory.createTempIntValue(lineNo);
 		iv.assignTo(jv);
 	}
 	
@@ -0,0 +1,182 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.interpretation.errorhandling;
+
+import info.julang.typesystem.jclass.JParameter;
+
+/**
+ * A buffer of the stack frames recorded as an exception is propagated up the call stack.
+ * <p>
+ * The frames are kept in raw form, and only formatted when the stack trace is actually requested, 
+ * either by the script through <code style="color:green">System.Exception.getStackTrace()</code>, 
+ * or by the engine when the exception is to be printed. An exception that is thrown and caught
+ * without its trace ever being inspected thus never pays for the formatting.
+ * <p>
+ * This buffer is carried by the {@link info.julang.memory.value.ExceptionValue exception object}, so
+ * the frames recorded before and after the exception is rethrown are kept in order.
+ * 
+ * @author Ming Zhou
+ */
+public final class StackTraceBuffer {
+
+	private static final int INITIAL_CAPACITY = 8;
+	
+	private static class Frame {
+		
+		private final String funcName;
+		private final String[] paramNames;
+		private final JParameter[] params;
+		private final String fileName;
+		private final int lineNo;
+		
+		// If non-null, this is a raw message to be rendered as is.
+		private final String raw;
+		
+		private Frame(String funcName, String[] paramNames, JParameter[] params, String fileName, int lineNo, String raw) {
+			this.funcName = funcName;
+			this.paramNames = paramNames;
+			this.params = params;
+			this.fileName = fileName;
+			this.lineNo = lineNo;
+			this.raw = raw;
+		}
+		
+		private String format() {
+			if (raw != null) {
+				return raw;
+			}
+			
+			return StackTraceBuffer.format(
+				funcName, 
+				params != null ? JParameter.getParamNames(params) : paramNames, 
+				fileName, 
+				lineNo);
+		}
+	}
+	
+	private Frame[] frames;
+	
+	private int count;
+	
+	/**
+	 * Add a frame record of a function call.
+	 * 
+	 * @param funcName
+	 * @param paramNames the names of parameter types. Can be null.
+	 * @param fileName source file's name. Can be null.
+	 * @param lineNo line number in source file. -1 if unknown.
+	 */
+	void add(String funcName, String[] paramNames, String fileName, int lineNo) {
+		add(new Frame(funcName, paramNames, null, fileName, lineNo, null));
+	}
+	
+	/**
+	 * Add a frame record of a function call. The names of parameter types will be resolved when formatted.
+	 * 
+	 * @param funcName
+	 * @param params the parameters.
+	 * @param fileName source file's name. Can be null.
+	 * @param lineNo line number in source file. -1 if unknown.
+	 */
+	void add(String funcName, JParameter[] params, String fileName, int lineNo) {
+		add(new Frame(funcName, null, params, fileName, lineNo, null));
+	}
+	
+	/**
+	 * Add a raw stack message.
+	 */
+	void addRaw(String message) {
+		add(new Frame(null, null, null, null, -1, message));
+	}
+	
+	boolean isEmpty() {
+		return count == 0;
+	}
+	
+	/**
+	 * Format all the frames recorded so far, and empty this buffer.
+	 * 
+	 * @return the formatted frames, in the order they were added.
+	 */
+	String[] drain() {
+		String[] results = new String[count];
+		for (int i = 0; i < count; i++) {
+			results[i] = frames[i].format();
+			frames[i] = null;
+		}
+		
+		count = 0;
+		return results;
+	}
+	
+	private void add(Frame frame) {
+		if (frames == null) {
+			frames = new Frame[INITIAL_CAPACITY];
+		} else if (count >= frames.length) {
+			Frame[] newFrames = new Frame[count * 2];
+			System.arraycopy(frames, 0, newFrames, 0, count);
+			frames = newFrames;
+		}
+		
+		frames[count] = frame;
+		count++;
+	}
+	
+	/**
+	 * Format a frame record.
+	 * <p>
+	 * An example of formatted string: calculate(int, int)  (/path/to/file.jul, 117)
+	 */
+	static String format(String funcName, String[] parameters, String fileName, int lineNo) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(funcName);
+		
+		if(parameters != null){
+			sb.append("(");
+			for(int i=0;i<parameters.length;){
+				sb.append(parameters[i]);
+				i++;
+				if(i<parameters.length){
+					sb.append(",");
+				}
+			}
+			sb.append(")");
+		}
+		
+		if(fileName != null){
+			sb.append("  (");
+			sb.append(fileName);
+			
+			if(lineNo != -1){
+				sb.append(", ");
+				sb.append(lineNo);
+			}		
+			
+			sb.append(")");
+		}
+		
+		return sb.toString();
+	}
+}
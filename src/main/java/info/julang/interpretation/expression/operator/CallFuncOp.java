@@ -191,50 +191,63 @@ public class CallFuncOp extends Operator {
 	// args doesn't contain "this"
 	private MethodValue selectOverloadedMethod(MethodValue[] mvs, JValue[] args, boolean isStatic) {
 		for(MethodValue mv : mvs){
-			JMethodType mt = mv.getMethodType();
-			JParameter[] params = mt.getParams();
-			int start = isStatic ? 0 : 1;
-			int total = isStatic ? params.length : params.length - 1;
-			if(args.length == total){
-				boolean found = true;
-				for(int i = start, j = 0; i < params.length; i++, j++){
-					JType ptyp = params[i].getType();
-					JType atyp = args[j].getType();
-					if (atyp == null || atyp == AnyType.getInstance()){
-						JValue aval = args[j];
-						// Special Case: if the argument is an untyped null value, consider it a match as long as the param is Object
-						if (RefValue.isGenericNull(aval) && 
-							(ptyp.getKind() == JTypeKind.PLATFORM || 
-							 ptyp.getConvertibilityTo(JObjectType.getInstance()).isSafe())){
-							continue;
-						} else {
-							atyp = aval.deref().getType();
-						}
-					}
-					
-					if (atyp == null) {
-						if (ptyp == AnyType.getInstance() || ptyp.isObject()) {
-							// null matches any object type.
-							continue;
-						}
-					} else {
-						Convertibility conv = atyp.getConvertibilityTo(ptyp);
-						if(conv.isSafe()){
-							continue;
-						}
-					}
-					
-					found = false;
-					break;
+			if (isApplicable(mv, args, isStatic)){
+				return mv;
+			}
+		}
+		
+		return null;
+	}
+	
+	/**
+	 * Check whether the method can be called with the given arguments, which must not contain <code>this</code>.
+	 * 
+	 * @param mv the method to check.
+	 * @param args the arguments.
+	 * @param isStatic whether the method is called statically, in which case its parameters don't contain <code>this</code>.
+	 * @return true if the arguments match the method's parameters in number, and each of them can be safely 
+	 * converted to the type of the corresponding parameter.
+	 */
+	public static boolean isApplicable(MethodValue mv, JValue[] args, boolean isStatic) {
+		JMethodType mt = mv.getMethodType();
+		JParameter[] params = mt.getParams();
+		int start = isStatic ? 0 : 1;
+		int total = isStatic ? params.length : params.length - 1;
+		if(args.length != total){
+			return false;
+		}
+		
+		for(int i = start, j = 0; i < params.length; i++, j++){
+			JType ptyp = params[i].getType();
+			JType atyp = args[j].getType();
+			if (atyp == null || atyp == AnyType.getInstance()){
+				JValue aval = args[j];
+				// Special Case: if the argument is an untyped null value, consider it a match as long as the param is Object
+				if (RefValue.isGenericNull(aval) && 
+					(ptyp.getKind() == JTypeKind.PLATFORM || 
+					 ptyp.getConvertibilityTo(JObjectType.getInstance()).isSafe())){
+					continue;
+				} else {
+					atyp = aval.deref().getType();
 				}
-				
-				if (found){
-					return mv;
+			}
+			
+			if (atyp == null) {
+				if (ptyp == AnyType.getInstance() || ptyp.isObject()) {
+					// null matches any object type.
+					continue;
+				}
+			} else {
+				Convertibility conv = atyp.getConvertibilityTo(ptyp);
+				if(conv.isSafe()){
+					continue;
 				}
 			}
+			
+			return false;
 		}
 		
-		return null;
+		return true;
 	}
 
 	// return null if the given method value is not callable against the given arguments.
@@ -26,8 +26,10 @@ package info.julang.interpretation.expression.operator;
 
 import static info.julang.langspec.Operators.DOT;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 
+import info.julang.execution.symboltable.ITypeTable;
 import info.julang.execution.symboltable.TypeTable;
 import info.julang.execution.threading.ThreadRuntime;
 import info.julang.external.exceptions.JSEError;
@@ -51,6 +53,9 @@ import info.julang.interpretation.expression.operand.TypeOperand;
 import info.julang.interpretation.expression.operand.ValueOperand;
 import info.julang.interpretation.syntax.ParsedTypeName;
 import info.julang.langspec.Keywords;
+import info.julang.langspec.ast.JulianParser.ExpressionContext;
+import info.julang.memory.value.DynamicShape;
+import info.julang.memory.value.DynamicValue;
 import info.julang.memory.value.FuncValue;
 import info.julang.memory.value.JValue;
 import info.julang.memory.value.MethodGroupValue;
@@ -87,9 +92,24 @@ public class DotOp extends Operator {
 
 	private ThreadRuntime rt;
 	
+	private ExpressionContext site;
+	
 	public DotOp(ThreadRuntime rt) {
+		this(rt, null);
+	}
+	
+	/**
+	 * Create a dot operator for the given call site. The extension methods, or the slot of a dynamic property, 
+	 * resolved at this site will be bound to the AST node, so that subsequent evaluations against the same types 
+	 * (or shapes) can skip the resolution.
+	 * 
+	 * @param rt
+	 * @param site the AST node of the dot expression. Can be null.
+	 */
+	public DotOp(ThreadRuntime rt, ExpressionContext site) {
 		super(".", 2, DOT.precedence, DOT.associativity);
 		this.rt = rt;
+		this.site = site;
 	}
 
 	@Override
@@ -209,6 +229,23 @@ public class DotOp extends Operator {
 							leftDeclaredType = lov.getClassType();
 						}
 						
+						ICompoundType thisType = null;
+						if(context.getContextType() == ContextType.IMETHOD && lop.getKind() == OperandKind.NAME){
+							NameOperand nameOd = (NameOperand) operands[0];
+							if (Keywords.THIS.equals(nameOd.getName())){
+								MethodContext mc = (MethodContext)context;
+								thisType = mc.getContainingType();
+							}
+						}
+						
+						// If this site has been bound to extension methods for the same types, the member 
+						// must resolve to the same methods again. Skip all the checks and lookups below.
+						OneOrMoreList<ObjectMember> bound = getExtensionBinding(context, leftDeclaredType, lov, thisType);
+						if (bound != null) {
+							return new InstMemberOperand(
+								null, leftDeclaredType, toFuncValue(bound), lov, memberName);
+						}
+						
 						boolean isDynamic = JDynamicType.isDynamicType(lval);
 						
 						if (!isDynamic) {
@@ -251,15 +288,6 @@ public class DotOp extends Operator {
 						} 
 						
 						if (mvalue == null) {
-							ICompoundType thisType = null;
-							if(context.getContextType() == ContextType.IMETHOD && lop.getKind() == OperandKind.NAME){
-								NameOperand nameOd = (NameOperand) operands[0];
-								if (Keywords.THIS.equals(nameOd.getName())){
-									MethodContext mc = (MethodContext)context;
-									thisType = mc.getContainingType();
-								}
-							}
-							
 							OneOrMoreList<ObjectMember> overloads = lov.getMemberValueByClass(memberName, thisType, false);
 							int olSize = overloads != null ? overloads.size() : 0;
 							if (olSize == 1) {
@@ -272,7 +300,11 @@ public class DotOp extends Operator {
 							// of the same name is already defined, either directly or by inheritance, on the object's type, no 
 							// extension methods will be tried. 
 							if (mvalue == null) {
-								evalues = getExtenionFuncValue(context, leftDeclaredType, memberName); 
+								OneOrMoreList<ObjectMember> extensions = getExtensionMethods(context, leftDeclaredType, memberName);
+								evalues = toFuncValue(extensions);
+								if (evalues != null) {
+									bindExtensions(context, leftDeclaredType, lov, thisType, extensions);
+								}
 							}
 							
 							if (isDynamic && mvalue == null && evalues == null) {
@@ -287,7 +319,9 @@ public class DotOp extends Operator {
 					
 					if (shouldReturnIndexOd) {
 						// For Dynamic object, create an index operand, effectively converting expression << dyn.a >> to << dyn["a"] >>
-						IIndexable lind = lval.asIndexer();
+						IIndexable lind = lval instanceof DynamicValue 
+							? ((DynamicValue)lval).asIndexer(getPropertySite(memberName))
+							: lval.asIndexer();
 						lind.initialize(rt, new InitArgs(context, false));
 						return Operand.createIndexOperand(
 							lind, TempValueFactory.createTempStringValue(memberName));
@@ -351,10 +385,16 @@ public class DotOp extends Operator {
 	}
 
 	private FuncValue getExtenionFuncValue(Context context, ICompoundType type, String memberName) {
+		return toFuncValue(getExtensionMethods(context, type, memberName));
+	}
+	
+	private OneOrMoreList<ObjectMember> getExtensionMethods(Context context, ICompoundType type, String memberName) {
+		return ((TypeTable)context.getTypTable()).getExtensionMethodsByClass(memberName, type);
+	}
+	
+	private FuncValue toFuncValue(OneOrMoreList<ObjectMember> extensions) {
 		FuncValue evalues = null;
 		
-		OneOrMoreList<ObjectMember> extensions = 
-			((TypeTable)context.getTypTable()).getExtensionMethodsByClass(memberName, type);
 		int exSize = extensions != null ? extensions.size() : 0;
 		if (exSize == 1) {
 			evalues = (FuncValue)extensions.getFirst().getValue();
@@ -364,4 +404,104 @@ public class DotOp extends Operator {
 		
 		return evalues;
 	}
+	
+	//------------------------------- Call-site binding -------------------------------//
+	
+	/**
+	 * The extension methods resolved at a call site, along with the conditions under which they were resolved.
+	 * <p>
+	 * A member resolves to extension methods only if no member of the same name exists on the object's type. 
+	 * Whether a member exists is determined by the declared type, the runtime type and, for calls made through 
+	 * <code>this</code>, the containing type, none of which can change without also changing either the identity 
+	 * or the stamp of the types. The instance is immutable, and thus can be published to other threads through 
+	 * the AST node without synchronization.
+	 * <p>
+	 * A parsed script may outlive the engine that evaluated it, so everything that belongs to the engine is only
+	 * referenced weakly. Once any of these is collected, the binding no longer matches.
+	 */
+	private static class ExtensionBinding {
+		
+		private final WeakReference<ITypeTable> typeTable;
+		private final WeakReference<ICompoundType> declaredType;
+		private final int declaredStamp;
+		private final WeakReference<ICompoundType> runtimeType;
+		private final int runtimeStamp;
+		private final WeakReference<ICompoundType> thisType; // null if not called through 'this'
+		private final WeakReference<OneOrMoreList<ObjectMember>> extensions;
+		
+		private ExtensionBinding(
+			ITypeTable typeTable, 
+			ICompoundType declaredType, 
+			ICompoundType runtimeType, 
+			ICompoundType thisType,
+			OneOrMoreList<ObjectMember> extensions) {
+			this.typeTable = new WeakReference<ITypeTable>(typeTable);
+			this.declaredType = new WeakReference<ICompoundType>(declaredType);
+			this.declaredStamp = declaredType.getStamp();
+			this.runtimeType = new WeakReference<ICompoundType>(runtimeType);
+			this.runtimeStamp = runtimeType.getStamp();
+			this.thisType = thisType != null ? new WeakReference<ICompoundType>(thisType) : null;
+			// The list is kept alive by the extension method cache of the engine.
+			this.extensions = new WeakReference<OneOrMoreList<ObjectMember>>(extensions);
+		}
+		
+		/**
+		 * Get the extension methods bound to the site, if the site is evaluated under the same conditions.
+		 * 
+		 * @return null if the binding doesn't apply.
+		 */
+		private OneOrMoreList<ObjectMember> match(
+			ITypeTable typeTable, ICompoundType declaredType, ICompoundType runtimeType, ICompoundType thisType) {
+			// The same AST may be evaluated by different engines, each of which loads its own types.
+			if (this.typeTable.get() == typeTable
+				&& this.declaredType.get() == declaredType
+				&& this.runtimeType.get() == runtimeType
+				&& (this.thisType != null ? this.thisType.get() : null) == thisType
+				&& declaredStamp == declaredType.getStamp()
+				&& runtimeStamp == runtimeType.getStamp()) {
+				return extensions.get();
+			}
+			
+			return null;
+		}
+	}
+	
+	private OneOrMoreList<ObjectMember> getExtensionBinding(
+		Context context, ICompoundType declaredType, ObjectValue lov, ICompoundType thisType) {
+		if (site == null) {
+			return null;
+		}
+		
+		Object obj = site.binding;
+		if (obj instanceof ExtensionBinding) {
+			ExtensionBinding binding = (ExtensionBinding)obj;
+			return binding.match(context.getTypTable(), declaredType, lov.getClassType(), thisType);
+		}
+		
+		return null;
+	}
+	
+	// Dynamic property access: bind a site to remember the slot of the property in the shape last seen here.
+	private DynamicShape.Site getPropertySite(String memberName) {
+		if (site == null) {
+			return null;
+		}
+		
+		Object obj = site.binding;
+		if (obj instanceof DynamicShape.Site) {
+			return (DynamicShape.Site)obj;
+		}
+		
+		DynamicShape.Site psite = new DynamicShape.Site(memberName);
+		site.binding = psite;
+		return psite;
+	}
+	
+	private void bindExtensions(
+		Context context, ICompoundType declaredType, ObjectValue lov, ICompoundType thisType, OneOrMoreList<ObjectMember> extensions) {
+		if (site != null) {
+			// If the site is evaluated against different types, the last binding wins.
+			site.binding = new ExtensionBinding(context.getTypTable(), declaredType, lov.getClassType(), thisType, extensions);
+		}
+	}
 }
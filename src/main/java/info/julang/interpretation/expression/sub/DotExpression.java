@@ -39,7 +39,7 @@ public class DotExpression extends ExpressionBase {
 	
 	public DotExpression(ThreadRuntime rt, AstInfo<ExpressionContext> ec) {
 		super(rt, ec, null);
-		op = new DotOp(rt);
+		op = new DotOp(rt, ec.getAST());
 	}
 
 	@Override
@@ -502,7 +502,8 @@ public class NewExpression extends ExpressionBase {
 				arrTyp = tt.getArrayType(entryTyp);
 			}
 			
-			this.registerMethod(Method_initByMap, SystemTypeNames.MemberNames.INIT_BT_MAP, false, new JType[]{ arrTyp });
+			this.registerInterfaceMethod(
+				Method_initByMap, SystemTypeNames.System_Util_IMapInitializable, SystemTypeNames.MemberNames.INIT_BT_MAP, new JType[]{ arrTyp });
 		}
 		
 		private void initByMap(ArrayValue arrValue){
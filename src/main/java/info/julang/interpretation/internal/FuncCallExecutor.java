@@ -354,19 +354,14 @@ public class FuncCallExecutor {
 			// At this point we have method's name and parameter information, so we can add a stack trace into the exception.
 			String fn = jse.getFileName();
 			int lineNo = jse.getLineNumber();
-			String name;
-			String[] pnames;
 			StackTraceKind stk = jse.resetTraceKind();
 			if (stk == null || stk == StackTraceKind.CALL) {
-				// Regular trace - a function call
-				name = funcType.getFullFunctionName(false);
-				pnames = JParameter.getParamNames(params);
+				// Regular trace - a function call. The parameter names are resolved only if the trace is requested.
+				jse.addStackTrace(rt.getTypeTable(), funcType.getFullFunctionName(false), params, fn, lineNo);
 			} else {
 				// Special trace - usually related to incorporating another file
-				name = stk.getTraceName();
-				pnames = null;
+				jse.addStackTrace(rt.getTypeTable(), stk.getTraceName(), (String[]) null, fn, lineNo);
 			}
-			jse.addStackTrace(rt.getTypeTable(), name, pnames, fn, lineNo);
 			throw jse;
 		} catch (EngineInvocationError e) {
 			throw new JSEError("An error occurs while invoking " + funcType.getName());
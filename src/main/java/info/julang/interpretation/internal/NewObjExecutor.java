@@ -45,6 +45,7 @@ import info.julang.langspec.ast.JulianParser.ArgumentContext;
 import info.julang.memory.MemoryArea;
 import info.julang.memory.value.AttrValue;
 import info.julang.memory.value.DynamicValue;
+import info.julang.memory.value.ExceptionValue;
 import info.julang.memory.value.FuncValue;
 import info.julang.memory.value.HostedValue;
 import info.julang.memory.value.JValue;
@@ -363,7 +364,7 @@ public class NewObjExecutor {
 			// At this point we have method's name and parameter information, so we can add a stack trace into the exception.
 			String fn = jse.getFileName();
 			int lineNo = jse.getLineNumber();
-			jse.addStackTrace(rt.getTypeTable(), ctorTyp.getName(), JParameter.getParamNames(ctor.getCtorType().getParams()), fn, lineNo);
+			jse.addStackTrace(rt.getTypeTable(), ctorTyp.getName(), ctor.getCtorType().getParams(), fn, lineNo);
 			throw jse;
 		} 
 	}
@@ -418,6 +419,8 @@ public class NewObjExecutor {
 				obj = new HostedValue(heap, type);
 			} else if (JDynamicType.isDynamicType(jat)) {
 				obj = new DynamicValue(heap, type);
+			} else if (jat.isExceptionType()) {
+				obj = new ExceptionValue(heap, type);
 			} else {
 				obj = new ObjectValue(heap, type, false);
 			}
@@ -65,6 +65,10 @@ import info.julang.parser.AstInfo;
  * time, an exception of <code style="color:green">System.Collection.ConcurrentModificationException</code>
  * will be thrown.
  * <p>
+ * Arrays, strings and the built-in <code style="color:green">System.Collection.List</code>, <code 
+ * style="color:green">Map</code> and <code style="color:green">Set</code> are iterated natively, without 
+ * calling the iterator methods in script.
+ * <p>
  * 
  * @author Ming Zhou
  */
@@ -168,13 +172,14 @@ public class ForEachStatement extends MultiBlockStatementBase {
 	}
 	
 	private void performLoop(Context context, Compound_statementContext compStmts) {
+		AstInfo<Compound_statementContext> body = ainfo.create(compStmts);
 		while(iter.hasNext()){
 			// get current element
 			JValue ele = iter.next();
 			ele.assignTo(loopVar);
 			
 			// main loop body
-			boolean shouldBreak = performLoopBody(context, ainfo.create(compStmts));
+			boolean shouldBreak = performLoopBody(context, body);
 			if(shouldBreak){
 				break;
 			}
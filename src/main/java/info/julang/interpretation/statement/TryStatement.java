@@ -24,8 +24,10 @@ SOFTWARE.
 
 package info.julang.interpretation.statement;
 
+import java.lang.ref.WeakReference;
 import java.util.List;
 
+import info.julang.execution.symboltable.ITypeTable;
 import info.julang.execution.symboltable.IVariableTable;
 import info.julang.execution.threading.ThreadRuntime;
 import info.julang.interpretation.BadSyntaxException;
@@ -183,28 +185,8 @@ public class TryStatement extends MultiBlockStatementBase {
 	}
 
 	private boolean interpretCatch(Context context, Catch_blockContext cb, JulianScriptException jse) {
-		ParsedTypeName typeName = SyntaxHelper.parseTypeName(cb.type());
-		
-		// Verify the thrown type. This may be optimized in future by a cache (where to store?)
-		JType typ = context.getTypeResolver().resolveType(typeName);
-		if(typ.getKind() != JTypeKind.CLASS){
-			throw new BadSyntaxException(
-				"The exception type declaration in a catch statement " + 
-				"must be of, or derive from, System.Exception. " + 
-				"But saw " + typ.getName() + ".");		
-		}
-		
-		ICompoundType exTyp = (ICompoundType) typ;
-		JClassType sysExTyp = (JClassType) context.getTypTable().getType(JSExceptionUtility.SystemExceptionClass);
-
-		if(!exTyp.isDerivedFrom(sysExTyp, true)){
-			throw new BadSyntaxException(
-				"The exception type declaration in a catch statement " + 
-				"must be of, or derive from, System.Exception. " + 
-				"But saw " + typ.getName() + ".");					
-		}
-		
-		String exVarName = cb.IDENTIFIER().getText();
+		// Verify the thrown type. The declared type is resolved only once per catch block.
+		ICompoundType exTyp = getCatchType(context, cb);
 		
 		ObjectValue exValue = jse.getExceptionValue();
 		ICompoundType caughtExType = (ICompoundType) exValue.getType();
@@ -215,6 +197,7 @@ public class TryStatement extends MultiBlockStatementBase {
 			// This catch block matches the type of thrown exception
 			
 			// Add variable definition
+			String exVarName = cb.IDENTIFIER().getText();
 			IVariableTable vt = context.getVarTable();
 			vt.enterScope();
 			vt.addVariable(exVarName, exValue);
@@ -231,4 +214,65 @@ public class TryStatement extends MultiBlockStatementBase {
 			return true;
 		}
 	}
-}
\ No newline at end of file
+	
+	private ICompoundType getCatchType(Context context, Catch_blockContext cb) {
+		ITypeTable tt = context.getTypTable();
+		Object obj = cb.binding;
+		if (obj instanceof CatchBinding) {
+			CatchBinding binding = (CatchBinding)obj;
+			ICompoundType type = binding.type.get();
+			if (binding.matches(tt)) {
+				return type;
+			}
+		}
+		
+		ParsedTypeName typeName = SyntaxHelper.parseTypeName(cb.type());
+		JType typ = context.getTypeResolver().resolveType(typeName);
+		if(typ.getKind() != JTypeKind.CLASS){
+			throw new BadSyntaxException(
+				"The exception type declaration in a catch statement " + 
+				"must be of, or derive from, System.Exception. " + 
+				"But saw " + typ.getName() + ".");		
+		}
+		
+		ICompoundType exTyp = (ICompoundType) typ;
+		JClassType sysExTyp = (JClassType) tt.getType(JSExceptionUtility.SystemExceptionClass);
+
+		if(!exTyp.isDerivedFrom(sysExTyp, true)){
+			throw new BadSyntaxException(
+				"The exception type declaration in a catch statement " + 
+				"must be of, or derive from, System.Exception. " + 
+				"But saw " + typ.getName() + ".");					
+		}
+		
+		cb.binding = new CatchBinding(tt, exTyp);
+		return exTyp;
+	}
+	
+	/**
+	 * The exception type resolved for a catch block. The same AST may be interpreted by different engines, or 
+	 * by the same engine after the user-defined types are reloaded, so the binding must be checked before use.
+	 * Since the AST may outlive the engine, the type table and the type are only referenced weakly.
+	 */
+	private static class CatchBinding {
+		
+		private final WeakReference<ITypeTable> typeTable;
+		private final WeakReference<ICompoundType> type;
+		private final int stamp;
+		
+		private CatchBinding(ITypeTable typeTable, ICompoundType type) {
+			this.typeTable = new WeakReference<ITypeTable>(typeTable);
+			this.type = new WeakReference<ICompoundType>(type);
+			this.stamp = type.getStamp();
+		}
+		
+		private boolean matches(ITypeTable typeTable) {
+			// A collected referent can never match.
+			ICompoundType type = this.type.get();
+			return type != null
+				&& this.typeTable.get() == typeTable
+				&& stamp == type.getStamp()
+				&& typeTable.getType(type.getName()) == type;
+		}
+	}
+}
@@ -26,6 +26,10 @@ package info.julang.jsr223;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map.Entry;
@@ -33,7 +37,11 @@ import java.util.Set;
 
 import javax.script.AbstractScriptEngine;
 import javax.script.Bindings;
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
 import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
@@ -41,6 +49,7 @@ import javax.script.SimpleBindings;
 import info.julang.execution.security.IEnginePolicy;
 import info.julang.external.EngineInitializationOption;
 import info.julang.external.JulianScriptEngine;
+import info.julang.external.ScriptHandle;
 import info.julang.external.binding.IBinding;
 import info.julang.external.exceptions.JSEException;
 import info.julang.external.interfaces.IExtEngineContext;
@@ -90,10 +99,16 @@ import info.julang.util.Pair;
  * </table>
  * This engine runs in REPL mode, therefore the state from the previous runs will be retained.
  * <p>
+ * The engine is also {@link Compilable} and {@link Invocable}. A compiled script can be evaluated repeatedly 
+ * without being parsed again. The functions defined by the previous runs can be called directly, without 
+ * re-running the script that defines them. Since Julian objects are not returned to the caller as is, the 
+ * target object of {@link #invokeMethod(Object, String, Object...)} and {@link #getInterface(Object, Class)} 
+ * is specified by the name of the global variable that holds it.
+ * <p>
  * 
  * @author Ming Zhou
  */
-public class JulianScriptingEngine extends AbstractScriptEngine {
+public class JulianScriptingEngine extends AbstractScriptEngine implements Compilable, Invocable {
 
 	/** Use this as the key to set module paths object (of type List/Array) to ScriptContext. */
 	public static final String MODULE_PATHS = "JSE_MODULE_PATHS";
@@ -135,13 +150,187 @@ public class JulianScriptingEngine extends AbstractScriptEngine {
 	}
 	
 	@Override
-	public Object eval(String script, ScriptContext context) throws ScriptException {
+	public Object eval(final String script, ScriptContext context) throws ScriptException {
+		return run(context, new ScriptCall() {
+			@Override
+			public Object call() throws JSEException {
+				return jse.runScript(script, new String[0]);
+			}
+		});
+	}
+
+	@Override
+	public Object eval(Reader reader, ScriptContext context) throws ScriptException {
+		return eval(readScript(reader), context);
+	}
+	
+	//--------------------------------- Compilable ---------------------------------//
+	
+	/**
+	 * Parse the script without running it. The returned {@link CompiledScript} can be evaluated 
+	 * repeatedly without being lexed and parsed again. If the script contains a syntax error, a 
+	 * {@link ScriptException} is thrown right away.
+	 */
+	@Override
+	public CompiledScript compile(String script) throws ScriptException {
+		try {
+			return new JulianCompiledScript(jse.compileScript(script));
+		} catch (JSEException e) {
+			throw toScriptException(e);
+		}
+	}
+
+	@Override
+	public CompiledScript compile(Reader reader) throws ScriptException {
+		return compile(readScript(reader));
+	}
+	
+	private class JulianCompiledScript extends CompiledScript {
+
+		private ScriptHandle handle;
+		
+		private JulianCompiledScript(ScriptHandle handle) {
+			this.handle = handle;
+		}
+		
+		@Override
+		public Object eval(ScriptContext context) throws ScriptException {
+			return run(context, new ScriptCall() {
+				@Override
+				public Object call() throws JSEException {
+					return jse.run(handle, new String[0]);
+				}
+			});
+		}
+
+		@Override
+		public ScriptEngine getEngine() {
+			return JulianScriptingEngine.this;
+		}
+	}
+	
+	//--------------------------------- Invocable ---------------------------------//
+	
+	/**
+	 * Call a method on an object stored in a global variable. If the variable doesn't hold an object, or 
+	 * the object doesn't have a method of the given name which takes the same number of arguments, a 
+	 * {@link NoSuchMethodException} is thrown. Among the overloads of the same number of parameters, the 
+	 * one to call is selected by the types of arguments. If none of them accepts the arguments, a 
+	 * {@link ScriptException} is thrown.
+	 * 
+	 * @param thiz must be a String, which is the name of the global variable that holds the object. 
+	 * Objects defined in Julian cannot be returned to the caller as is, so they are referred to by name.
+	 */
+	@Override
+	public Object invokeMethod(Object thiz, String name, Object... args) throws ScriptException, NoSuchMethodException {
+		return invoke(getTargetName(thiz), name, args);
+	}
+
+	/**
+	 * Call a global function defined by the scripts evaluated previously. The top-level script is not re-run. 
+	 * The arguments can be of type int, boolean, char, float or String. If the function is not defined, or 
+	 * doesn't take the same number of arguments, a {@link NoSuchMethodException} is thrown. If the arguments
+	 * cannot be converted to the parameters' types, a {@link ScriptException} is thrown.
+	 */
+	@Override
+	public Object invokeFunction(String name, Object... args) throws ScriptException, NoSuchMethodException {
+		return invoke(null, name, args);
+	}
+
+	/**
+	 * Get an implementation of the interface backed by the global functions defined by the scripts evaluated 
+	 * previously. 
+	 * 
+	 * @return null if any method of the interface doesn't have a global function of the same name and number of
+	 * parameters.
+	 */
+	@Override
+	public <T> T getInterface(Class<T> clasz) {
+		return createProxy(null, clasz);
+	}
+
+	/**
+	 * Get an implementation of the interface backed by the methods of an object stored in a global variable.
+	 * 
+	 * @param thiz must be a String, which is the name of the global variable that holds the object.
+	 * @return null if the variable doesn't hold an object, or any method of the interface doesn't have a 
+	 * method of the same name and number of parameters on the object.
+	 */
+	@Override
+	public <T> T getInterface(Object thiz, Class<T> clasz) {
+		return createProxy(getTargetName(thiz), clasz);
+	}
+	
+	private Object invoke(final String target, final String name, final Object... args) 
+		throws ScriptException, NoSuchMethodException {
+		int count = args != null ? args.length : 0;
+		if (!jse.hasFunction(target, name, count)) {
+			throw new NoSuchMethodException(
+				(target != null ? "Method " + target + "." : "Function ") + name + " with " + count + " parameter(s) is not defined.");
+		}
+		
+		return run(getContext(), new ScriptCall() {
+			@Override
+			public Object call() throws JSEException {
+				return jse.invoke(target, name, args);
+			}
+		});
+	}
+	
+	private String getTargetName(Object thiz) {
+		if (!(thiz instanceof String)) {
+			throw new IllegalArgumentException(
+				"The target of invocation must be the name of a global variable which holds a Julian object.");
+		}
+		
+		return (String) thiz;
+	}
+	
+	private <T> T createProxy(final String target, Class<T> clasz) {
+		if (clasz == null || !clasz.isInterface()) {
+			throw new IllegalArgumentException("The class to implement must be an interface.");
+		}
+		
+		// The script must implement all the methods of the interface.
+		for (Method method : clasz.getMethods()) {
+			if (method.getDeclaringClass() != Object.class 
+				&& !Modifier.isStatic(method.getModifiers())
+				&& !jse.hasFunction(target, method.getName(), method.getParameterTypes().length)) {
+				return null;
+			}
+		}
+		
+		Object proxy = Proxy.newProxyInstance(clasz.getClassLoader(), new Class<?>[] { clasz }, new InvocationHandler() {
+			@Override
+			public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+				if (method.getDeclaringClass() == Object.class) {
+					// equals, hashCode and toString are implemented by the proxy itself.
+					switch (method.getName()) {
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					default:
+						return "Julian implementation of " + clasz.getName();
+					}
+				}
+				
+				return JulianScriptingEngine.this.invoke(target, method.getName(), args);
+			}
+		});
+		
+		return clasz.cast(proxy);
+	}
+	
+	//--------------------------------- Internals ---------------------------------//
+	
+	private Object run(ScriptContext context, ScriptCall call) throws ScriptException {
 		processContext(context);
 		
 		try {
 			Object result = null;
 			try {
-				result = jse.runScript(script, new String[0]);
+				result = call.call();
 			} finally {
 				// Whatever happened, let's update the bindings first
 				updateBindings(context);
@@ -149,17 +338,26 @@ public class JulianScriptingEngine extends AbstractScriptEngine {
 			
 			return result;
 		} catch (JSEException e) {
-			Throwable cause = e.getCause();
-			if (cause instanceof ScriptException) {
-				throw (ScriptException)cause;
-			} else {
-				throw new ScriptException(e);
-			}
+			throw toScriptException(e);
 		}
 	}
-
-	@Override
-	public Object eval(Reader reader, ScriptContext context) throws ScriptException {
+	
+	private static ScriptException toScriptException(JSEException e) {
+		Throwable cause = e.getCause();
+		if (cause instanceof ScriptException) {
+			return (ScriptException)cause;
+		} else {
+			return new ScriptException(e);
+		}
+	}
+	
+	private static interface ScriptCall {
+		
+		Object call() throws JSEException;
+		
+	}
+	
+	private static String readScript(Reader reader) throws ScriptException {
 		int size = 8192;
 	    int read = 0;
 	    char[] arr = new char[size];
@@ -172,8 +370,7 @@ public class JulianScriptingEngine extends AbstractScriptEngine {
 			throw new ScriptException(e);
 		}
 	    
-	    String script = buffer.toString();	
-		return eval(script, context);
+	    return buffer.toString();
 	}
 
 	@Override
@@ -350,6 +547,10 @@ public class JulianScriptingEngine extends AbstractScriptEngine {
 			return (IExtEngineContext)engine.getContext();
 		}
 		
+		private Object invoke(String target, String name, Object... args) throws JSEException {
+			return invokeInternal(null, target, name, args);
+		}
+		
 	}
 
 }
@@ -0,0 +1,230 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.memory.value;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The shape of a {@link DynamicValue}, which maps the names of the properties to the slots where their values are stored.
+ * <p>
+ * A shape is determined by the properties, as well as the order in which they were added. Shapes form a tree rooted 
+ * at {@link #EMPTY}. Adding a property to an object moves it from its current shape to a child shape, which is created 
+ * upon the first such transition, and shared by all the objects transitioning in the same way afterwards. Therefore,
+ * the objects built in the same way, such as those created by the same map initializer, all share one shape, while 
+ * each only needs to store an array of values.
+ * <p>
+ * Shapes are immutable except for the transitions, and are shared among all engine instances and threads. To prevent
+ * an object used as a generic map from growing the tree without bound, the transition is refused if the shape has 
+ * too many properties, or too many transitions already. The object should then store its properties in a map.
+ * <p>
+ * A shape references its child shapes only weakly, while each shape references its parent. So a branch of the tree 
+ * is kept alive only as long as some object, or some site, still uses a shape on it. Once all these are gone, the 
+ * branch is collected and its transition removed from the parent, so the tree as a whole never grows beyond what 
+ * the live objects need.
+ * 
+ * @author Ming Zhou
+ */
+public final class DynamicShape {
+
+	/** The shape of a Dynamic object without any properties. */
+	public static final DynamicShape EMPTY = new DynamicShape(null, new String[0]);
+	
+	private static final int MAX_PROPERTIES = 64;
+	
+	private static final int MAX_TRANSITIONS = 128;
+	
+	private final String[] names;
+	
+	// Read-only after construction
+	private final Map<String, Integer> slots;
+	
+	// Keeps the path from the root alive for as long as this shape is alive
+	private final DynamicShape parent;
+	
+	private final ConcurrentMap<String, Transition> transitions;
+	
+	private static final ReferenceQueue<DynamicShape> collected = new ReferenceQueue<DynamicShape>();
+	
+	private static class Transition extends WeakReference<DynamicShape> {
+		
+		private final DynamicShape from;
+		private final String name;
+		
+		private Transition(DynamicShape from, String name, DynamicShape to) {
+			super(to, collected);
+			this.from = from;
+			this.name = name;
+		}
+	}
+	
+	private DynamicShape(DynamicShape parent, String[] names) {
+		this.parent = parent;
+		this.names = names;
+		this.slots = new HashMap<String, Integer>(names.length * 2);
+		for (int i = 0; i < names.length; i++) {
+			slots.put(names[i], i);
+		}
+		this.transitions = new ConcurrentHashMap<String, Transition>();
+	}
+	
+	/**
+	 * Get the slot for the given property.
+	 * 
+	 * @param name the property name
+	 * @return -1 if the property is not present on this shape.
+	 */
+	public int getSlot(String name) {
+		Integer slot = slots.get(name);
+		return slot != null ? slot : -1;
+	}
+	
+	/**
+	 * Get the name of the property stored at the given slot.
+	 */
+	public String getName(int slot) {
+		return names[slot];
+	}
+	
+	/**
+	 * Get the count of properties.
+	 */
+	public int size() {
+		return names.length;
+	}
+	
+	/**
+	 * Get the shape resulted from adding a new property to this one. The new property will be stored 
+	 * in the slot numbered as {@link #size()}.
+	 * 
+	 * @param name the name of a property not present on this shape.
+	 * @return null if the transition is refused, in which case the object should switch to the map storage.
+	 */
+	DynamicShape addProperty(String name) {
+		Transition trans = transitions.get(name);
+		DynamicShape next = trans != null ? trans.get() : null;
+		if (next != null) {
+			return next;
+		}
+		
+		purge();
+		
+		if (names.length >= MAX_PROPERTIES || transitions.size() >= MAX_TRANSITIONS) {
+			return null;
+		}
+		
+		String[] newNames = new String[names.length + 1];
+		System.arraycopy(names, 0, newNames, 0, names.length);
+		newNames[names.length] = name;
+		next = new DynamicShape(this, newNames);
+		Transition newTrans = new Transition(this, name, next);
+		
+		while (true) {
+			trans = transitions.get(name);
+			if (trans == null) {
+				if (transitions.putIfAbsent(name, newTrans) == null) {
+					return next;
+				}
+			} else {
+				// If another thread wins the race, use its shape instead
+				DynamicShape existing = trans.get();
+				if (existing != null) {
+					return existing;
+				}
+				
+				// The previous shape has been collected
+				if (transitions.replace(name, trans, newTrans)) {
+					return next;
+				}
+			}
+		}
+	}
+	
+	// Remove the transitions to the shapes which have been collected.
+	private static void purge() {
+		Transition trans;
+		while ((trans = (Transition)collected.poll()) != null) {
+			trans.from.transitions.remove(trans.name, trans);
+		}
+	}
+	
+	/**
+	 * A site in the script where a property of given name is accessed on Dynamic objects. The site remembers the 
+	 * slot of the property in the last seen shape, so that accessing objects of the same shape can skip the lookup.
+	 * <p>
+	 * A site can be shared by multiple threads.
+	 */
+	public static final class Site {
+		
+		private static class Hint {
+			
+			private final DynamicShape shape;
+			private final int slot;
+			
+			private Hint(DynamicShape shape, int slot) {
+				this.shape = shape;
+				this.slot = slot;
+			}
+		}
+		
+		private final String name;
+		
+		private volatile Hint hint;
+		
+		public Site(String name) {
+			this.name = name;
+		}
+		
+		/**
+		 * Get the name of the property accessed at this site.
+		 */
+		public String getName() {
+			return name;
+		}
+		
+		/**
+		 * Get the slot of the property in the given shape.
+		 * 
+		 * @return -1 if the property is not present on the shape.
+		 */
+		int getSlot(DynamicShape shape) {
+			Hint h = hint;
+			if (h != null && h.shape == shape) {
+				return h.slot;
+			}
+			
+			int slot = shape.getSlot(name);
+			if (slot >= 0) {
+				hint = new Hint(shape, slot);
+			}
+			
+			return slot;
+		}
+	}
+}
@@ -24,16 +24,20 @@ SOFTWARE.
 
 package info.julang.memory.value;
 
-import java.util.HashMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import info.julang.external.exceptions.JSEError;
 import info.julang.external.interfaces.JValueKind;
 import info.julang.memory.MemoryArea;
+import info.julang.memory.value.indexable.DynamicIndexable;
+import info.julang.memory.value.indexable.IIndexable;
 import info.julang.typesystem.IllegalMemberAccessException;
 import info.julang.typesystem.JType;
 import info.julang.typesystem.jclass.builtin.JDynamicType;
@@ -44,12 +48,24 @@ import info.julang.typesystem.jclass.builtin.JDynamicType;
  * A special case of {@link ObjectValue}, member access to DynamicValue is handled without type check. Retrieving 
  * a non-existent member returns <code>null</code>; setting a non-existent member or overwriting an existing member
  * with different type is always OK.
+ * <p>
+ * The properties are stored in an array, indexed by the slots assigned by the object's {@link DynamicShape shape}. 
+ * The objects with the same properties added in the same order share the shape. If the object has too many properties,
+ * or its shape has too many variants, it switches to a map for storage.
  * 
  * @author Ming Zhou
  */
 public class DynamicValue extends ObjectValue implements Iterable<Entry<String, JValue>> {
 	
+	private static final JValue[] NO_VALUES = new JValue[0];
+	
+	// Null if the properties are stored in map.
+	private DynamicShape shape;
+	private JValue[] values;
+	
+	// Non-null only if the properties are not stored by shape.
 	private Map<String, JValue> map;
+	
 	private boolean canOverwite;
 	
 	// Read from config object
@@ -65,7 +81,8 @@ public class DynamicValue extends ObjectValue implements Iterable<Entry<String,
 	 */
 	public DynamicValue(MemoryArea memory, JType typ) {
 		super(memory, typ, false);
-		this.map = new HashMap<String, JValue>();
+		this.shape = DynamicShape.EMPTY;
+		this.values = NO_VALUES;
 		this.canOverwite = true;
 	}
 	
@@ -126,28 +143,165 @@ public class DynamicValue extends ObjectValue implements Iterable<Entry<String,
 	 * @return
 	 */
 	public JValue get(String key) {
+		if (shape != null) {
+			int slot = shape.getSlot(key);
+			return slot >= 0 ? values[slot] : null;
+		}
+		
 		return map.get(key);
 	}
 	
+	/**
+	 * Get JValue at the given access site. Returns null if not set.
+	 * @param site
+	 * @return
+	 */
+	public JValue get(DynamicShape.Site site) {
+		if (shape != null) {
+			int slot = site.getSlot(shape);
+			return slot >= 0 ? values[slot] : null;
+		}
+		
+		return map.get(site.getName());
+	}
+	
 	public void set(String key, JValue val) {
+		checkSet(key, val);
+		
+		if (shape != null) {
+			int slot = shape.getSlot(key);
+			if (slot >= 0) {
+				values[slot] = val;
+			} else {
+				addProperty(key, val);
+			}
+		} else {
+			map.put(key, val);
+		}
+	}
+	
+	/**
+	 * Set JValue at the given access site.
+	 * @param site
+	 * @param val
+	 */
+	public void set(DynamicShape.Site site, JValue val) {
+		String key = site.getName();
+		checkSet(key, val);
+		
+		if (shape != null) {
+			int slot = site.getSlot(shape);
+			if (slot >= 0) {
+				values[slot] = val;
+			} else {
+				addProperty(key, val);
+			}
+		} else {
+			map.put(key, val);
+		}
+	}
+	
+	private void checkSet(String key, JValue val) {
 		if (val == null) {
 			throw new JSEError("Tried to set null to member '" + key + "'.", DynamicValue.class);
 		}
 		
-		if (canOverwite) {
-			map.put(key, val);
-		} else {
+		if (!canOverwite) {
 			throw IllegalMemberAccessException.overwriteSealedDynamicEx(key);
 		}
 	}
+	
+	private void addProperty(String key, JValue val) {
+		DynamicShape next = shape.addProperty(key);
+		if (next == null) {
+			// Switch to map storage for good
+			int size = shape.size();
+			map = new LinkedHashMap<String, JValue>(size * 2);
+			for (int i = 0; i < size; i++) {
+				map.put(shape.getName(i), values[i]);
+			}
+			map.put(key, val);
+			shape = null;
+			values = null;
+			return;
+		}
+		
+		int slot = shape.size();
+		if (slot >= values.length) {
+			JValue[] newValues = new JValue[slot < 4 ? 4 : slot * 2];
+			System.arraycopy(values, 0, newValues, 0, slot);
+			values = newValues;
+		}
+		
+		values[slot] = val;
+		shape = next;
+	}
 
 	public int count() {
-		return map.size();
+		return shape != null ? shape.size() : map.size();
+	}
+	
+	/**
+	 * Get the shape of this object. 
+	 * 
+	 * @return null if the properties are not stored by shape.
+	 */
+	public DynamicShape getShape() {
+		return shape;
 	}
 
+	/**
+	 * Iterate over the properties in the order they were added.
+	 */
 	@Override
 	public Iterator<Entry<String, JValue>> iterator() {
-		return this.map.entrySet().iterator();
+		if (shape == null) {
+			return this.map.entrySet().iterator();
+		}
+		
+		final DynamicShape shp = shape;
+		final JValue[] vals = values;
+		return new Iterator<Entry<String, JValue>>() {
+			
+			private int index;
+			
+			@Override
+			public boolean hasNext() {
+				return index < shp.size();
+			}
+
+			@Override
+			public Entry<String, JValue> next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				
+				Entry<String, JValue> entry = new SimpleImmutableEntry<String, JValue>(shp.getName(index), vals[index]);
+				index++;
+				return entry;
+			}
+		};
+	}
+	
+	/**
+	 * Get an indexer to access the property at the given site. 
+	 * <p>
+	 * If this object is a plain Dynamic, the indexer will access the storage directly. Otherwise, 
+	 * the indexing methods may have been overridden, and the call goes through the methods instead.
+	 * 
+	 * @param site the site where the property is accessed.
+	 */
+	public IIndexable asIndexer(DynamicShape.Site site) {
+		if (getType() == JDynamicType.getInstance()) {
+			return new DynamicIndexable(this, site);
+		}
+		
+		return super.asIndexer();
+	}
+	
+	@Override
+	public IIndexable asIndexer() {
+		return asIndexer(null);
 	}
 	
 	//------ Information used to decide whether to bind a Function property added through initializer ------//
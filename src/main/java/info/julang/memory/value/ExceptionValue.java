@@ -0,0 +1,60 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.memory.value;
+
+import info.julang.interpretation.errorhandling.StackTraceBuffer;
+import info.julang.memory.MemoryArea;
+import info.julang.typesystem.JType;
+
+/**
+ * The value of an object of type <code style="color:green">System.Exception</code>, or any type derived from it.
+ * <p>
+ * Besides the regular members, an exception object carries a {@link StackTraceBuffer buffer} for the stack frames 
+ * that have been recorded during propagation, but not yet written into the object's stack trace member.
+ * 
+ * @author Ming Zhou
+ */
+public class ExceptionValue extends ObjectValue {
+
+	private StackTraceBuffer buffer;
+	
+	public ExceptionValue(MemoryArea memory, JType type) {
+		super(memory, type, false);
+	}
+	
+	/**
+	 * Get the buffer of the stack frames pending formatting. 
+	 * 
+	 * @param create if true, create the buffer if it doesn't exist yet.
+	 * @return null if the buffer doesn't exist and <code>create</code> is false.
+	 */
+	public StackTraceBuffer getStackTraceBuffer(boolean create) {
+		if (buffer == null && create) {
+			buffer = new StackTraceBuffer();
+		}
+		
+		return buffer;
+	}
+}
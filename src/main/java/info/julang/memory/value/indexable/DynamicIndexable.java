@@ -0,0 +1,104 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.memory.value.indexable;
+
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.memory.value.DynamicShape;
+import info.julang.memory.value.DynamicValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.StringValue;
+import info.julang.memory.value.ValueUtilities;
+import info.julang.memory.value.operable.InitArgs;
+import info.julang.typesystem.JArgumentException;
+import info.julang.typesystem.jclass.builtin.JDynamicType;
+
+/**
+ * An {@link IIndexable} that accesses the properties of a Dynamic object directly, instead of calling 
+ * the indexing methods on the object. This can only be used if the object is of Dynamic type itself.
+ * <p>
+ * If created for a member access site, such as <code>dyn.prop</code>, the indexer accesses the property
+ * through the {@link DynamicShape.Site site}, ignoring the index passed in.
+ * 
+ * @author Ming Zhou
+ */
+public class DynamicIndexable implements IIndexable {
+
+	private DynamicValue dv;
+	private DynamicShape.Site site;
+	private ThreadRuntime rt;
+	
+	/**
+	 * @param dv the Dynamic object.
+	 * @param site the site where the property is accessed. Can be null, in which case the key is taken from the index.
+	 */
+	public DynamicIndexable(DynamicValue dv, DynamicShape.Site site){
+		this.dv = dv;
+		this.site = site;
+	}
+	
+	@Override
+	public void initialize(ThreadRuntime rt, InitArgs args) {
+		this.rt = rt;
+	}
+
+	@Override
+	public int getLength() {
+		return dv.count();
+	}
+
+	@Override
+	public JValue getByIndex(JValue index) throws UnsupportedIndexTypeException {
+		JValue resVal = site != null ? dv.get(site) : dv.get(getKey(index));
+		if (resVal == null) {
+			resVal = JDynamicType.onPropertyNotFound(dv, site != null ? site.getName() : getKey(index));
+		}
+		
+		return resVal;
+	}
+
+	@Override
+	public JValue setByIndex(JValue index, JValue value) throws UnsupportedIndexTypeException {
+		// Since Dynamic stores the properties outside regular memory management (ObjectMemberStorage), 
+		// we must duplicate the value on heap.
+		JValue dupVal = ValueUtilities.replicateValue(value, null, rt.getHeap());
+		if (site != null) {
+			dv.set(site, dupVal);
+		} else {
+			dv.set(getKey(index), dupVal);
+		}
+		
+		return value;
+	}
+	
+	private String getKey(JValue index) {
+		// Key should be a string
+		StringValue keyVal = StringValue.dereference(index, false);
+		if (keyVal == null) {
+			throw new JArgumentException("key");
+		}
+		
+		return keyVal.getStringValue();
+	}
+}
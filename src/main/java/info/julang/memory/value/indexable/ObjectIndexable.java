@@ -31,6 +31,7 @@ import info.julang.memory.value.ObjectValue;
 import info.julang.memory.value.operable.InitArgs;
 import info.julang.typesystem.AnyType;
 import info.julang.typesystem.JType;
+import info.julang.typesystem.jclass.jufc.SystemTypeNames;
 
 /**
  * An indexable backed by a user-defined indexable script object, which implements 
@@ -79,9 +80,9 @@ public class ObjectIndexable implements IIndexable {
 		private SysUtilIndexableWrapper(ThreadRuntime rt, String fullClassName){
 			super(fullClassName, rt, ov, false);
 			AnyType atyp = AnyType.getInstance();
-			this.registerMethod(Method_getter, "at", false, new JType[]{ atyp });
-			this.registerMethod(Method_setter, "at", false, new JType[]{ atyp, atyp });
-			this.registerMethod(Method_size, "size", false, new JType[]{ });
+			this.registerInterfaceMethod(Method_getter, SystemTypeNames.System_Util_IIndexable, "at", new JType[]{ atyp });
+			this.registerInterfaceMethod(Method_setter, SystemTypeNames.System_Util_IIndexable, "at", new JType[]{ atyp, atyp });
+			this.registerInterfaceMethod(Method_size, SystemTypeNames.System_Util_IIndexable, "size", new JType[]{ });
 		}
 		
 		private JValue get(JValue index){
@@ -30,11 +30,16 @@ import info.julang.memory.value.HostedValue;
 import info.julang.memory.value.ObjectValue;
 import info.julang.memory.value.operable.InitArgs;
 import info.julang.typesystem.JType;
+import info.julang.typesystem.jclass.jufc.SystemTypeNames;
 import info.julang.typesystem.jclass.jufc.System.Collection.JList;
+import info.julang.typesystem.jclass.jufc.System.Collection.JMap;
 
 /**
  * An iterable backed by a user-defined script object which implements 
  * <code style="color:green">System.Util.IIterable</code>.
+ * <p>
+ * The built-in <code style="color:green">System.Collection.List</code>, <code style="color:green">Map</code> 
+ * and <code style="color:green">Set</code> are iterated natively without calling into script.
  * 
  * @author Ming Zhou
  */
@@ -55,15 +60,27 @@ public class ObjectIterable {
 		wrapper = new SysUtilIterableWrapper(rt, fullClassName);
 	}
 
-	public ObjectIterator getIterator() {
-		return JList.FullTypeName.equals(this.fullClassName) ? new DeferredListIterator() : new DeferredObjectIterator();
+	public IIterator getIterator() {
+		// Built-in containers are iterated natively, unless subclassed.
+		if (ov instanceof HostedValue) {
+			Object obj = ((HostedValue)ov).getHostedObject();
+			if (obj instanceof JList && JList.FullTypeName.equals(fullClassName)) {
+				return ((JList)obj).getIterator();
+			} else if (obj instanceof JMap && JMap.FullTypeName.equals(fullClassName)) {
+				return ((JMap)obj).getIterator(true);
+			} else if (obj instanceof JMap && JMap.SetTypeName.equals(fullClassName)) {
+				return ((JMap)obj).getIterator(false);
+			}
+		}
+		
+		return new DeferredObjectIterator();
 	}
 	
 	private class SysUtilIterableWrapper extends JSEObjectWrapper {
 		
 		private SysUtilIterableWrapper(ThreadRuntime rt, String fullClassName){
 			super(fullClassName, rt, ov, false);
-			this.registerMethod(Method_getIterator, "getIterator", false, new JType[]{ });
+			this.registerInterfaceMethod(Method_getIterator, SystemTypeNames.System_Util_IIterable, "getIterator", new JType[]{ });
 		}
 		
 		private ObjectValue getIterator(){
@@ -94,33 +111,4 @@ public class ObjectIterable {
 			// Now next() and hasNext() are ready to be called.
 		}
 	}
-	
-	// Special treatment for <code style="color:green">System.Collection.List</code>.
-	private class DeferredListIterator extends DeferredObjectIterator {
-		
-		private JList list;
-		private ThreadRuntime rt;
-		
-		public DeferredListIterator(){
-			super();
-		}
-
-		@Override
-		public void initialize(ThreadRuntime rt, InitArgs args){
-			super.initialize(rt, args);
-
-			this.rt = rt;
-			HostedValue hv = (HostedValue)ov;
-			list = (JList)hv.getHostedObject();
-			
-			if (args.shouldApplyLock()) {
-				list.applyWriteLock(rt);
-			}
-		}
-
-		@Override
-		public void dispose() {
-			list.releaseWriteLock(rt);
-		}
-	}
 }
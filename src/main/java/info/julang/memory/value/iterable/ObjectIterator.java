@@ -31,6 +31,7 @@ import info.julang.memory.value.JValue;
 import info.julang.memory.value.ObjectValue;
 import info.julang.memory.value.operable.InitArgs;
 import info.julang.typesystem.JType;
+import info.julang.typesystem.jclass.jufc.SystemTypeNames;
 
 /**
  * An iterator backed by a user-defined script object which implements <code style="color:green">System.Util.IIterator</code>.
@@ -75,8 +76,8 @@ public class ObjectIterator implements IIterator {
 		
 		private SysUtilIteratorWrapper(ThreadRuntime rt, String fullClassName){
 			super(fullClassName, rt, ov, false);
-			this.registerMethod(Method_next, "next", false, new JType[]{ });
-			this.registerMethod(Method_hasNext, "hasNext", false, new JType[]{ });
+			this.registerInterfaceMethod(Method_next, SystemTypeNames.System_Util_IIterator, "next", new JType[]{ });
+			this.registerInterfaceMethod(Method_hasNext, SystemTypeNames.System_Util_IIterator, "hasNext", new JType[]{ });
 		}
 		
 		private JValue next(){
@@ -0,0 +1,164 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import info.julang.interpretation.context.ContextType;
+
+/**
+ * A cache of the successful results of member access checks made on a type.
+ * <p>
+ * The result of {@link Accessibility#checkMemberAccess Accessibility.checkMemberAccess} only depends on the 
+ * type on which the member is accessed, the member's name, the type from whose context the access is made,
+ * and a couple of flags derived from the context. So for each type on which a member is accessed we keep a 
+ * cache keyed by the rest of these factors, with the defining type of the member as the verdict. 
+ * <p>
+ * Only the accesses that are granted are cached; a denied access throws, which is not on the hot path. Each 
+ * verdict records the stamps of both types involved and is discarded if either has since changed.
+ * <p>
+ * The caches of system types outlive the user-defined types which access their members, as the latter are 
+ * cleared when the engine is reset or recycled. Therefore the containing type is only weakly referenced by 
+ * the key, and the verdicts for the types that have been collected are purged upon the next caching.
+ * 
+ * @author Ming Zhou
+ */
+final class AccessVerdictCache {
+
+	private Map<Key, Verdict> verdicts = new ConcurrentHashMap<Key, Verdict>();
+	
+	private ReferenceQueue<ICompoundType> collected = new ReferenceQueue<ICompoundType>();
+	
+	/**
+	 * Get the defining type for the member access.
+	 * 
+	 * @return null if the access has not been checked yet, or the cached verdict is out of date.
+	 */
+	ICompoundType get(
+		ICompoundType declaredType, String memberName, ICompoundType containingType, 
+		ContextType contextType, boolean isStatic, boolean checkPrivate){
+		Verdict v = verdicts.get(new Key(memberName, containingType, contextType, isStatic, checkPrivate, null));
+		if (v == null) {
+			return null;
+		}
+		
+		if (v.declaredStamp != declaredType.getStamp() 
+			|| (containingType != null && v.containingStamp != containingType.getStamp())) {
+			return null;
+		}
+		
+		return v.definingType;
+	}
+	
+	void put(
+		ICompoundType declaredType, String memberName, ICompoundType containingType, 
+		ContextType contextType, boolean isStatic, boolean checkPrivate, ICompoundType definingType){
+		purge();
+		verdicts.put(
+			new Key(memberName, containingType, contextType, isStatic, checkPrivate, collected), 
+			new Verdict(
+				definingType, 
+				declaredType.getStamp(), 
+				containingType != null ? containingType.getStamp() : 0));
+	}
+	
+	// Remove the verdicts for the containing types that have been garbage-collected.
+	private void purge(){
+		Object ref;
+		while ((ref = collected.poll()) != null) {
+			verdicts.remove(ref);
+		}
+	}
+	
+	private static class Verdict {
+		
+		private final ICompoundType definingType;
+		private final int declaredStamp;
+		private final int containingStamp;
+		
+		private Verdict(ICompoundType definingType, int declaredStamp, int containingStamp){
+			this.definingType = definingType;
+			this.declaredStamp = declaredStamp;
+			this.containingStamp = containingStamp;
+		}
+	}
+	
+	private static class Key extends WeakReference<ICompoundType> {
+		
+		private final String memberName;
+		private final boolean hasContainingType;
+		private final int containingTypeHash;
+		private final ContextType contextType;
+		private final boolean isStatic;
+		private final boolean checkPrivate;
+		
+		private Key(
+			String memberName, ICompoundType containingType, ContextType contextType, boolean isStatic, boolean checkPrivate,
+			ReferenceQueue<ICompoundType> queue){
+			super(containingType, queue);
+			this.memberName = memberName;
+			this.hasContainingType = containingType != null;
+			// The containing type is compared by reference, as a reloaded type may have the same name.
+			this.containingTypeHash = System.identityHashCode(containingType);
+			this.contextType = contextType;
+			this.isStatic = isStatic;
+			this.checkPrivate = checkPrivate;
+		}
+
+		@Override
+		public int hashCode() {
+			final int prime = 31;
+			int result = memberName.hashCode();
+			result = prime * result + containingTypeHash;
+			result = prime * result + (contextType == null ? 0 : contextType.hashCode());
+			result = prime * result + (isStatic ? 1 : 0);
+			result = prime * result + (checkPrivate ? 2 : 0);
+			return result;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			Key other = (Key) obj;
+			ICompoundType containingType = get();
+			if (hasContainingType != other.hasContainingType 
+				|| (hasContainingType && containingType == null) // Collected, so only equal to itself
+				|| containingType != other.get()) {
+				return false;
+			}
+			
+			return contextType == other.contextType
+				&& isStatic == other.isStatic
+				&& checkPrivate == other.checkPrivate
+				&& memberName.equals(other.memberName);
+		}
+	}
+}
@@ -227,10 +227,29 @@ public enum Accessibility {
 		ContextType contextType, 
 		boolean isStatic, 
 		boolean throwIfNotFound){
+		boolean checkPrivate = false;
+		if(context != null && context instanceof MethodContext && context.getContextType() == ContextType.IMETHOD){
+			MethodContext mc = (MethodContext)context;
+			checkPrivate = mc.getExecutionContextType() == ExecutionContextType.InMethodBody;
+		}
+		
+		// Try the verdict of a previous check first
+		AccessVerdictCache cache = getAccessVerdictCache(declaredType, containingType);
+		if (cache != null) {
+			ICompoundType cached = cache.get(declaredType, memberName, containingType, contextType, isStatic, checkPrivate);
+			if (cached != null) {
+				return cached;
+			}
+		}
+		
 		ICompoundType ret = checkMemberAccess0(
-			declaredType, memberName, containingType, context, contextType, isStatic);
+			declaredType, memberName, containingType, checkPrivate, contextType, isStatic);
 		
 		if (ret != null) {
+			if (cache != null) {
+				cache.put(declaredType, memberName, containingType, contextType, isStatic, checkPrivate, ret);
+			}
+			
 			return ret;
 		}
 		
@@ -251,11 +270,22 @@ public enum Accessibility {
 		}
 	}
 	
+	// The verdicts can be cached only if both types involved have been sealed.
+	private static AccessVerdictCache getAccessVerdictCache(ICompoundType declaredType, ICompoundType containingType) {
+		if (declaredType instanceof JInterfaceType 
+			&& (containingType == null 
+				|| containingType instanceof JInterfaceType && ((JInterfaceType)containingType).isSealed())) {
+			return ((JInterfaceType)declaredType).getAccessVerdictCache();
+		}
+		
+		return null;
+	}
+	
 	private static ICompoundType checkMemberAccess0(
 		ICompoundType declaredType, 
 		String memberName, 
 		ICompoundType containingType, 
-		Context context, 
+		boolean checkPrivate, 
 		ContextType contextType, 
 		boolean isStatic) {
 		
@@ -266,12 +296,6 @@ public enum Accessibility {
 		// want to go through the inheritance chain if the target member is private, in which case only the 
 		// member of current class should be accessed.
 		if (containingType != null && declaredType.isDerivedFrom(containingType, false)){
-			boolean checkPrivate = false;
-			if(context != null && context instanceof MethodContext && context.getContextType() == ContextType.IMETHOD){
-				MethodContext mc = (MethodContext)context;
-				checkPrivate = mc.getExecutionContextType() == ExecutionContextType.InMethodBody;
-			}
-			
 			if (checkPrivate){
 				cmm = ((JClassType)containingType).getMembers(isStatic);// FIXME - may not be class.
 				cml = cmm.getLoadedMemberByName(memberName).getFirst(); // All members have same accessibility.
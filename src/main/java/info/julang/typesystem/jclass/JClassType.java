@@ -24,13 +24,17 @@ SOFTWARE.
 
 package info.julang.typesystem.jclass;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import info.julang.execution.Argument;
 import info.julang.execution.namespace.NamespacePool;
 import info.julang.execution.threading.ThreadRuntime;
 import info.julang.external.interfaces.JValueKind;
 import info.julang.interpretation.context.Context;
+import info.julang.interpretation.errorhandling.KnownJSException;
 import info.julang.interpretation.internal.NewObjExecutor;
 import info.julang.interpretation.syntax.ParsedTypeName;
 import info.julang.memory.value.HostedValue;
@@ -41,6 +45,7 @@ import info.julang.typesystem.PlatformType;
 import info.julang.typesystem.conversion.Convertibility;
 import info.julang.typesystem.jclass.builtin.JAttributeType;
 import info.julang.typesystem.jclass.builtin.JEnumType;
+import info.julang.typesystem.jclass.builtin.JMethodType;
 import info.julang.typesystem.jclass.builtin.JObjectType;
 import info.julang.typesystem.jclass.jufc.System.ScriptType;
 import info.julang.util.OneOrMoreList;
@@ -89,6 +94,15 @@ public class JClassType extends JInterfaceType implements IMapped {
 	
 	private JClassConstructorMember[] constructorArray;
 	
+	// key = FQN of interface, value = itable
+	private volatile Map<String, JMethodType[]> itables;
+	
+	// key = FQN of interface, value = the interface implemented by this class
+	private volatile Map<String, JInterfaceType> implementedInterfaces;
+	
+	// 0: not determined yet; 1: derived from System.Exception; -1: otherwise
+	private volatile int exceptionKind;
+	
 	/**
 	 * A flag used to mark the state of initialization. As long as this field is set to true, the class
 	 * is free to freeze its properties and generate some others with permanent effect. Set this flag
@@ -281,6 +295,10 @@ public class JClassType extends JInterfaceType implements IMapped {
 	 */
 	@Override
 	public boolean isDerivedFrom(ICompoundType potentialParent, boolean includeIdentical){		
+		if (isSealed()) {
+			return hasSupertype(potentialParent, includeIdentical);
+		}
+		
 		JClassType thisType = this;
 		
 		// 1) Check if it is the same type
@@ -309,6 +327,119 @@ public class JClassType extends JInterfaceType implements IMapped {
 		boolean result = potentialChild.isDerivedFrom(this, includeIdentical);
 		return result || super.isDerivedFrom(this, false);
 	}
+	
+	/**
+	 * Get the interface method table (itable) of this class for the given interface. The i-th element of the 
+	 * table is the method of this class that implements the interface method at {@link 
+	 * JInterfaceType#getMethodSlot(String, JType[]) slot} i, which is either defined by this class, or inherited 
+	 * from an ancestor class. 
+	 * <p>
+	 * The table is built upon the first request after this class is sealed, and reused afterwards. This saves
+	 * the cost of resolving the method by name and signature each time an interface method is to be called
+	 * on an object of this class.
+	 * 
+	 * @param itf an interface implemented by this class.
+	 * @return the itable. An element is null if the method is not implemented, which can only happen if this 
+	 * class is abstract.
+	 */
+	public JMethodType[] getInterfaceMethodTable(JInterfaceType itf){
+		if (!isSealed()) {
+			return buildInterfaceMethodTable(itf);
+		}
+		
+		if (itables == null) {
+			synchronized(this){
+				if (itables == null) {
+					itables = new ConcurrentHashMap<String, JMethodType[]>();
+				}
+			}
+		}
+		
+		JMethodType[] itable = itables.get(itf.getName());
+		if (itable == null) {
+			itable = buildInterfaceMethodTable(itf);
+			itables.put(itf.getName(), itable);
+		}
+		
+		return itable;
+	}
+	
+	/**
+	 * Whether this class is <code>System.Exception</code> or derived from it. The result is cached once this class 
+	 * is sealed.
+	 */
+	public boolean isExceptionType(){
+		int kind = exceptionKind;
+		if (kind != 0) {
+			return kind > 0;
+		}
+		
+		String exName = KnownJSException.Exception.getFullName();
+		boolean res = getName().equals(exName) || hasAncestor(exName, true);
+		if (isSealed()) {
+			exceptionKind = res ? 1 : -1;
+		}
+		
+		return res;
+	}
+	
+	/**
+	 * Find an interface implemented by this class, either directly or through its ancestors. The result 
+	 * is cached once this class is sealed.
+	 * 
+	 * @param fullName the full name of the interface.
+	 * @return null if this class doesn't implement the interface.
+	 */
+	public JInterfaceType getImplementedInterface(String fullName){
+		Map<String, JInterfaceType> cache = implementedInterfaces;
+		JInterfaceType itf = cache != null ? cache.get(fullName) : null;
+		if (itf != null) {
+			return itf;
+		}
+		
+		for (JInterfaceType anc : getAncestors(true)) {
+			if (!anc.isClassType() && anc.getName().equals(fullName)) {
+				itf = anc;
+				break;
+			}
+		}
+		
+		if (itf != null && isSealed()) {
+			if (cache == null) {
+				synchronized(this){
+					if (implementedInterfaces == null) {
+						implementedInterfaces = new ConcurrentHashMap<String, JInterfaceType>();
+					}
+					cache = implementedInterfaces;
+				}
+			}
+			
+			cache.put(fullName, itf);
+		}
+		
+		return itf;
+	}
+	
+	private JMethodType[] buildInterfaceMethodTable(JInterfaceType itf){
+		// All the instance members visible on this class, with overridden ones replaced
+		Map<MemberKey, JClassMember> impls = new HashMap<MemberKey, JClassMember>();
+		for (JClassMember jcm : getMembers(false).getClassMembers()) {
+			if (jcm.getMemberType() == MemberType.METHOD && jcm.getAccessibility() == Accessibility.PUBLIC) {
+				impls.put(jcm.getKey(), jcm);
+			}
+		}
+		
+		JClassMember[] imems = itf.getClassInstanceMembers();
+		JMethodType[] itable = new JMethodType[imems.length];
+		for (int i = 0; i < imems.length; i++) {
+			JClassMember impl = impls.get(imems[i].getKey());
+			if (impl != null) {
+				itable[i] = ((JClassMethodMember)impl).getMethodType();
+			}
+		}
+		
+		return itable;
+	}
 
 	@Override
 	public NamespacePool getNamespacePool() {
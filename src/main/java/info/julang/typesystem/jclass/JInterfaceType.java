@@ -25,12 +25,14 @@ SOFTWARE.
 package info.julang.typesystem.jclass;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
 
 import info.julang.execution.namespace.NamespacePool;
 import info.julang.external.interfaces.JValueKind;
@@ -108,6 +110,14 @@ public class JInterfaceType implements ICompoundType {
 	
 	private Map<String, Boolean> ancestorSet; // key = FQN of type, value = true (class), false (interface)
 	
+	private volatile boolean sealed;
+	
+	private volatile SupertypeTable supertypes;
+	
+	private volatile AccessVerdictCache accessVerdicts;
+	
+	private volatile Map<SlotKey, Integer> methodSlots;
+	
 	//----------------------- Constructors -----------------------//
 	
 	/**
@@ -220,10 +230,12 @@ public class JInterfaceType implements ICompoundType {
 	// [LAZY LOADING]
 	@Override
 	public JClassMember[] getClassInstanceMembers(){
-		if (interfaceMembers == null) {
+		if (interfaceMemberArray == null) {
             synchronized(this){
                 if(interfaceMembers == null){
                     interfaceMembers = getInterfaceMembers();
+                }
+                if(interfaceMemberArray == null){
                     interfaceMemberArray = interfaceMembers.getAllMembers();
                 }
             }
@@ -232,6 +244,95 @@ public class JInterfaceType implements ICompoundType {
 		return interfaceMemberArray;
 	}
 	
+	/**
+	 * Get the dispatch slot of an interface method. The slot is the index of the method in the array returned 
+	 * by {@link #getClassInstanceMembers()}, which includes the methods inherited from the ancestor interfaces.
+	 * It can be used to find the implementing method from a class's {@link 
+	 * JClassType#getInterfaceMethodTable(JInterfaceType) interface method table}.
+	 * 
+	 * <p>
+	 * The slot is cached once this interface is sealed.
+	 * 
+	 * @param name the name of the method
+	 * @param paramTypes the types of parameters, without 'this'
+	 * @return -1 if the method is not found on this interface.
+	 */
+	public int getMethodSlot(String name, JType[] paramTypes){
+		if (!sealed) {
+			return findMethodSlot(name, paramTypes);
+		}
+		
+		Map<SlotKey, Integer> cache = methodSlots;
+		if (cache == null) {
+			synchronized(this){
+				if (methodSlots == null) {
+					methodSlots = new ConcurrentHashMap<SlotKey, Integer>();
+				}
+				cache = methodSlots;
+			}
+		}
+		
+		SlotKey key = new SlotKey(name, paramTypes);
+		Integer slot = cache.get(key);
+		if (slot == null) {
+			slot = findMethodSlot(name, paramTypes);
+			cache.put(key, slot);
+		}
+		
+		return slot;
+	}
+	
+	private int findMethodSlot(String name, JType[] paramTypes){
+		JClassMember[] mems = getClassInstanceMembers();
+		for (int i = 0; i < mems.length; i++) {
+			JClassMember mem = mems[i];
+			if (mem.getMemberType() == MemberType.METHOD && mem.getName().equals(name)) {
+				JParameter[] params = ((JClassMethodMember)mem).getMethodType().getParams();
+				if (params.length == paramTypes.length + 1) { // Skip 'this'
+					boolean matched = true;
+					for (int j = 0; j < paramTypes.length; j++) {
+						if (!paramTypes[j].equals(params[j + 1].getType())) {
+							matched = false;
+							break;
+						}
+					}
+					
+					if (matched) {
+						return i;
+					}
+				}
+			}
+		}
+		
+		return -1;
+	}
+	
+	private static class SlotKey {
+		
+		private final String name;
+		private final JType[] paramTypes;
+		
+		private SlotKey(String name, JType[] paramTypes){
+			this.name = name;
+			this.paramTypes = paramTypes;
+		}
+		
+		@Override
+		public int hashCode() {
+			return name.hashCode() * 31 + Arrays.hashCode(paramTypes);
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof SlotKey))
+				return false;
+			SlotKey other = (SlotKey) obj;
+			return name.equals(other.name) && Arrays.equals(paramTypes, other.paramTypes);
+		}
+	}
+	
 	// no static member on interface
 	@Override
 	public JClassMember getStaticMemberByName(String name) {
@@ -272,6 +373,10 @@ public class JInterfaceType implements ICompoundType {
 	 */
 	@Override
 	public boolean isDerivedFrom(ICompoundType potentialParent, boolean includeIdentical){		
+		if (sealed) {
+			return hasSupertype(potentialParent, includeIdentical);
+		}
+		
 		JInterfaceType thisType = this;
 		if(thisType.equals(potentialParent)){
 			if(includeIdentical){
@@ -296,6 +401,104 @@ public class JInterfaceType implements ICompoundType {
 	public boolean canDerive(ICompoundType potentialChild, boolean includeIdentical){
 		return potentialChild.isDerivedFrom(this, includeIdentical);
 	}
+	
+	//------------------------------ Supertype table ------------------------------//
+	
+	/*
+	 * Walking the type hierarchy for every derivation check is expensive, and such checks are performed 
+	 * on each typed assignment, argument passing, type cast and catch clause matching. Once a type is
+	 * sealed, however, its hierarchy will never change, so we can flatten it into a table of all the 
+	 * types it derives from, following the same rules as the hierarchy walk in isDerivedFrom(). Since 
+	 * compound types are identified by name, the table is keyed by fully qualified names.
+	 * 
+	 * The table is built lazily upon the first check after sealing, and is rebuilt if the type's stamp
+	 * changes.
+	 */
+	
+	private static class SupertypeTable {
+		private final int stamp;
+		private final Set<String> names;
+		
+		private SupertypeTable(int stamp, Set<String> names){
+			this.stamp = stamp;
+			this.names = names;
+		}
+	}
+	
+	/**
+	 * Mark this type as sealed. After this is called, the type hierarchy is considered final.
+	 * Only called by the builder.
+	 */
+	void markSealed(){
+		sealed = true;
+	}
+	
+	/**
+	 * Whether this type has been sealed. The derivation check can be performed against a 
+	 * precomputed table for a sealed type.
+	 */
+	protected boolean isSealed(){
+		return sealed;
+	}
+	
+	/**
+	 * Check if the given type is a supertype of this one, using the precomputed table. 
+	 * This must be called only if this type {@link #isSealed() is sealed}.
+	 */
+	protected boolean hasSupertype(ICompoundType potentialParent, boolean includeIdentical){
+		String pname = potentialParent.getName();
+		if (name.equals(pname)) {
+			return includeIdentical;
+		}
+		
+		SupertypeTable table = supertypes;
+		if (table == null || table.stamp != getStamp()) {
+			Set<String> names = new HashSet<String>();
+			collectSupertypes(this, names);
+			supertypes = table = new SupertypeTable(getStamp(), names);
+		}
+		
+		return table.names.contains(pname);
+	}
+	
+	/**
+	 * Get the cache of member access verdicts for the members accessed on this type. 
+	 * 
+	 * @return null if this type is not sealed yet, in which case the verdicts must not be cached.
+	 */
+	AccessVerdictCache getAccessVerdictCache(){
+		if (!sealed) {
+			return null;
+		}
+		
+		AccessVerdictCache cache = accessVerdicts;
+		if (cache == null) {
+			synchronized(this){
+				if (accessVerdicts == null) {
+					accessVerdicts = new AccessVerdictCache();
+				}
+				cache = accessVerdicts;
+			}
+		}
+		
+		return cache;
+	}
+	
+	// Collect the names of all the types that would be reached by a hierarchy walk from the given type.
+	private static void collectSupertypes(JInterfaceType type, Set<String> names){
+		if (type.isClassType()) {
+			JClassType parent = type.getParent();
+			if (parent != null && names.add(parent.getName())) {
+				collectSupertypes(parent, names);
+			}
+		}
+		
+		for (JInterfaceType jit : type.getInterfaces()) {
+			if (names.add(jit.getName())) {
+				collectSupertypes(jit, names);
+			}
+		}
+	}
 
 	@Override
 	public NamespacePool getNamespacePool() {
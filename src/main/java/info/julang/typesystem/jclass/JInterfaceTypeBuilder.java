@@ -213,6 +213,9 @@ public class JInterfaceTypeBuilder implements ICompoundTypeBuilder {
 			IDeferredBuildable deferred = (IDeferredBuildable) compoundType;
 			deferred.preInitialize();
 		}
+		if (sealed) {
+			compoundType.markSealed();
+		}
 		return compoundType;
 	}
 	
@@ -224,6 +227,7 @@ public class JInterfaceTypeBuilder implements ICompoundTypeBuilder {
 			IDeferredBuildable deferred = (IDeferredBuildable) compoundType;
 			deferred.preInitialize();
 		}
+		compoundType.markSealed();
 	}
 	
 	@Override
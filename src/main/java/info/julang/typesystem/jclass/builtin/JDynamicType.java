@@ -25,7 +25,7 @@ SOFTWARE.
 package info.julang.typesystem.jclass.builtin;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -396,11 +396,7 @@ public class JDynamicType extends JClassType implements IDeferredBuildable {
 			DynamicValue dv = (DynamicValue)ArgumentUtil.getThis(args).getValue();
 			JValue resVal = dv.get(keyStr);
 			if (resVal == null) {
-				if (dv.shouldThrowIfNotExist()) {
-					throw new UnknownPropertyException(dv, keyStr);
-				} else {
-					resVal = RefValue.NULL;
-				}
+				resVal = onPropertyNotFound(dv, keyStr);
 			}
 
 			return new Result(resVal);
@@ -492,7 +488,9 @@ public class JDynamicType extends JClassType implements IDeferredBuildable {
 			// First put all key-value pairs to a map. We use this staging area to 
 			// 1) ensure all-or-none initialization
 			// 2) de-duplicate keys (last wins)
-			Map<String, JValue> map = new HashMap<String, JValue>();
+			// The keys are added to the object in textual order, so that the objects created by the same
+			// initializer share the same shape.
+			Map<String, JValue> map = new LinkedHashMap<String, JValue>();
 			
 			int len = val.getLength();
 			for (int i = 0; i < len; i++) {
@@ -779,6 +777,22 @@ public class JDynamicType extends JClassType implements IDeferredBuildable {
 		return BuiltinTypes.DYNAMIC;
 	}
 	
+	/**
+	 * Get the result of retrieving a property which is not defined on the given object.
+	 * 
+	 * @param dv the Dynamic object.
+	 * @param key the name of the property.
+	 * @return {@link RefValue#NULL}, unless the object is configured to throw.
+	 * @throws JSERuntimeException if the object is configured to throw on undefined properties.
+	 */
+	public static JValue onPropertyNotFound(DynamicValue dv, String key) {
+		if (dv.shouldThrowIfNotExist()) {
+			throw new UnknownPropertyException(dv, key);
+		}
+		
+		return RefValue.NULL;
+	}
+	
 	// Like UnknownMemberException, this is also translated to Julian's System.UnknownMemberException
 	private static class UnknownPropertyException extends JSERuntimeException {
 		
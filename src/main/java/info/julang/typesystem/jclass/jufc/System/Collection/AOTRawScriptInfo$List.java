@@ -30,6 +30,11 @@ public class AOTRawScriptInfo$List extends RawScriptInfo {
         m_classes = new ArrayList<RawClassInfo>();
         m_classes.add(new RawClassInfo("List", new AOTClassDeclInfo_List (this)));
         m_classes.add(new RawClassInfo("ListIterator", new AOTClassDeclInfo_ListIterator (this)));
+        m_classes.add(new RawClassInfo("IntList", new AOTClassDeclInfo_IntList (this)));
+        m_classes.add(new RawClassInfo("FloatList", new AOTClassDeclInfo_FloatList (this)));
+        m_classes.add(new RawClassInfo("ByteList", new AOTClassDeclInfo_ByteList (this)));
+        m_classes.add(new RawClassInfo("CharList", new AOTClassDeclInfo_CharList (this)));
+        m_classes.add(new RawClassInfo("PrimitiveListIterator", new AOTClassDeclInfo_PrimitiveListIterator (this)));
 
         m_requirements = new ArrayList<RequirementInfo>();
         m_requirements.add(new RequirementInfo("System", null));
@@ -171,4 +176,302 @@ public class AOTRawScriptInfo$List extends RawScriptInfo {
         }
 
     }
+    
+        
+    class AOTClassDeclInfo_IntList extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_IntList(RawScriptInfo minfo) {
+            super(minfo);
+            
+            m_parentNames.add(ParsedTypeName.makeFromFullName("Container"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIndexable"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterable"));
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.IntList");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "IntList";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.PUBLIC;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
+    
+        
+    class AOTClassDeclInfo_FloatList extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_FloatList(RawScriptInfo minfo) {
+            super(minfo);
+            
+            m_parentNames.add(ParsedTypeName.makeFromFullName("Container"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIndexable"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterable"));
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.FloatList");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "FloatList";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.PUBLIC;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
+    
+        
+    class AOTClassDeclInfo_ByteList extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_ByteList(RawScriptInfo minfo) {
+            super(minfo);
+            
+            m_parentNames.add(ParsedTypeName.makeFromFullName("Container"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIndexable"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterable"));
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.ByteList");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "ByteList";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.PUBLIC;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
+    
+        
+    class AOTClassDeclInfo_CharList extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_CharList(RawScriptInfo minfo) {
+            super(minfo);
+            
+            m_parentNames.add(ParsedTypeName.makeFromFullName("Container"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIndexable"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterable"));
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.CharList");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "CharList";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.PUBLIC;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
+    
+        
+    class AOTClassDeclInfo_PrimitiveListIterator extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_PrimitiveListIterator(RawScriptInfo minfo) {
+            super(minfo);
+            
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterator"));
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.PrimitiveListIterator");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "PrimitiveListIterator";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.MODULE;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
 }
\ No newline at end of file
@@ -30,6 +30,8 @@ public class AOTRawScriptInfo$Map extends RawScriptInfo {
         m_classes = new ArrayList<RawClassInfo>();
         m_classes.add(new RawClassInfo("Map", new AOTClassDeclInfo_Map (this)));
         m_classes.add(new RawClassInfo("MapIterator", new AOTClassDeclInfo_MapIterator (this)));
+        m_classes.add(new RawClassInfo("ConcurrentMap", new AOTClassDeclInfo_ConcurrentMap (this)));
+        m_classes.add(new RawClassInfo("ConcurrentMapIterator", new AOTClassDeclInfo_ConcurrentMapIterator (this)));
         m_classes.add(new RawClassInfo("Set", new AOTClassDeclInfo_Set (this)));
         m_classes.add(new RawClassInfo("SetIterator", new AOTClassDeclInfo_SetIterator (this)));
         m_classes.add(new RawClassInfo("HashKey", new AOTClassDeclInfo_HashKey (this)));
@@ -177,6 +179,125 @@ public class AOTRawScriptInfo$Map extends RawScriptInfo {
     }
     
         
+    class AOTClassDeclInfo_ConcurrentMap extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_ConcurrentMap(RawScriptInfo minfo) {
+            super(minfo);
+            
+            m_parentNames.add(ParsedTypeName.makeFromFullName("Container"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIndexable"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterable"));
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IMapInitializable"));
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.ConcurrentMap");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "ConcurrentMap";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.PUBLIC;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
+    
+        
+    class AOTClassDeclInfo_ConcurrentMapIterator extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_ConcurrentMapIterator(RawScriptInfo minfo) {
+            super(minfo);
+            
+            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterator"));
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.ConcurrentMapIterator");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "ConcurrentMapIterator";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.MODULE;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
+    
+        
     class AOTClassDeclInfo_Set extends LazyClassDeclInfo {
 
         public AOTClassDeclInfo_Set(RawScriptInfo minfo) {
@@ -29,6 +29,7 @@ public class AOTRawScriptInfo$Queue extends RawScriptInfo {
         
         m_classes = new ArrayList<RawClassInfo>();
         m_classes.add(new RawClassInfo("PQueue", new AOTClassDeclInfo_PQueue (this)));
+        m_classes.add(new RawClassInfo("PBlockingQueue", new AOTClassDeclInfo_PBlockingQueue (this)));
         m_classes.add(new RawClassInfo("Queue", new AOTClassDeclInfo_Queue (this)));
         m_classes.add(new RawClassInfo("BlockingQueue", new AOTClassDeclInfo_BlockingQueue (this)));
 
@@ -113,6 +114,63 @@ public class AOTRawScriptInfo$Queue extends RawScriptInfo {
     }
     
         
+    class AOTClassDeclInfo_PBlockingQueue extends LazyClassDeclInfo {
+
+        public AOTClassDeclInfo_PBlockingQueue(RawScriptInfo minfo) {
+            super(minfo);
+            
+        }
+
+        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
+        private FQName m_fullName = new FQName("System.Collection.PBlockingQueue");
+        
+        public List<ParsedTypeName> getParentTypes(){
+            return m_parentNames;
+        }
+        
+        public FQName getFQName() {
+            return m_fullName;
+        }
+        
+        public String getName(){
+            return "PBlockingQueue";
+        }
+
+        public ClassSubtype getSubtype() {
+            return ClassSubtype.CLASS;
+        }
+        
+        public boolean isFinal() {
+            return false;
+        }
+        
+        public boolean isConst() {
+            return false;
+        }
+        
+        public boolean isHosted() {
+            return false;
+        }
+        
+        public boolean isAbstract() {
+            return false;
+        }
+
+        public boolean isStatic() {
+            return false;
+        }
+
+        public Accessibility getAccessibility() {
+            return Accessibility.MODULE;
+        }
+        
+        public boolean isAccessibilitySet(){
+            return true;
+        }
+
+    }
+    
+        
     class AOTClassDeclInfo_Queue extends LazyClassDeclInfo {
 
         public AOTClassDeclInfo_Queue(RawScriptInfo minfo) {
@@ -0,0 +1,136 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import java.util.Map;
+
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.execution.threading.ThreadRuntimeHelper;
+import info.julang.external.interfaces.JValueKind;
+import info.julang.memory.value.BasicValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.ObjectValue;
+import info.julang.typesystem.JType;
+import info.julang.typesystem.basic.IntType;
+import info.julang.typesystem.jclass.ClassMemberLoaded;
+import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.builtin.JObjectType.MethodNames;
+import info.julang.typesystem.jclass.builtin.JStringType;
+import info.julang.util.OneOrMoreList;
+
+/**
+ * Converts a key passed from Julian to the key used by Java's hash-based collections.
+ * <p>
+ * Calling back into Julian is only necessary if the key type has its own hashCode() or equals(). For keys 
+ * of primitive types (with bytes converted to integers) and string, and objects of classes which inherit both methods from Object, the key 
+ * value itself is returned, since its Java counterparts of hashCode() and equals(Object) have the same 
+ * semantics. Otherwise the key is wrapped in <code style="color:green">System.Collection.HashKey</code>
+ * and returned as a {@link HashKeyWrapper}.
+ * <p>
+ * Each collection should own a converter, which remembers the key type it checked last.
+ * 
+ * @author Ming Zhou
+ */
+class HashKeyConverter {
+
+	// The key type last checked for native hashing. Most collections have keys of a single type.
+	private KeyTypeVerdict lastVerdict;
+	
+	private static class KeyTypeVerdict {
+		private final JClassType type;
+		private final int stamp;
+		private final boolean nativeHashing;
+		
+		private KeyTypeVerdict(JClassType type, boolean nativeHashing){
+			this.type = type;
+			this.stamp = type.getStamp();
+			this.nativeHashing = nativeHashing;
+		}
+	}
+	
+	/**
+	 * Convert the key passed from Julian.
+	 * 
+	 * @param rt the runtime of current thread.
+	 * @param key the original key. Must not be null.
+	 * @return either a {@link JValue}, or a {@link HashKeyWrapper}.
+	 */
+	Object toHashKey(ThreadRuntime rt, JValue key){
+		key = key.deref();
+		if (key.isBasic()) {
+			// Take a copy so that the key remains immutable. A byte is equal to the integer of the same value
+			// in Julian, so it must be converted to be hashed and compared as an integer.
+			JType typ = key.getKind() == JValueKind.BYTE ? IntType.getInstance() : key.getType();
+			return ((BasicValue) key).replicateAs(typ, rt.getHeap());
+		}
+		
+		ObjectValue ov = (ObjectValue) key;
+		if (ov.getType() == JStringType.getInstance() || useNativeHashing(ov.getType())) {
+			return ov;
+		}
+		
+		ObjectValue hk = ThreadRuntimeHelper.instantiateSystemType(rt, HashKeyWrapper.FullName, new JValue[]{ ov });
+		return new HashKeyWrapper(rt, hk);
+	}
+	
+	/**
+	 * Get the original key as passed in Julian.
+	 * <p>
+	 * For a {@link HashKeyWrapper} this calls into Julian with the runtime of the thread which created the key.
+	 * 
+	 * @param k a key returned by {@link #toHashKey(ThreadRuntime, JValue)}.
+	 */
+	static JValue fromHashKey(Object k){
+		return k instanceof HashKeyWrapper ? ((HashKeyWrapper) k).getKey() : (JValue) k;
+	}
+	
+	private boolean useNativeHashing(JType typ){
+		if (!(typ instanceof JClassType)) {
+			return false;
+		}
+		
+		JClassType jct = (JClassType) typ;
+		KeyTypeVerdict verdict = lastVerdict;
+		if (verdict == null || verdict.type != jct || verdict.stamp != jct.getStamp()) {
+			verdict = new KeyTypeVerdict(jct, !overridesEquality(jct));
+			lastVerdict = verdict;
+		}
+		
+		return verdict.nativeHashing;
+	}
+	
+	// Whether hashCode() or equals() is defined by any class other than Object in the hierarchy.
+	private static boolean overridesEquality(JClassType jct){
+		Map<String, OneOrMoreList<ClassMemberLoaded>>[] mems = jct.getMembers(false).getDefinedMembers();
+		// The last one is Object, which provides the default implementation based on reference.
+		for (int i = 0; i < mems.length - 1; i++) {
+			if (mems[i].containsKey(MethodNames.hashCode.name()) || mems[i].containsKey(MethodNames.equals.name())) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+}
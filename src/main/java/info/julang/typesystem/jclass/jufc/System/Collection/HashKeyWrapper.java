@@ -104,6 +104,11 @@ public class HashKeyWrapper extends JSEObjectWrapper {
 	 */
 	@Override
 	public boolean equals(Object another){
+		if (!(another instanceof HashKeyWrapper)) {
+			// A key hashed natively
+			return false;
+		}
+		
 		JValue jval = ((HashKeyWrapper)another).getObjectValue(); // The casting is guaranteed by the internal usage, otherwise it is a bug.
 		return equalsTo(jval);
 	}
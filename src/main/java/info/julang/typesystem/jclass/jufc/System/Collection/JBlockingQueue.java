@@ -0,0 +1,249 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import info.julang.execution.Argument;
+import info.julang.execution.threading.JThread;
+import info.julang.execution.threading.JThreadAbortedException;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.hosting.HostedMethodProviderFactory;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.CtorNativeExecutor;
+import info.julang.hosting.execution.InstanceNativeExecutor;
+import info.julang.interpretation.JIllegalStateException;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.IntValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.RefValue;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.memory.value.VoidValue;
+
+/**
+ * The native implementation of <code style="color:green">System.Collection.BlockingQueue</code>.
+ * <p>
+ * The elements are kept in a {@link LinkedBlockingQueue}, so that the threads waiting to pull from, or to 
+ * put into, the queue are parked by the platform without going through any script-level lock.
+ * 
+ * @author Ming Zhou
+ */
+public class JBlockingQueue {
+	
+	public final static String FullTypeName = "System.Collection.BlockingQueue";
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+
+	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FullTypeName){
+
+		@Override
+		protected void implementProvider(SimpleHostedMethodProvider provider) {
+			provider
+				.add("ctor", new InitExecutor())
+				.add("put", new PutExecutor())
+				.add("offer", new OfferExecutor())
+				.add("poll", new PollExecutor())
+				.add("drainTo", new DrainToExecutor())
+				.add("size", new SizeExecutor());
+		}
+		
+	};
+	
+	//----------------- native executors -----------------//
+	
+	private static class InitExecutor extends CtorNativeExecutor<JBlockingQueue> {
+
+		@Override
+		protected void initialize(ThreadRuntime rt, HostedValue hvalue, JBlockingQueue jq, Argument[] args) throws Exception {
+			jq.init(getInt(args, 0));
+		}
+		
+	}
+	
+	private static class PutExecutor extends InstanceNativeExecutor<JBlockingQueue> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JBlockingQueue jq, Argument[] args) throws Exception {
+			JValue jv = args[0].getValue();
+			jq.put(rt.getJThread(), jv);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class OfferExecutor extends InstanceNativeExecutor<JBlockingQueue> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JBlockingQueue jq, Argument[] args) throws Exception {
+			JValue jv = args[0].getValue();
+			int timeout = getInt(args, 1);
+			boolean res = jq.offer(rt.getJThread(), jv, timeout);
+			return TempValueFactory.createTempBoolValue(res);
+		}
+		
+	}
+	
+	private static class PollExecutor extends InstanceNativeExecutor<JBlockingQueue> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JBlockingQueue jq, Argument[] args) throws Exception {
+			int timeout = getInt(args, 0);
+			boolean throwIfTimeout = getBool(args, 1);
+			JValue jv = jq.poll(rt.getJThread(), timeout);
+			if (jv == null) {
+				if (throwIfTimeout) {
+					throw new JIllegalStateException("Timed out when pulling from BlockingQueue.");
+				}
+				
+				return RefValue.NULL;
+			}
+			
+			return jv;
+		}
+		
+	}
+	
+	private static class DrainToExecutor extends InstanceNativeExecutor<JBlockingQueue> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JBlockingQueue jq, Argument[] args) throws Exception {
+			HostedValue hv = (HostedValue)args[0].getValue().deref();
+			int max = getInt(args, 1);
+			int count = jq.drainTo(rt.getJThread(), (JList)hv.getHostedObject(), max);
+			return TempValueFactory.createTempIntValue(count);
+		}
+		
+	}
+
+	private static class SizeExecutor extends InstanceNativeExecutor<JBlockingQueue> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JBlockingQueue jq, Argument[] args) throws Exception {
+			IntValue iv = TempValueFactory.createTempIntValue(jq.size());
+			return iv;
+		}
+		
+	}
+	
+	//----------------- implementation at native end -----------------//
+	
+	private LinkedBlockingQueue<JValue> queue;
+	
+	/**
+	 * @param capacity the max number of elements the queue can hold. If not positive, the queue is unbounded.
+	 */
+	public void init(int capacity){
+		this.queue = capacity > 0 ? new LinkedBlockingQueue<JValue>(capacity) : new LinkedBlockingQueue<JValue>();
+	}
+	
+	/**
+	 * Add an element to the tail, waiting for room to become available if the queue is full.
+	 */
+	public void put(JThread jt, JValue e){
+		while (true) {
+			try {
+				queue.put(e);
+				return;
+			} catch (InterruptedException ex) {
+				onInterrupted(jt);
+			}
+		}
+	}
+	
+	/**
+	 * Add an element to the tail, waiting for up to the given time if the queue is full.
+	 * 
+	 * @return false if the queue is still full when the time is up.
+	 */
+	public boolean offer(JThread jt, JValue e, int timeoutInMillisec){
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(timeoutInMillisec, 0));
+		while (true) {
+			try {
+				return queue.offer(e, deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException ex) {
+				onInterrupted(jt);
+			}
+		}
+	}
+	
+	/**
+	 * Remove an element from the head, waiting for up to the given time if the queue is empty.
+	 * 
+	 * @return null if the queue is still empty when the time is up.
+	 */
+	public JValue poll(JThread jt, int timeoutInMillisec){
+		long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(timeoutInMillisec, 0));
+		while (true) {
+			try {
+				return queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+			} catch (InterruptedException ex) {
+				onInterrupted(jt);
+			}
+		}
+	}
+	
+	/**
+	 * Remove the available elements, up to the given count, and add them to the list in a single step. 
+	 * This method doesn't wait.
+	 * <p>
+	 * The list is locked before the elements are removed, so that if the list cannot be modified by the 
+	 * calling thread, the exception is thrown with the queue left intact.
+	 * 
+	 * @param max the max number of elements to remove. If not positive, remove all the available elements.
+	 * @return the number of elements removed.
+	 */
+	public int drainTo(JThread jt, JList list, int max){
+		List<JValue> vals = new ArrayList<JValue>();
+		synchronized(list){
+			list.assertWriteLock(jt);
+			
+			if (max > 0) {
+				queue.drainTo(vals, max);
+			} else {
+				queue.drainTo(vals);
+			}
+			
+			list.addAll(jt, vals.toArray(new JValue[vals.size()]));
+		}
+		
+		return vals.size();
+	}
+	
+	public int size(){
+		return queue.size();
+	}
+	
+	// Keep waiting upon interruption, unless the thread is being terminated. 
+	private void onInterrupted(JThread jt){
+		if (jt.checkTermination()) {
+			throw new JThreadAbortedException(jt);
+		}
+		
+		jt.checkInterruption(true);
+	}
+}
@@ -0,0 +1,160 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import java.util.Arrays;
+
+import info.julang.execution.Argument;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.external.interfaces.JValueKind;
+import info.julang.hosting.HostedMethodProviderFactory;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.CtorNativeExecutor;
+import info.julang.memory.value.BasicArrayValue;
+import info.julang.memory.value.BasicArrayValueExposer;
+import info.julang.memory.value.CharValue;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.IllegalAssignmentException;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.PresetBasicArrayValueFactory;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.typesystem.basic.CharType;
+
+/**
+ * The native implementation of <code style="color:green">System.Collection.CharList</code>, 
+ * backed by a growable <code>char[]</code>.
+ * 
+ * @author Ming Zhou
+ */
+public class JCharList extends JPrimitiveList {
+	
+	public final static String FullTypeName = "System.Collection.CharList";
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+
+	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FullTypeName){
+
+		@Override
+		protected void implementProvider(SimpleHostedMethodProvider provider) {
+			provider.add("ctor", new InitExecutor());
+			addCommonExecutors(provider);
+		}
+		
+	};
+	
+	//----------------- native executors -----------------//
+	
+	private static class InitExecutor extends CtorNativeExecutor<JCharList> {
+
+		@Override
+		protected void initialize(ThreadRuntime rt, HostedValue hvalue, JCharList jlist, Argument[] args) throws Exception {
+			jlist.init();
+		}
+		
+	}
+
+	//----------------- implementation at native end -----------------//
+	
+	private char[] array;
+	
+	public void init(){
+		this.array = new char[DEFAULT_CAPACITY];
+	}
+	
+	@Override
+	public synchronized void add(JValue val){
+		char v = toChar(val);
+		ensureCapacity(size + 1);
+		array[size++] = v;
+	}
+	
+	@Override
+	public synchronized void addAll(BasicArrayValueExposer exposer){
+		char[] src = exposer.getCharArray();
+		if (src == null) {
+			throw new IllegalAssignmentException("Cannot add elements of a different type to CharList.");
+		}
+		
+		int len = src.length;
+		ensureCapacity(size + len);
+		System.arraycopy(src, 0, array, size, len);
+		size += len;
+	}
+	
+	@Override
+	public synchronized JValue get(int index){
+		checkIndex(index);
+		return TempValueFactory.createTempCharValue(array[index]);
+	}
+	
+	@Override
+	public synchronized void put(int index, JValue val){
+		checkIndex(index);
+		array[index] = toChar(val);
+	}
+	
+	@Override
+	public synchronized JValue remove(int index){
+		checkIndex(index);
+		char v = array[index];
+		int moved = size - index - 1;
+		if (moved > 0) {
+			System.arraycopy(array, index + 1, array, index, moved);
+		}
+		size--;
+		return TempValueFactory.createTempCharValue(v);
+	}
+	
+	@Override
+	public synchronized void sort(boolean desc){
+		Arrays.sort(array, 0, size);
+		if (desc) {
+			for (int i = 0, j = size - 1; i < j; i++, j--) {
+				char temp = array[i];
+				array[i] = array[j];
+				array[j] = temp;
+			}
+		}
+	}
+	
+	@Override
+	public synchronized BasicArrayValue toArray(ThreadRuntime rt){
+		return PresetBasicArrayValueFactory.fromCharArray(rt.getHeap(), rt.getTypeTable(), Arrays.copyOf(array, size));
+	}
+	
+	private void ensureCapacity(int required){
+		if (required > array.length) {
+			array = Arrays.copyOf(array, grow(array.length, required));
+		}
+	}
+	
+	private static char toChar(JValue val){
+		if (val.getKind() == JValueKind.CHAR) {
+			return ((CharValue)val).getCharValue();
+		}
+		
+		throw new IllegalAssignmentException(val.getType(), CharType.getInstance());
+	}
+}
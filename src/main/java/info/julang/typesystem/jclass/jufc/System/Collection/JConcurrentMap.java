@@ -0,0 +1,351 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import info.julang.execution.Argument;
+import info.julang.execution.symboltable.ITypeTable;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.hosting.HostedMethodProviderFactory;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.CtorNativeExecutor;
+import info.julang.hosting.execution.InstanceNativeExecutor;
+import info.julang.hosting.interop.FunctionCaller;
+import info.julang.interpretation.internal.NewObjExecutor;
+import info.julang.memory.MemoryArea;
+import info.julang.memory.value.ArrayValueFactory;
+import info.julang.memory.value.BasicValue;
+import info.julang.memory.value.FuncValue;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.IntValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.ObjectArrayValue;
+import info.julang.memory.value.ObjectValue;
+import info.julang.memory.value.RefValue;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.memory.value.VoidValue;
+import info.julang.typesystem.AnyType;
+import info.julang.typesystem.jclass.JClassConstructorMember;
+import info.julang.typesystem.jclass.JClassType;
+import info.julang.util.Pair;
+
+/**
+ * The native implementation of <code style="color:green">System.Collection.ConcurrentMap</code>.
+ * <p>
+ * Backed by Java's {@link ConcurrentHashMap}, so reads do not block and writes only contend on the same
+ * bin. Keys are converted in the same way as {@link JMap}. Since a {@link HashKeyWrapper} can only call 
+ * into Julian from the thread which created it, the original key is stored along with the value, so that 
+ * it can be read back from any thread.
+ * <p>
+ * The functions passed to {@link #computeIfAbsent computeIfAbsent} and {@link #merge merge} are called 
+ * while the bin for the key is locked. They should be short, and must not update this map.
+ *  
+ * @author Ming Zhou
+ */
+public class JConcurrentMap {
+	
+	public final static String FullTypeName = "System.Collection.ConcurrentMap";
+	private final static String EntryTypeName = "System.Util.Entry";
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+	
+	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FullTypeName){
+
+		@Override
+		protected void implementProvider(SimpleHostedMethodProvider provider) {
+			provider
+				.add("ctor", new InitExecutor())
+				.add("hasKey", new HasKeyExecutor())
+				.add("get", new GetExecutor())
+				.add("put", new PutExecutor())
+				.add("putIfAbsent", new PutIfAbsentExecutor())
+				.add("computeIfAbsent", new ComputeIfAbsentExecutor())
+				.add("merge", new MergeExecutor())
+				.add("remove", new RemoveExecutor())
+				.add("size", new SizeExecutor())
+				.add("getEntries", new GetEntriesExecutor())
+				.add("getKeys", new GetKeysExecutor());
+		}
+		
+	};
+	
+	//----------------- native executors -----------------//
+	
+	private static class InitExecutor extends CtorNativeExecutor<JConcurrentMap> {
+
+		@Override
+		protected void initialize(ThreadRuntime rt, HostedValue hvalue, JConcurrentMap jmap, Argument[] args) throws Exception {
+			jmap.init();
+		}
+		
+	}
+	
+	private static class HasKeyExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			boolean result = jmap.hasKey(rt, getValue(args, 0));
+			return TempValueFactory.createTempBoolValue(result);
+		}
+		
+	}
+	
+	private static class GetExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			return jmap.get(rt, getValue(args, 0));
+		}
+		
+	}
+	
+	private static class PutExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			jmap.put(rt, getValue(args, 0), getValue(args, 1));
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class PutIfAbsentExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			return jmap.putIfAbsent(rt, getValue(args, 0), getValue(args, 1));
+		}
+		
+	}
+	
+	private static class ComputeIfAbsentExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			return jmap.computeIfAbsent(rt, getValue(args, 0), getFunction(args, 1));
+		}
+		
+	}
+	
+	private static class MergeExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			return jmap.merge(rt, getValue(args, 0), getValue(args, 1), getFunction(args, 2));
+		}
+		
+	}
+	
+	private static class RemoveExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			return jmap.remove(rt, getValue(args, 0));
+		}
+		
+	}
+	
+	private static class SizeExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			IntValue iv = TempValueFactory.createTempIntValue(jmap.size());
+			return iv;
+		}
+		
+	}
+	
+	private static class GetEntriesExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			return jmap.getAll(rt, true);
+		}
+		
+	}
+	
+	private static class GetKeysExecutor extends InstanceNativeExecutor<JConcurrentMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JConcurrentMap jmap, Argument[] args) throws Exception {
+			return jmap.getAll(rt, false);
+		}
+		
+	}
+
+	//----------------- implementation at native end -----------------//
+	
+	// Converted key => (original key, value)
+	private ConcurrentMap<Object, Pair<JValue, JValue>> map;
+	
+	private HashKeyConverter converter = new HashKeyConverter();
+	
+	public void init(){
+		this.map = new ConcurrentHashMap<Object, Pair<JValue, JValue>>();
+	}
+	
+	public boolean hasKey(ThreadRuntime rt, JValue key){
+		return map.containsKey(converter.toHashKey(rt, key));
+	}
+	
+	public JValue get(ThreadRuntime rt, JValue key){
+		Pair<JValue, JValue> e = map.get(converter.toHashKey(rt, key));
+		return valueOf(e);
+	}
+	
+	public void put(ThreadRuntime rt, JValue key, JValue value){
+		Object k = converter.toHashKey(rt, key);
+		map.put(k, makeEntry(rt, k, value));
+	}
+	
+	/**
+	 * @return the existing value, or null if the given value is added.
+	 */
+	public JValue putIfAbsent(ThreadRuntime rt, JValue key, JValue value){
+		Object k = converter.toHashKey(rt, key);
+		Pair<JValue, JValue> e = map.putIfAbsent(k, makeEntry(rt, k, value));
+		return valueOf(e);
+	}
+	
+	/**
+	 * @return the existing value, or the value computed from the given function. If the function returns null, 
+	 * nothing is added and null is returned.
+	 */
+	public JValue computeIfAbsent(final ThreadRuntime rt, JValue key, FuncValue func){
+		final Object k = converter.toHashKey(rt, key);
+		final FunctionCaller caller = new FunctionCaller(func, null, null);
+		Pair<JValue, JValue> e = map.computeIfAbsent(k, new Function<Object, Pair<JValue, JValue>>(){
+			@Override
+			public Pair<JValue, JValue> apply(Object hk) {
+				JValue rawKey = keyOf(rt, k);
+				JValue res = caller.call(rt, new JValue[]{ rawKey }, true);
+				return isNull(res) ? null : new Pair<JValue, JValue>(rawKey, copy(rt, res));
+			}
+		});
+		
+		return valueOf(e);
+	}
+	
+	/**
+	 * @return the new value associated with the key. If the key is not present, this is the given value; 
+	 * otherwise it's the value returned by the function called with the existing value and the given value.
+	 * If the function returns null, the key is removed and null is returned.
+	 */
+	public JValue merge(final ThreadRuntime rt, JValue key, JValue value, FuncValue func){
+		final Object k = converter.toHashKey(rt, key);
+		final FunctionCaller caller = new FunctionCaller(func, null, null);
+		Pair<JValue, JValue> e = map.merge(k, makeEntry(rt, k, value), 
+			new BiFunction<Pair<JValue, JValue>, Pair<JValue, JValue>, Pair<JValue, JValue>>(){
+				@Override
+				public Pair<JValue, JValue> apply(Pair<JValue, JValue> oldEntry, Pair<JValue, JValue> newEntry) {
+					JValue res = caller.call(rt, new JValue[]{ oldEntry.getSecond(), newEntry.getSecond() }, true);
+					return isNull(res) ? null : new Pair<JValue, JValue>(oldEntry.getFirst(), copy(rt, res));
+				}
+			});
+		
+		return valueOf(e);
+	}
+	
+	public JValue remove(ThreadRuntime rt, JValue key){
+		Pair<JValue, JValue> e = map.remove(converter.toHashKey(rt, key));
+		return valueOf(e);
+	}
+	
+	public int size(){
+		return map.size();
+	}
+	
+	/**
+	 * Create an array of the keys, or key-value pairs, from a snapshot of this map. 
+	 */
+	public ObjectArrayValue getAll(ThreadRuntime rt, boolean entriesOrKeys){
+		Pair<JValue, JValue>[] entries = getAll();
+		ITypeTable tt = rt.getTypeTable();
+		MemoryArea mem = rt.getHeap();
+		int len = entries.length;
+		
+		// Create an untyped 1D array
+		ObjectArrayValue array = (ObjectArrayValue)ArrayValueFactory.createArrayValue(mem, tt, AnyType.getInstance(), len);
+		
+		// Populate the array with keys or key-value pairs
+		if (entriesOrKeys) {
+			// Get Entry's ctor
+			JClassType entryClassType = (JClassType) tt.getType(EntryTypeName);
+			JClassConstructorMember entryClassCtor = entryClassType.getClassConstructors()[0];
+			for (int i = 0; i < len; i++) {
+				NewObjExecutor noe = new NewObjExecutor(rt);
+				ObjectValue val = noe.newObjectInternal(entryClassType, entryClassCtor, new Argument[]{
+					new Argument("key", entries[i].getFirst()), new Argument("value", entries[i].getSecond())});
+				
+				RefValue rv = new RefValue(mem, val);
+				rv.assignTo(array.getValueAt(i));
+			}
+		} else {
+			for (int i = 0; i < len; i++) {
+				copy(rt, entries[i].getFirst()).assignTo(array.getValueAt(i));
+			}
+		}
+		
+		return array;
+	}
+	
+	/* the following methods are used internally. */
+	
+	public Pair<JValue, JValue>[] getAll(){
+		@SuppressWarnings("unchecked")
+		Pair<JValue, JValue>[] entries = (Pair<JValue, JValue>[]) map.values().toArray(new Pair<?, ?>[0]);
+		return entries;
+	}
+	
+	private Pair<JValue, JValue> makeEntry(ThreadRuntime rt, Object k, JValue value){
+		JValue v = isNull(value) ? TempValueFactory.createTempNullRefValue() : copy(rt, value);
+		return new Pair<JValue, JValue>(keyOf(rt, k), v);
+	}
+	
+	// The original key. This is called on the thread which created the converted key.
+	private static JValue keyOf(ThreadRuntime rt, Object k){
+		return copy(rt, HashKeyConverter.fromHashKey(k));
+	}
+	
+	private static JValue valueOf(Pair<JValue, JValue> e){
+		return e == null ? TempValueFactory.createTempNullRefValue() : e.getSecond();
+	}
+	
+	private static boolean isNull(JValue val){
+		return val.deref() == RefValue.NULL;
+	}
+	
+	// Since we are bypassing the engine path, must ensure the copy semantics remain same
+	private static JValue copy(ThreadRuntime rt, JValue val){
+		MemoryArea mem = rt.getHeap();
+		val = val.deref();
+		return val.isBasic() ? ((BasicValue) val).replicateAs(val.getType(), mem) : new RefValue(mem, (ObjectValue)val);
+	}
+}
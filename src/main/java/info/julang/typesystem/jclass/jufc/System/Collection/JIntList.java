@@ -0,0 +1,163 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import java.util.Arrays;
+
+import info.julang.execution.Argument;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.external.interfaces.JValueKind;
+import info.julang.hosting.HostedMethodProviderFactory;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.CtorNativeExecutor;
+import info.julang.memory.value.BasicArrayValue;
+import info.julang.memory.value.BasicArrayValueExposer;
+import info.julang.memory.value.ByteValue;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.IllegalAssignmentException;
+import info.julang.memory.value.IntValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.PresetBasicArrayValueFactory;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.typesystem.basic.IntType;
+
+/**
+ * The native implementation of <code style="color:green">System.Collection.IntList</code>, 
+ * backed by a growable <code>int[]</code>.
+ * 
+ * @author Ming Zhou
+ */
+public class JIntList extends JPrimitiveList {
+	
+	public final static String FullTypeName = "System.Collection.IntList";
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+
+	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FullTypeName){
+
+		@Override
+		protected void implementProvider(SimpleHostedMethodProvider provider) {
+			provider.add("ctor", new InitExecutor());
+			addCommonExecutors(provider);
+		}
+		
+	};
+	
+	//----------------- native executors -----------------//
+	
+	private static class InitExecutor extends CtorNativeExecutor<JIntList> {
+
+		@Override
+		protected void initialize(ThreadRuntime rt, HostedValue hvalue, JIntList jlist, Argument[] args) throws Exception {
+			jlist.init();
+		}
+		
+	}
+
+	//----------------- implementation at native end -----------------//
+	
+	private int[] array;
+	
+	public void init(){
+		this.array = new int[DEFAULT_CAPACITY];
+	}
+	
+	@Override
+	public synchronized void add(JValue val){
+		int v = toInt(val);
+		ensureCapacity(size + 1);
+		array[size++] = v;
+	}
+	
+	@Override
+	public synchronized void addAll(BasicArrayValueExposer exposer){
+		int[] src = exposer.getIntArray();
+		if (src == null) {
+			throw new IllegalAssignmentException("Cannot add elements of a different type to IntList.");
+		}
+		
+		int len = src.length;
+		ensureCapacity(size + len);
+		System.arraycopy(src, 0, array, size, len);
+		size += len;
+	}
+	
+	@Override
+	public synchronized JValue get(int index){
+		checkIndex(index);
+		return TempValueFactory.createTempIntValue(array[index]);
+	}
+	
+	@Override
+	public synchronized void put(int index, JValue val){
+		checkIndex(index);
+		array[index] = toInt(val);
+	}
+	
+	@Override
+	public synchronized JValue remove(int index){
+		checkIndex(index);
+		int v = array[index];
+		int moved = size - index - 1;
+		if (moved > 0) {
+			System.arraycopy(array, index + 1, array, index, moved);
+		}
+		size--;
+		return TempValueFactory.createTempIntValue(v);
+	}
+	
+	@Override
+	public synchronized void sort(boolean desc){
+		Arrays.sort(array, 0, size);
+		if (desc) {
+			for (int i = 0, j = size - 1; i < j; i++, j--) {
+				int temp = array[i];
+				array[i] = array[j];
+				array[j] = temp;
+			}
+		}
+	}
+	
+	@Override
+	public synchronized BasicArrayValue toArray(ThreadRuntime rt){
+		return PresetBasicArrayValueFactory.fromIntArray(rt.getHeap(), rt.getTypeTable(), Arrays.copyOf(array, size));
+	}
+	
+	private void ensureCapacity(int required){
+		if (required > array.length) {
+			array = Arrays.copyOf(array, grow(array.length, required));
+		}
+	}
+	
+	private static int toInt(JValue val){
+		if (val.getKind() == JValueKind.INTEGER) {
+			return ((IntValue)val).getIntValue();
+		} else if (val.getKind() == JValueKind.BYTE) {
+			return ((ByteValue)val).getByteValue();
+		}
+		
+		throw new IllegalAssignmentException(val.getType(), IntType.getInstance());
+	}
+}
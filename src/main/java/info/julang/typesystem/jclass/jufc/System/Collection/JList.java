@@ -31,17 +31,29 @@ import info.julang.hosting.HostedMethodProviderFactory;
 import info.julang.hosting.SimpleHostedMethodProvider;
 import info.julang.hosting.execution.CtorNativeExecutor;
 import info.julang.hosting.execution.InstanceNativeExecutor;
+import info.julang.memory.MemoryArea;
 import info.julang.memory.value.ArrayIndexOutOfRangeException;
+import info.julang.memory.value.ArrayValue;
+import info.julang.memory.value.BasicArrayValue;
+import info.julang.memory.value.BasicArrayValueExposer;
+import info.julang.memory.value.BasicValue;
 import info.julang.memory.value.BoolValue;
+import info.julang.memory.value.FuncValue;
 import info.julang.memory.value.HostedValue;
 import info.julang.memory.value.IntValue;
 import info.julang.memory.value.JValue;
+import info.julang.memory.value.ObjectValue;
+import info.julang.memory.value.RefValue;
 import info.julang.memory.value.TempValueFactory;
 import info.julang.memory.value.VoidValue;
 import info.julang.memory.value.indexable.JConcurrentModificationException;
+import info.julang.memory.value.iterable.IIterator;
+import info.julang.memory.value.operable.InitArgs;
 import info.julang.memory.value.operable.ValueComparator;
+import info.julang.typesystem.JArgumentException;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -65,7 +77,13 @@ public class JList {
 				.add("get", new GetExecutor())
 				.add("put", new PutExecutor())
 				.add("sort", new SortExecutor())
+				.add("sortWith", new SortWithExecutor())
 				.add("remove", new RemoveExecutor())
+				.add("insertRange", new InsertRangeExecutor())
+				.add("appendRange", new AppendRangeExecutor())
+				.add("removeRange", new RemoveRangeExecutor())
+				.add("slice", new SliceExecutor())
+				.add("copyTo", new CopyToExecutor())
 				.add("size", new SizeExecutor());
 		}
 		
@@ -146,12 +164,103 @@ public class JList {
 		}
 		
 	}
+	
+	private static class SortWithExecutor extends InstanceNativeExecutor<JList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JList jlist, Argument[] args) throws Exception {
+			JValue fv = args[0].getValue().deref();
+			if (fv == RefValue.NULL) {
+				throw new JArgumentException("comparator");
+			}
+			
+			int parallelism = getInt(args, 1);
+			jlist.sort(rt, (FuncValue)fv, parallelism);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+
+	private static class InsertRangeExecutor extends InstanceNativeExecutor<JList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JList jlist, Argument[] args) throws Exception {
+			int index = getInt(args, 0);
+			JValue src = args[1].getValue().deref();
+			if (!(src instanceof ObjectValue) || src == RefValue.NULL) {
+				throw new JArgumentException("source");
+			}
+			
+			jlist.insertRange(rt, index, (ObjectValue)src);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class AppendRangeExecutor extends InstanceNativeExecutor<JList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JList jlist, Argument[] args) throws Exception {
+			JValue src = args[0].getValue().deref();
+			if (!(src instanceof ObjectValue) || src == RefValue.NULL) {
+				throw new JArgumentException("source");
+			}
+			
+			jlist.appendRange(rt, (ObjectValue)src);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class SliceExecutor extends InstanceNativeExecutor<JList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JList jlist, Argument[] args) throws Exception {
+			HostedValue target = (HostedValue)args[0].getValue().deref();
+			int from = getInt(args, 1);
+			int to = getInt(args, 2);
+			jlist.slice(rt, (JList)target.getHostedObject(), from, to);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class RemoveRangeExecutor extends InstanceNativeExecutor<JList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JList jlist, Argument[] args) throws Exception {
+			int from = getInt(args, 0);
+			int to = getInt(args, 1);
+			jlist.removeRange(rt.getJThread(), from, to);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class CopyToExecutor extends InstanceNativeExecutor<JList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JList jlist, Argument[] args) throws Exception {
+			JValue arr = args[0].getValue().deref();
+			if (!(arr instanceof ArrayValue)) {
+				throw new JArgumentException("array");
+			}
+			
+			int offset = getInt(args, 1);
+			jlist.copyTo((ArrayValue)arr, offset);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
 
 	//----------------- implementation at native end -----------------//
 	
 	private List<JValue> list;
 	private HostedValue hvalue;
 	
+	// Incremented upon each structural change or update
+	private int modCount;
+	
 	public void init(HostedValue hvalue){
 		this.list = new ArrayList<JValue>();
 		this.hvalue = hvalue;
@@ -161,6 +270,7 @@ public class JList {
 		assertWriteLock(jt);
 		
 		list.add(e);
+		modCount++;
 	}
 	
 	public synchronized JValue get(int i){
@@ -179,6 +289,7 @@ public class JList {
 		}
 		list.add(i, val);
 		list.remove(i+1);
+		modCount++;
 		return val;
 	}
 	
@@ -189,6 +300,7 @@ public class JList {
 			return TempValueFactory.createTempNullRefValue();
 		}
 		JValue result = list.remove(i);
+		modCount++;
 		return result == null ? TempValueFactory.createTempNullRefValue() : result;
 	}
 	
@@ -196,10 +308,235 @@ public class JList {
 		return list.size();
 	}
 	
+	/**
+	 * Insert all the elements from an array or another list at the given index, in a single step.
+	 * <p>
+	 * The elements of a primitive array are read off its platform storage directly. The elements of 
+	 * another list are copied out under that list's lock, so a list may be inserted into itself.
+	 * 
+	 * @param rt the thread runtime.
+	 * @param index the index at which to insert, which can be the size of this list.
+	 * @param src an array or a <code style="color:green">System.Collection.List</code>.
+	 */
+	public void insertRange(ThreadRuntime rt, int index, ObjectValue src){
+		JValue[] vals = toValues(rt, src);
+		insert(rt.getJThread(), index, vals);
+	}
+	
+	/**
+	 * Append all the elements from an array or another list at the end of this list, in a single step. 
+	 * The end is determined at the time of insertion, so the elements cannot be separated by those added 
+	 * by another thread.
+	 * 
+	 * @param rt the thread runtime.
+	 * @param src an array or a <code style="color:green">System.Collection.List</code>.
+	 */
+	public void appendRange(ThreadRuntime rt, ObjectValue src){
+		JValue[] vals = toValues(rt, src);
+		addAll(rt.getJThread(), vals);
+	}
+	
+	// Copy out the elements from an array or a list.
+	private JValue[] toValues(ThreadRuntime rt, ObjectValue src){
+		JValue[] vals = null;
+		if (src instanceof HostedValue) {
+			Object obj = ((HostedValue)src).getHostedObject();
+			if (obj instanceof JList) {
+				JList other = (JList)obj;
+				synchronized(other){
+					vals = other.copyRange(rt, 0, other.list.size());
+				}
+			}
+		} else if (src instanceof BasicArrayValue) {
+			BasicArrayValue bav = (BasicArrayValue)src;
+			vals = copyRange(new BasicArrayValueExposer(bav), bav.getLength());
+		} else if (src instanceof ArrayValue) {
+			ArrayValue av = (ArrayValue)src;
+			vals = new JValue[av.getLength()];
+			for (int i = 0; i < vals.length; i++) {
+				vals[i] = copy(rt, av.getValueAt(i));
+			}
+		}
+		
+		if (vals == null) {
+			throw new JArgumentException("source");
+		}
+		
+		return vals;
+	}
+	
+	/**
+	 * Append the elements within range [from, to) to the target list.
+	 */
+	public void slice(ThreadRuntime rt, JList target, int from, int to){
+		JValue[] vals = copyRange(rt, from, to);
+		target.addAll(rt.getJThread(), vals);
+	}
+	
+	/**
+	 * Remove the elements within range [from, to).
+	 */
+	public synchronized void removeRange(JThread jt, int from, int to){
+		assertWriteLock(jt);
+		
+		checkRange(from, to, list.size());
+		if (from < to) {
+			list.subList(from, to).clear();
+			modCount++;
+		}
+	}
+	
+	/**
+	 * Copy all the elements into the given array, starting at the offset. Each element is assigned 
+	 * with the same type check as an assignment in script.
+	 */
+	public void copyTo(ArrayValue arr, int offset){
+		JValue[] vals = toArray();
+		
+		int len = arr.getLength();
+		if (offset < 0 || offset > len) {
+			throw new ArrayIndexOutOfRangeException(offset, len);
+		} else if (vals.length > len - offset) {
+			throw new ArrayIndexOutOfRangeException(offset + vals.length - 1, len - 1);
+		}
+		
+		for (int i = 0; i < vals.length; i++) {
+			JValue val = vals[i] == null ? TempValueFactory.createTempNullRefValue() : vals[i];
+			val.assignTo(arr.getValueAt(offset + i));
+		}
+	}
+	
+	/**
+	 * Get a snapshot of all the elements. The values are returned as is.
+	 */
+	public synchronized JValue[] toArray(){
+		return list.toArray(new JValue[list.size()]);
+	}
+	
+	/**
+	 * Append the values at the end of list, in a single step. The values are stored as is.
+	 */
+	public synchronized void addAll(JThread jt, JValue[] vals){
+		insert(jt, list.size(), vals);
+	}
+	
+	private synchronized void insert(JThread jt, int index, JValue[] vals){
+		assertWriteLock(jt);
+		
+		if(index < 0 || index > list.size()){
+			throw new ArrayIndexOutOfRangeException(index, list.size());
+		}
+		list.addAll(index, Arrays.asList(vals));
+		modCount++;
+	}
+	
+	// Copy out the elements within range [from, to).
+	private synchronized JValue[] copyRange(ThreadRuntime rt, int from, int to){
+		checkRange(from, to, list.size());
+		JValue[] vals = new JValue[to - from];
+		for (int i = from; i < to; i++) {
+			vals[i - from] = copy(rt, list.get(i));
+		}
+		
+		return vals;
+	}
+	
+	private static JValue[] copyRange(BasicArrayValueExposer exposer, int len){
+		JValue[] vals = new JValue[len];
+		int[] ia = exposer.getIntArray();
+		byte[] ba = exposer.getByteArray();
+		float[] fa = exposer.getFloatArray();
+		char[] ca = exposer.getCharArray();
+		boolean[] za = exposer.getBoolArray();
+		for (int i = 0; i < len; i++) {
+			JValue val;
+			if (ia != null) {
+				val = TempValueFactory.createTempIntValue(ia[i]);
+			} else if (ba != null) {
+				val = TempValueFactory.createTempByteValue(ba[i]);
+			} else if (fa != null) {
+				val = TempValueFactory.createTempFloatValue(fa[i]);
+			} else if (ca != null) {
+				val = TempValueFactory.createTempCharValue(ca[i]);
+			} else {
+				val = TempValueFactory.createTempBoolValue(za[i]);
+			}
+			
+			vals[i] = val;
+		}
+		
+		return vals;
+	}
+	
+	// Check that range [from, to) lies within a sequence of the given size.
+	private static void checkRange(int from, int to, int size){
+		if (from < 0 || from > size) {
+			throw new ArrayIndexOutOfRangeException(from, size);
+		} else if (to < from || to > size) {
+			throw new ArrayIndexOutOfRangeException(to, size);
+		}
+	}
+	
+	// Since we are bypassing the engine path, must ensure the copy semantics remain same
+	private static JValue copy(ThreadRuntime rt, JValue val){
+		if (val == null || (val = val.deref()) == RefValue.NULL) {
+			return TempValueFactory.createTempNullRefValue();
+		}
+		
+		MemoryArea mem = rt.getHeap();
+		return val.isBasic() ? ((BasicValue) val).replicateAs(val.getType(), mem) : new RefValue(mem, (ObjectValue)val);
+	}
+	
+	/**
+	 * Sort the list by the natural order of elements. If all the elements are of a primitive type or
+	 * string, they are compared natively; otherwise, the objects are compared by calling IComparable.
+	 * <p>
+	 * The elements are sorted out of the lock, and written back only if the list has not been changed 
+	 * in the meantime.
+	 */
 	public void sort(ThreadRuntime rt, final boolean desc){
-		final ListWrapper lw = new ListWrapper(rt, hvalue);
-		ListValueComparator comp = new ListValueComparator(lw, desc);
-		list.sort(comp);
+		int mc;
+		JValue[] arr;
+		synchronized(this){
+			mc = modCount;
+			arr = list.toArray(new JValue[list.size()]);
+		}
+		
+		if (!ListSorter.sortNatively(arr, desc)) {
+			final ListWrapper lw = new ListWrapper(rt, hvalue);
+			ListValueComparator comp = new ListValueComparator(lw, desc);
+			Arrays.sort(arr, comp);
+		}
+		
+		writeBack(arr, mc);
+	}
+	
+	/**
+	 * Sort the list with a comparator function. See {@link ListSorter#sortByFunction}.
+	 */
+	public void sort(ThreadRuntime rt, FuncValue comparator, int parallelism){
+		int mc;
+		JValue[] arr;
+		synchronized(this){
+			mc = modCount;
+			arr = list.toArray(new JValue[list.size()]);
+		}
+		
+		ListSorter.sortByFunction(rt, arr, comparator, parallelism);
+		
+		writeBack(arr, mc);
+	}
+	
+	private synchronized void writeBack(JValue[] arr, int mc){
+		if (mc != modCount) {
+			throw new JConcurrentModificationException(FullTypeName);
+		}
+		
+		for (int i = 0; i < arr.length; i++) {
+			list.set(i, arr[i]);
+		}
+		
+		modCount++;
 	}
 	
 	private class ListValueComparator extends ValueComparator {
@@ -218,6 +555,54 @@ public class JList {
 		
 	}
 
+	//---------------- iteration ----------------//
+	
+	/**
+	 * Get a native iterator which goes through the elements by index, in the same way as the iterator 
+	 * of <code style="color:green">System.Collection.List</code> does in script, so the changes made
+	 * by the iterating thread are reflected.
+	 * <p>
+	 * If required upon initialization, the iterating thread will hold the write lock until the iterator 
+	 * is disposed of. In the meantime any other thread trying to modify the list will fail with a 
+	 * <code style="color:green">System.ConcurrentModificationException</code>.
+	 */
+	public IIterator getIterator(){
+		return new ListIterator();
+	}
+	
+	private class ListIterator implements IIterator {
+		
+		private ThreadRuntime rt;
+		private int index;
+		
+		@Override
+		public void initialize(ThreadRuntime rt, InitArgs args) {
+			if (args.shouldApplyLock()) {
+				this.rt = rt;
+				applyWriteLock(rt);
+			}
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return index < size();
+		}
+		
+		@Override
+		public JValue next() {
+			JValue val = get(index);
+			index++;
+			return val;
+		}
+		
+		@Override
+		public void dispose() {
+			if (rt != null) {
+				releaseWriteLock(rt);
+			}
+		}
+	}
+	
 	//---------------- thread safety ----------------//
 	
 	private JThread thread;
@@ -258,7 +643,8 @@ public class JList {
 		}
 	}
 	
-	private void assertWriteLock(JThread t) {
+	// The caller must hold the monitor of this list if the check should remain valid after it returns.
+	void assertWriteLock(JThread t) {
 		if(thread != null && thread != t){
 			throw new JConcurrentModificationException(FullTypeName);
 		}
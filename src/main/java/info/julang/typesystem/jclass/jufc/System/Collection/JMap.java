@@ -48,9 +48,12 @@ import info.julang.memory.value.ObjectValue;
 import info.julang.memory.value.RefValue;
 import info.julang.memory.value.TempValueFactory;
 import info.julang.memory.value.VoidValue;
+import info.julang.memory.value.iterable.IIterator;
+import info.julang.memory.value.operable.InitArgs;
 import info.julang.typesystem.AnyType;
 import info.julang.typesystem.jclass.JClassConstructorMember;
 import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.jufc.SystemTypeUtility;
 import info.julang.util.Pair;
 
 /**
@@ -67,13 +70,18 @@ import info.julang.util.Pair;
  * HashKeyWrapper. The latter forwards either call to 
  * <code style="color:green">System.Collection.HashKey</code>, which, eventually, calls <code>hashCode()</code> 
  * and <code>equals(Object)</code> defined in the original key type.
+ * <p>
+ * Calling back into Julian is only necessary if the key type has its own hashCode() or equals(). Other keys
+ * are used as the key of HashMap as is, saving a number of interpreted calls on each map operation. See 
+ * {@link HashKeyConverter} for details.
  *  
  * @author Ming Zhou
  */
 public class JMap {
 	
 	public final static String FullTypeName = "System.Collection.Map";
-	private final static String EntryTypeName = "System.Util.Entry";
+	public final static String SetTypeName = "System.Collection.Set";
+	public final static String EntryTypeName = "System.Util.Entry";
 	
 	//----------------- IRegisteredMethodProvider -----------------//
 	
@@ -109,7 +117,7 @@ public class JMap {
 		
 		@Override
 		protected JValue apply(ThreadRuntime rt, JMap jmap, Argument[] args) throws Exception {
-			HashKeyWrapper k = getHashKey(rt, args);
+			Object k = jmap.getHashKey(rt, args);
 			JValue result = jmap.hasKey(k);
 			return result;
 		}
@@ -120,7 +128,7 @@ public class JMap {
 		
 		@Override
 		protected JValue apply(ThreadRuntime rt, JMap jmap, Argument[] args) throws Exception {
-			HashKeyWrapper k = getHashKey(rt, args);
+			Object k = jmap.getHashKey(rt, args);
 			JValue result = jmap.remove(k);
 			return result;
 		}
@@ -131,7 +139,7 @@ public class JMap {
 		
 		@Override
 		protected JValue apply(ThreadRuntime rt, JMap jmap, Argument[] args) throws Exception {
-			HashKeyWrapper k = getHashKey(rt, args);
+			Object k = jmap.getHashKey(rt, args);
 			JValue v = args[1].getValue();
 			jmap.put(k, v);
 			return VoidValue.DEFAULT;
@@ -143,7 +151,7 @@ public class JMap {
 		
 		@Override
 		protected JValue apply(ThreadRuntime rt, JMap jmap, Argument[] args) throws Exception {
-			HashKeyWrapper k = getHashKey(rt, args);
+			Object k = jmap.getHashKey(rt, args);
 			JValue jv = jmap.get(k);
 			return jv;
 		}
@@ -180,29 +188,30 @@ public class JMap {
 		
 	}
 	
-	private static HashKeyWrapper getHashKey(ThreadRuntime rt, Argument[] args){
-		ObjectValue val0 = (ObjectValue)args[0].getValue().deref();
-		HashKeyWrapper wrapper = new HashKeyWrapper(rt, val0);
-		return wrapper;
-	}
-
 	//----------------- implementation at native end -----------------//
 	
-	private Map<HashKeyWrapper, JValue> map;
+	// The key is either a JValue hashed natively, or a HashKeyWrapper calling back into Julian.
+	private Map<Object, JValue> map;
+	
+	private HashKeyConverter converter = new HashKeyConverter();
 	
 	public void init(){
-		this.map = new HashMap<HashKeyWrapper, JValue>();
+		this.map = new HashMap<Object, JValue>();
 	}
 	
-	public void put(HashKeyWrapper k, JValue v){
+	Object getHashKey(ThreadRuntime rt, Argument[] args){
+		return converter.toHashKey(rt, args[0].getValue());
+	}
+	
+	public void put(Object k, JValue v){
 		map.put(k, v);
 	}
 	
-	public JValue hasKey(HashKeyWrapper k){
+	public JValue hasKey(Object k){
 		return TempValueFactory.createTempBoolValue(map.containsKey(k));
 	}
 	
-	public JValue get(HashKeyWrapper k){
+	public JValue get(Object k){
 		JValue v = map.get(k);
 		if(v == null){
 			return TempValueFactory.createTempNullRefValue();
@@ -211,7 +220,7 @@ public class JMap {
 		}
 	}
 	
-	public JValue remove(HashKeyWrapper k){
+	public JValue remove(Object k){
 		JValue v = map.remove(k);
 		if(v == null){
 			return TempValueFactory.createTempNullRefValue();
@@ -232,8 +241,69 @@ public class JMap {
 		return getAll(rt, false);
 	}
 	
+	/**
+	 * Get a native iterator over a snapshot of the keys, in the same way as the iterators of 
+	 * <code style="color:green">System.Collection.Map</code> and <code style="color:green">System.Collection.Set</code>
+	 * do in script. For the entries, the value of each key is looked up when the entry is yielded.
+	 * 
+	 * @param entriesOrKeys true to yield the entries (<code style="color:green">System.Util.Entry</code>); false the keys.
+	 */
+	public IIterator getIterator(boolean entriesOrKeys){
+		return new MapIterator(entriesOrKeys);
+	}
+	
+	private class MapIterator implements IIterator {
+		
+		private boolean entriesOrKeys;
+		private ThreadRuntime rt;
+		private JClassType entryClassType;
+		private JClassConstructorMember entryClassCtor;
+		private Object[] keys;
+		private int index;
+		
+		private MapIterator(boolean entriesOrKeys) {
+			this.entriesOrKeys = entriesOrKeys;
+		}
+		
+		@Override
+		public void initialize(ThreadRuntime rt, InitArgs args) {
+			this.rt = rt;
+			if (entriesOrKeys) {
+				entryClassType = SystemTypeUtility.ensureTypeBeLoaded(rt, EntryTypeName);
+				entryClassCtor = entryClassType.getClassConstructors()[0];
+			}
+			
+			keys = map.keySet().toArray();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return index < keys.length;
+		}
+		
+		@Override
+		public JValue next() {
+			Object hk = keys[index];
+			index++;
+			JValue k = HashKeyConverter.fromHashKey(hk);
+			if (!entriesOrKeys) {
+				return k;
+			}
+			
+			NewObjExecutor noe = new NewObjExecutor(rt);
+			ObjectValue val = noe.newObjectInternal(entryClassType, entryClassCtor,
+				new Argument[]{new Argument("key", k), new Argument("value", get(hk))});
+			return new RefValue(rt.getHeap(), val);
+		}
+		
+		@Override
+		public void dispose() {
+			// NO-OP
+		}
+	}
+	
 	private ObjectValue getAll(ThreadRuntime rt, boolean entriesOrKeys){
-		Set<HashKeyWrapper> set = map.keySet();
+		Set<Object> set = map.keySet();
 		ITypeTable tt = rt.getTypeTable();
 		MemoryArea mem = rt.getHeap();
 		int len = set.size();
@@ -247,9 +317,9 @@ public class JMap {
 			int i = 0;
 			JClassType entryClassType = (JClassType) tt.getType(EntryTypeName);
 			JClassConstructorMember entryClassCtor = entryClassType.getClassConstructors()[0];
-			for (HashKeyWrapper wrp : set) {
-				JValue k = wrp.getKey();
-				JValue v = map.get(wrp);
+			for (Object hk : set) {
+				JValue k = HashKeyConverter.fromHashKey(hk);
+				JValue v = map.get(hk);
 				
 				NewObjExecutor noe = new NewObjExecutor(rt);
 				ObjectValue val = noe.newObjectInternal(entryClassType, entryClassCtor,
@@ -262,9 +332,9 @@ public class JMap {
 			}
 		} else {
 			int i = 0;
-			for (HashKeyWrapper wrp : set) {
+			for (Object hk : set) {
 				// Since we are bypassing the engine path, must ensure the copy semantics remain same
-				JValue k = wrp.getKey().deref();
+				JValue k = HashKeyConverter.fromHashKey(hk).deref();
 				k = k.isBasic() ? ((BasicValue) k).replicateAs(k.getType(), mem) : new RefValue(mem, (ObjectValue)k);
 				
 				k.assignTo(array.getValueAt(i));
@@ -278,12 +348,12 @@ public class JMap {
 	/* the following methods are used internally. */
 	
 	public Pair<JValue, JValue>[] getAll(){
-		Set<Entry<HashKeyWrapper, JValue>> set = map.entrySet();
+		Set<Entry<Object, JValue>> set = map.entrySet();
 		@SuppressWarnings("unchecked") // this is the best we can do in Java due to its array type not supporting covariance. 
 		Pair<JValue, JValue>[] results = new Pair[set.size()];
 		int i = 0;
-		for(Entry<HashKeyWrapper, JValue> entry : set){
-			JValue k = entry.getKey().getKey();
+		for(Entry<Object, JValue> entry : set){
+			JValue k = HashKeyConverter.fromHashKey(entry.getKey());
 			Pair<JValue, JValue> e = new Pair<JValue, JValue>(k, entry.getValue());
 			results[i] = e;
 			i++;
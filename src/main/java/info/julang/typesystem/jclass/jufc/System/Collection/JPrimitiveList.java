@@ -0,0 +1,225 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import info.julang.execution.Argument;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.InstanceNativeExecutor;
+import info.julang.memory.value.ArrayIndexOutOfRangeException;
+import info.julang.memory.value.BasicArrayValue;
+import info.julang.memory.value.BasicArrayValueExposer;
+import info.julang.memory.value.BoolValue;
+import info.julang.memory.value.IntValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.RefValue;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.memory.value.VoidValue;
+import info.julang.typesystem.JArgumentException;
+
+/**
+ * The common native implementation of primitive lists, such as <code style="color:green">System.Collection.IntList</code>.
+ * <p>
+ * Unlike {@link JList}, which stores a {@link JValue} per element, a primitive list stores the elements directly 
+ * in a platform array of the matching primitive type, which grows by half of its size when full. A value is only 
+ * created when an element is read out to the script.
+ * 
+ * @author Ming Zhou
+ */
+public abstract class JPrimitiveList {
+	
+	protected final static int DEFAULT_CAPACITY = 10;
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+	
+	/**
+	 * Add the executors shared by all primitive lists. The subclass only needs to provide the constructor.
+	 */
+	protected static void addCommonExecutors(SimpleHostedMethodProvider provider){
+		provider
+			.add("add", new AddExecutor())
+			.add("addAll", new AddAllExecutor())
+			.add("get", new GetExecutor())
+			.add("put", new PutExecutor())
+			.add("remove", new RemoveExecutor())
+			.add("clear", new ClearExecutor())
+			.add("sort", new SortExecutor())
+			.add("toArray", new ToArrayExecutor())
+			.add("size", new SizeExecutor());
+	}
+	
+	//----------------- native executors -----------------//
+	
+	private static class AddExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			jlist.add(args[0].getValue().deref());
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class AddAllExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			JValue val = args[0].getValue().deref();
+			if (val == RefValue.NULL) {
+				throw new JArgumentException("elements");
+			}
+			
+			jlist.addAll(new BasicArrayValueExposer((BasicArrayValue)val));
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class GetExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			int index = getInt(args, 0);
+			return jlist.get(index);
+		}
+		
+	}
+	
+	private static class PutExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			int index = getInt(args, 0);
+			jlist.put(index, args[1].getValue().deref());
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class RemoveExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			int index = getInt(args, 0);
+			return jlist.remove(index);
+		}
+		
+	}
+	
+	private static class ClearExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			jlist.clear();
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class SortExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			boolean desc = ((BoolValue)(args[0].getValue().deref())).getBoolValue();
+			jlist.sort(desc);
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class ToArrayExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			return jlist.toArray(rt);
+		}
+		
+	}
+	
+	private static class SizeExecutor extends InstanceNativeExecutor<JPrimitiveList> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPrimitiveList jlist, Argument[] args) throws Exception {
+			IntValue iv = TempValueFactory.createTempIntValue(jlist.size());
+			return iv;
+		}
+		
+	}
+
+	//----------------- implementation at native end -----------------//
+	
+	protected int size;
+	
+	/** Append a value, which has been dereferenced, to the end of list. */
+	public abstract void add(JValue val);
+	
+	/** Append all the elements from a primitive array to the end of list. */
+	public abstract void addAll(BasicArrayValueExposer exposer);
+	
+	/** Get the element at the given index as a temporary value. */
+	public abstract JValue get(int index);
+	
+	/** Set the element at the given index to a value, which has been dereferenced. */
+	public abstract void put(int index, JValue val);
+	
+	/** Remove the element at the given index and return it as a temporary value. */
+	public abstract JValue remove(int index);
+	
+	/** Sort the elements in place. */
+	public abstract void sort(boolean desc);
+	
+	/** Copy the elements into a new primitive array value. */
+	public abstract BasicArrayValue toArray(ThreadRuntime rt);
+	
+	public synchronized void clear(){
+		size = 0;
+	}
+	
+	public synchronized int size(){
+		return size;
+	}
+	
+	protected void checkIndex(int index){
+		if (index < 0 || index >= size) {
+			throw new ArrayIndexOutOfRangeException(index, size - 1);
+		}
+	}
+	
+	/**
+	 * Calculate the new capacity to grow the storage to.
+	 * 
+	 * @param current the current capacity
+	 * @param required the minimum capacity required
+	 * @return a capacity no less than <code>required</code>
+	 */
+	protected static int grow(int current, int required){
+		int cap = current + (current >> 1);
+		if (cap - required < 0) {
+			cap = required;
+		}
+		
+		return cap;
+	}
+}
@@ -0,0 +1,472 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import info.julang.execution.Argument;
+import info.julang.execution.symboltable.ITypeTable;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.external.interfaces.JValueKind;
+import info.julang.hosting.HostedMethodProviderFactory;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.CtorNativeExecutor;
+import info.julang.hosting.execution.InstanceNativeExecutor;
+import info.julang.interpretation.RuntimeCheckException;
+import info.julang.interpretation.internal.NewObjExecutor;
+import info.julang.memory.MemoryArea;
+import info.julang.memory.value.ArrayValueFactory;
+import info.julang.memory.value.BasicValue;
+import info.julang.memory.value.BoolValue;
+import info.julang.memory.value.ByteValue;
+import info.julang.memory.value.CharValue;
+import info.julang.memory.value.FloatValue;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.IntValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.ObjectArrayValue;
+import info.julang.memory.value.ObjectValue;
+import info.julang.memory.value.RefValue;
+import info.julang.memory.value.StringValue;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.memory.value.VoidValue;
+import info.julang.typesystem.AnyType;
+import info.julang.typesystem.jclass.JClassConstructorMember;
+import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.jufc.SystemTypeNames;
+
+/**
+ * The native implementation of <code style="color:green">System.Collection.SortedMap</code>, which also
+ * backs <code style="color:green">System.Collection.SortedSet</code>.
+ * <p>
+ * The keys are stored in a {@link TreeMap}. Primitive values and strings are compared natively, while an
+ * object is compared by calling its <code style="color:green">System.Util.IComparable.compare()</code> 
+ * through {@link SortedMapWrapper}.
+ * 
+ * @author Ming Zhou
+ */
+public class JSortedMap {
+	
+	public final static String FullTypeName = "System.Collection.SortedMap";
+	private final static String EntryTypeName = "System.Util.Entry";
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+	
+	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FullTypeName){
+
+		@Override
+		protected void implementProvider(SimpleHostedMethodProvider provider) {
+			provider
+				.add("ctor", new InitExecutor())
+				.add("hasKey", new HasKeyExecutor())
+				.add("get", new GetExecutor())
+				.add("put", new PutExecutor())
+				.add("remove", new RemoveExecutor())
+				.add("size", new SizeExecutor())
+				.add("first", new NavigateExecutor(Navigation.FIRST))
+				.add("last", new NavigateExecutor(Navigation.LAST))
+				.add("floor", new NavigateExecutor(Navigation.FLOOR))
+				.add("ceiling", new NavigateExecutor(Navigation.CEILING))
+				.add("lower", new NavigateExecutor(Navigation.LOWER))
+				.add("higher", new NavigateExecutor(Navigation.HIGHER))
+				.add("range", new RangeExecutor())
+				.add("getEntries", new GetAllExecutor(true))
+				.add("getKeys", new GetAllExecutor(false));
+		}
+		
+	};
+	
+	static enum Navigation {
+		FIRST,
+		LAST,
+		FLOOR,
+		CEILING,
+		LOWER,
+		HIGHER
+	}
+	
+	//----------------- native executors -----------------//
+	
+	private static class InitExecutor extends CtorNativeExecutor<JSortedMap> {
+
+		@Override
+		protected void initialize(ThreadRuntime rt, HostedValue hvalue, JSortedMap jmap, Argument[] args) throws Exception {
+			jmap.init();
+		}
+		
+	}
+	
+	private static class HasKeyExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			boolean result = jmap.hasKey(rt, getValue(args, 0));
+			return TempValueFactory.createTempBoolValue(result);
+		}
+		
+	}
+	
+	private static class GetExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			return jmap.get(rt, getValue(args, 0));
+		}
+		
+	}
+	
+	private static class PutExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			jmap.put(rt, getValue(args, 0), getValue(args, 1));
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class RemoveExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			return jmap.remove(rt, getValue(args, 0));
+		}
+		
+	}
+	
+	private static class SizeExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			IntValue iv = TempValueFactory.createTempIntValue(jmap.size());
+			return iv;
+		}
+		
+	}
+	
+	private static class NavigateExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		private Navigation nav;
+		
+		private NavigateExecutor(Navigation nav) {
+			this.nav = nav;
+		}
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			JValue key = args.length > 0 ? getValue(args, 0) : null;
+			return jmap.navigate(rt, nav, key);
+		}
+		
+	}
+	
+	private static class RangeExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			boolean entriesOrKeys = getBool(args, 2);
+			return jmap.range(rt, getValue(args, 0), getValue(args, 1), entriesOrKeys);
+		}
+		
+	}
+	
+	private static class GetAllExecutor extends InstanceNativeExecutor<JSortedMap> {
+		
+		private boolean entriesOrKeys;
+		
+		private GetAllExecutor(boolean entriesOrKeys) {
+			this.entriesOrKeys = entriesOrKeys;
+		}
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JSortedMap jmap, Argument[] args) throws Exception {
+			return jmap.getAll(rt, entriesOrKeys);
+		}
+		
+	}
+
+	//----------------- implementation at native end -----------------//
+	
+	private TreeMap<JValue, JValue> map;
+	private KeyComparator comparator;
+	
+	public void init(){
+		this.comparator = new KeyComparator();
+		this.map = new TreeMap<JValue, JValue>(comparator);
+	}
+	
+	public synchronized boolean hasKey(ThreadRuntime rt, JValue key){
+		comparator.setRuntime(rt);
+		return map.containsKey(key.deref());
+	}
+	
+	public synchronized JValue get(ThreadRuntime rt, JValue key){
+		comparator.setRuntime(rt);
+		return valueOf(map.get(key.deref()));
+	}
+	
+	public synchronized void put(ThreadRuntime rt, JValue key, JValue value){
+		comparator.setRuntime(rt);
+		map.put(copy(rt, key), copy(rt, value));
+	}
+	
+	public synchronized JValue remove(ThreadRuntime rt, JValue key){
+		comparator.setRuntime(rt);
+		return valueOf(map.remove(key.deref()));
+	}
+	
+	public synchronized int size(){
+		return map.size();
+	}
+	
+	/**
+	 * Find an entry relative to the given key, or at either end of the map.
+	 * 
+	 * @return a <code style="color:green">System.Util.Entry</code>, or null if not found.
+	 */
+	public synchronized JValue navigate(ThreadRuntime rt, Navigation nav, JValue key){
+		comparator.setRuntime(rt);
+		if (key != null) {
+			key = key.deref();
+		}
+		
+		Entry<JValue, JValue> entry = null;
+		switch(nav){
+		case FIRST:
+			entry = map.firstEntry();
+			break;
+		case LAST:
+			entry = map.lastEntry();
+			break;
+		case FLOOR:
+			entry = map.floorEntry(key);
+			break;
+		case CEILING:
+			entry = map.ceilingEntry(key);
+			break;
+		case LOWER:
+			entry = map.lowerEntry(key);
+			break;
+		case HIGHER:
+			entry = map.higherEntry(key);
+			break;
+		}
+		
+		if (entry == null) {
+			return TempValueFactory.createTempNullRefValue();
+		}
+		
+		return new RefValue(rt.getHeap(), newEntry(rt, entry.getKey(), entry.getValue()));
+	}
+	
+	/**
+	 * Create an array of the keys, or key-value pairs, within the range, in ascending order.
+	 * 
+	 * @param from the lower bound, inclusive. If null, start from the first key.
+	 * @param to the upper bound, exclusive. If null, end at the last key.
+	 */
+	public synchronized ObjectArrayValue range(ThreadRuntime rt, JValue from, JValue to, boolean entriesOrKeys){
+		comparator.setRuntime(rt);
+		from = from.deref();
+		to = to.deref();
+		NavigableMap<JValue, JValue> sub = map;
+		if (from != RefValue.NULL) {
+			if (to != RefValue.NULL) {
+				if (comparator.compare(from, to) >= 0) {
+					// TreeMap would throw if from > to, while we treat it as an empty range.
+					sub = Collections.emptyNavigableMap();
+				} else {
+					sub = map.subMap(from, true, to, false);
+				}
+			} else {
+				sub = map.tailMap(from, true);
+			}
+		} else if (to != RefValue.NULL) {
+			sub = map.headMap(to, false);
+		}
+		
+		return toArray(rt, sub, entriesOrKeys);
+	}
+	
+	/**
+	 * Create an array of all the keys, or key-value pairs, in ascending order.
+	 */
+	public synchronized ObjectArrayValue getAll(ThreadRuntime rt, boolean entriesOrKeys){
+		return toArray(rt, map, entriesOrKeys);
+	}
+	
+	private ObjectArrayValue toArray(ThreadRuntime rt, NavigableMap<JValue, JValue> sub, boolean entriesOrKeys){
+		ITypeTable tt = rt.getTypeTable();
+		MemoryArea mem = rt.getHeap();
+		int len = sub.size();
+		
+		// Create an untyped 1D array
+		ObjectArrayValue array = (ObjectArrayValue)ArrayValueFactory.createArrayValue(mem, tt, AnyType.getInstance(), len);
+		
+		int i = 0;
+		for (Entry<JValue, JValue> entry : sub.entrySet()) {
+			JValue val = entriesOrKeys 
+				? new RefValue(mem, newEntry(rt, entry.getKey(), entry.getValue()))
+				: copy(rt, entry.getKey());
+			val.assignTo(array.getValueAt(i));
+			i++;
+		}
+		
+		return array;
+	}
+	
+	private static ObjectValue newEntry(ThreadRuntime rt, JValue key, JValue value){
+		JClassType entryClassType = (JClassType) rt.getTypeTable().getType(EntryTypeName);
+		JClassConstructorMember entryClassCtor = entryClassType.getClassConstructors()[0];
+		NewObjExecutor noe = new NewObjExecutor(rt);
+		return noe.newObjectInternal(entryClassType, entryClassCtor, new Argument[]{
+			new Argument("key", key), new Argument("value", value)});
+	}
+	
+	private static JValue valueOf(JValue val){
+		return val == null ? TempValueFactory.createTempNullRefValue() : val;
+	}
+	
+	// Since we are bypassing the engine path, must ensure the copy semantics remain same
+	private static JValue copy(ThreadRuntime rt, JValue val){
+		MemoryArea mem = rt.getHeap();
+		val = val.deref();
+		return val.isBasic() ? ((BasicValue) val).replicateAs(val.getType(), mem) : new RefValue(mem, (ObjectValue)val);
+	}
+	
+	/**
+	 * Compares the keys natively, unless one of them is an object. The wrapper used to call into 
+	 * Julian is bound to the thread runtime, so it's re-created when the map is accessed from 
+	 * another thread.
+	 * <p>
+	 * Numbers are compared by value, and so are strings and characters. Keys of any other combination 
+	 * of kinds, as well as two objects neither of which implements <code style="color:green">IComparable</code>, 
+	 * cannot be ordered, and would otherwise collapse into a single key. A {@link RuntimeCheckException} is 
+	 * thrown for them instead.
+	 */
+	private static class KeyComparator implements Comparator<JValue> {
+
+		private static final int NUMBER = 0;
+		private static final int TEXT = 1;
+		private static final int BOOL = 2;
+		private static final int OBJECT = 3;
+		
+		private ThreadRuntime rt;
+		private SortedMapWrapper wrapper;
+		
+		private void setRuntime(ThreadRuntime rt) {
+			if (this.rt != rt) {
+				this.rt = rt;
+				this.wrapper = null;
+			}
+		}
+
+		@Override
+		public int compare(JValue v1, JValue v2) {
+			v1 = v1.deref();
+			v2 = v2.deref();
+			
+			int c1 = categorize(v1);
+			int c2 = categorize(v2);
+			if (c1 == OBJECT || c2 == OBJECT) {
+				return compareObjectValues(v1, v2);
+			}
+			
+			if (c1 != c2) {
+				throw incomparable(v1, v2);
+			}
+			
+			switch (c1) {
+			case NUMBER:
+				if (v1.getKind() == JValueKind.FLOAT || v2.getKind() == JValueKind.FLOAT) {
+					// A double holds both int and float exactly
+					return Double.compare(toDouble(v1), toDouble(v2));
+				} else {
+					return Integer.compare(toInt(v1), toInt(v2));
+				}
+			case TEXT:
+				return toText(v1).compareTo(toText(v2));
+			default: // BOOL
+				return Boolean.compare(((BoolValue)v1).getBoolValue(), ((BoolValue)v2).getBoolValue());
+			}
+		}
+		
+		private int compareObjectValues(JValue v1, JValue v2) {
+			if (!isComparable(v1) && !isComparable(v2)) {
+				throw incomparable(v1, v2);
+			}
+			
+			if (wrapper == null) {
+				wrapper = new SortedMapWrapper(rt);
+			}
+			
+			return wrapper.compare(v1, v2);
+		}
+		
+		private static int categorize(JValue val) {
+			switch (val.getKind()) {
+			case INTEGER:
+			case BYTE:
+			case FLOAT:
+				return NUMBER;
+			case CHAR:
+				return TEXT;
+			case BOOLEAN:
+				return BOOL;
+			default:
+				return StringValue.dereference(val, false) != null ? TEXT : OBJECT;
+			}
+		}
+		
+		private static boolean isComparable(JValue val) {
+			return val instanceof ObjectValue 
+				&& ((ObjectValue)val).getClassType().getImplementedInterface(SystemTypeNames.System_Util_IComparable) != null;
+		}
+		
+		private static int toInt(JValue val) {
+			return val.getKind() == JValueKind.BYTE ? ((ByteValue)val).getByteValue() : ((IntValue)val).getIntValue();
+		}
+		
+		private static double toDouble(JValue val) {
+			return val.getKind() == JValueKind.FLOAT ? ((FloatValue)val).getFloatValue() : toInt(val);
+		}
+		
+		private static String toText(JValue val) {
+			return val.getKind() == JValueKind.CHAR 
+				? String.valueOf(((CharValue)val).getCharValue()) 
+				: StringValue.dereference(val, false).getStringValue();
+		}
+		
+		private static RuntimeCheckException incomparable(JValue v1, JValue v2) {
+			return new RuntimeCheckException(
+				"Cannot compare a key of type " + v1.getType().getName() + " with a key of type " + v2.getType().getName() + 
+				". The keys of a sorted map must be numbers, strings (or chars), bools, or objects implementing System.Util.IComparable.");
+		}
+	}
+}
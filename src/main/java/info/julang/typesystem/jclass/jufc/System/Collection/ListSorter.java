@@ -0,0 +1,376 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import info.julang.execution.threading.ForkJoinRunner;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.external.interfaces.JValueKind;
+import info.julang.interpretation.RuntimeCheckException;
+import info.julang.interpretation.internal.FuncCallExecutor;
+import info.julang.memory.value.ByteValue;
+import info.julang.memory.value.CharValue;
+import info.julang.memory.value.FloatValue;
+import info.julang.memory.value.FuncValue;
+import info.julang.memory.value.IFuncValue;
+import info.julang.memory.value.IMethodValue;
+import info.julang.memory.value.IntValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.StringValue;
+
+/**
+ * The sorting algorithms used by {@link JList}, which operate on a snapshot of the list's elements.
+ * <p>
+ * If all the elements are integers (including bytes), chars, numbers or strings, they are sorted by 
+ * comparing the platform values directly, without calling back into Julian at all.
+ * <p>
+ * If sorted with a Julian comparator function, the function is resolved only once for each thread. 
+ * A large array can be sorted in parallel, by sorting the partitions in separate 
+ * {@link info.julang.execution.threading.JThread JThread}s and then merging them pairwise, also in 
+ * parallel. Each thread calls the comparator from its own runtime.
+ * 
+ * @author Ming Zhou
+ */
+final class ListSorter {
+
+	/** Arrays shorter than this are always sorted by the calling thread. */
+	static final int MIN_PARALLEL_SIZE = 8192;
+	
+	/** Each thread gets at least this many elements to sort. */
+	private static final int MIN_PARTITION_SIZE = 2048;
+	
+	private static enum SortKind {
+		INT,
+		CHAR,
+		NUMBER,
+		STRING
+	}
+	
+	//------------------------- native sorting -------------------------//
+	
+	/**
+	 * Sort the values in place by comparing the platform values, if they are all comparable natively.
+	 * The sorting is stable.
+	 * 
+	 * @return false if the values are not eligible for native sorting, in which case the array is untouched.
+	 */
+	static boolean sortNatively(JValue[] arr, boolean desc) {
+		int len = arr.length;
+		JValue[] vals = new JValue[len];
+		SortKind kind = null;
+		for (int i = 0; i < len; i++) {
+			if (arr[i] == null) {
+				return false;
+			}
+			
+			JValue v = arr[i].deref();
+			SortKind k = getSortKind(v);
+			if (k == null) {
+				return false;
+			} else if (kind == null || kind == k) {
+				kind = k;
+			} else if (isNumeric(kind) && isNumeric(k)) {
+				kind = SortKind.NUMBER;
+			} else {
+				return false;
+			}
+			
+			vals[i] = v;
+		}
+		
+		if (kind == null) {
+			return true; // Empty
+		}
+		
+		switch (kind) {
+		case INT:
+		case CHAR:
+			// Pack the value and the original index into a long, so that a primitive sort is also stable.
+			long[] packed = new long[len];
+			for (int i = 0; i < len; i++) {
+				int v = kind == SortKind.CHAR ? ((CharValue)vals[i]).getCharValue() : toInt(vals[i]);
+				if (desc) {
+					v = ~v; // Reverses the order without overflow
+				}
+				packed[i] = ((long)v << 32) | i;
+			}
+			
+			Arrays.sort(packed);
+			JValue[] copy = arr.clone();
+			for (int i = 0; i < len; i++) {
+				arr[i] = copy[(int)packed[i]];
+			}
+			
+			return true;
+		case NUMBER:
+			final double[] nums = new double[len];
+			for (int i = 0; i < len; i++) {
+				nums[i] = toDouble(vals[i]);
+			}
+			
+			sortByIndex(arr, desc, new Comparator<Integer>(){
+				@Override
+				public int compare(Integer i1, Integer i2) {
+					return Double.compare(nums[i1], nums[i2]);
+				}
+			});
+			
+			return true;
+		case STRING:
+			final String[] strs = new String[len];
+			for (int i = 0; i < len; i++) {
+				strs[i] = ((StringValue)vals[i]).getStringValue();
+			}
+			
+			sortByIndex(arr, desc, new Comparator<Integer>(){
+				@Override
+				public int compare(Integer i1, Integer i2) {
+					return strs[i1].compareTo(strs[i2]);
+				}
+			});
+			
+			return true;
+		default:
+			return false;
+		}
+	}
+	
+	private static SortKind getSortKind(JValue v) {
+		switch (v.getKind()) {
+		case INTEGER:
+		case BYTE:
+			return SortKind.INT;
+		case FLOAT:
+			return SortKind.NUMBER;
+		case CHAR:
+			return SortKind.CHAR;
+		default:
+			return v instanceof StringValue ? SortKind.STRING : null;
+		}
+	}
+	
+	private static boolean isNumeric(SortKind kind) {
+		return kind == SortKind.INT || kind == SortKind.NUMBER;
+	}
+	
+	private static int toInt(JValue v) {
+		return v.getKind() == JValueKind.BYTE ? ((ByteValue)v).getByteValue() : ((IntValue)v).getIntValue();
+	}
+	
+	private static double toDouble(JValue v) {
+		return v.getKind() == JValueKind.FLOAT ? ((FloatValue)v).getFloatValue() : toInt(v);
+	}
+	
+	// Sort the indices by the comparator over pre-extracted keys, then reorder the array accordingly.
+	private static void sortByIndex(JValue[] arr, final boolean desc, final Comparator<Integer> comp) {
+		int len = arr.length;
+		Integer[] indices = new Integer[len];
+		for (int i = 0; i < len; i++) {
+			indices[i] = i;
+		}
+		
+		Arrays.sort(indices, desc ? new Comparator<Integer>(){
+			@Override
+			public int compare(Integer i1, Integer i2) {
+				return comp.compare(i2, i1);
+			}
+		} : comp);
+		
+		JValue[] copy = arr.clone();
+		for (int i = 0; i < len; i++) {
+			arr[i] = copy[indices[i]];
+		}
+	}
+	
+	//------------------------- sorting by Julian function -------------------------//
+	
+	/**
+	 * Sort the values in place with a Julian comparator. The sorting is stable.
+	 * 
+	 * @param rt the runtime of the calling thread.
+	 * @param arr the values to sort.
+	 * @param func a function which takes two values and returns an integer.
+	 * @param parallelism the maximum number of threads to use, including the calling one.
+	 */
+	static void sortByFunction(ThreadRuntime rt, JValue[] arr, FuncValue func, int parallelism) {
+		int len = arr.length;
+		int threads = Math.min(parallelism, len / MIN_PARTITION_SIZE);
+		if (len < MIN_PARALLEL_SIZE || threads <= 1) {
+			Arrays.sort(arr, new FunctionComparator(rt, func));
+			return;
+		}
+		
+		// 1) Sort each partition
+		int[] bounds = new int[threads + 1];
+		for (int i = 0; i <= threads; i++) {
+			bounds[i] = (int)((long)len * i / threads);
+		}
+		
+		List<SortTask> tasks = new ArrayList<SortTask>();
+		for (int i = 0; i < threads; i++) {
+			tasks.add(new PartitionTask(arr, bounds[i], bounds[i + 1]));
+		}
+		
+		runTasks(rt, func, tasks);
+		
+		// 2) Merge the sorted partitions pairwise, halving the count of partitions each round
+		JValue[] src = arr;
+		JValue[] dst = new JValue[len];
+		for (int width = 1; width < threads; width *= 2) {
+			tasks.clear();
+			for (int i = 0; i < threads; i += 2 * width) {
+				int lo = bounds[i];
+				int mid = bounds[Math.min(i + width, threads)];
+				int hi = bounds[Math.min(i + 2 * width, threads)];
+				tasks.add(new MergeTask(src, dst, lo, mid, hi));
+			}
+			
+			runTasks(rt, func, tasks);
+			
+			JValue[] temp = src;
+			src = dst;
+			dst = temp;
+		}
+		
+		if (src != arr) {
+			System.arraycopy(src, 0, arr, 0, len);
+		}
+	}
+	
+	// Run the tasks in parallel through ForkJoinRunner. Each thread calls the function with its own comparator.
+	private static void runTasks(ThreadRuntime rt, final FuncValue func, List<SortTask> tasks) {
+		List<ForkJoinRunner.Task> runnables = new ArrayList<ForkJoinRunner.Task>(tasks.size());
+		for (final SortTask task : tasks) {
+			runnables.add(new ForkJoinRunner.Task(){
+				@Override
+				public void run(ThreadRuntime runtime) {
+					task.run(new FunctionComparator(runtime, func));
+				}
+			});
+		}
+		
+		ForkJoinRunner.run(rt, runnables, "list sorting");
+	}
+	
+	private static interface SortTask {
+		
+		void run(Comparator<JValue> comp);
+		
+	}
+	
+	private static class PartitionTask implements SortTask {
+		
+		private JValue[] arr;
+		private int from;
+		private int to;
+		
+		private PartitionTask(JValue[] arr, int from, int to) {
+			this.arr = arr;
+			this.from = from;
+			this.to = to;
+		}
+		
+		@Override
+		public void run(Comparator<JValue> comp) {
+			Arrays.sort(arr, from, to, comp);
+		}
+		
+	}
+	
+	private static class MergeTask implements SortTask {
+		
+		private JValue[] src;
+		private JValue[] dst;
+		private int lo;
+		private int mid;
+		private int hi;
+		
+		private MergeTask(JValue[] src, JValue[] dst, int lo, int mid, int hi) {
+			this.src = src;
+			this.dst = dst;
+			this.lo = lo;
+			this.mid = mid;
+			this.hi = hi;
+		}
+		
+		@Override
+		public void run(Comparator<JValue> comp) {
+			int i = lo, j = mid, k = lo;
+			while (i < mid && j < hi) {
+				// Take from the left on tie to keep the sort stable
+				dst[k++] = comp.compare(src[i], src[j]) <= 0 ? src[i++] : src[j++];
+			}
+			
+			while (i < mid) {
+				dst[k++] = src[i++];
+			}
+			
+			while (j < hi) {
+				dst[k++] = src[j++];
+			}
+		}
+		
+	}
+	
+	/**
+	 * Compares two values by calling a Julian function. The function is resolved once upon creation. 
+	 * An instance must be only used by the thread which owns the given runtime.
+	 */
+	private static class FunctionComparator implements Comparator<JValue> {
+		
+		private FuncCallExecutor exec;
+		private FuncValue func;
+		private String funcName;
+		private JValue instance;
+		
+		private FunctionComparator(ThreadRuntime rt, FuncValue func) {
+			this.exec = new FuncCallExecutor(rt);
+			this.exec.setLooseTyping(true);
+			this.func = func;
+			this.funcName = func.getType().getName();
+			if (func instanceof IMethodValue) {
+				this.instance = ((IMethodValue) func).getThisValue();
+			}
+		}
+		
+		@Override
+		public int compare(JValue v1, JValue v2) {
+			JValue res = exec.invokeFuncValueInternal(func, funcName, new JValue[]{ v1, v2 }, instance).deref();
+			switch (res.getKind()) {
+			case INTEGER:
+				return ((IntValue)res).getIntValue();
+			case BYTE:
+				return ((ByteValue)res).getByteValue();
+			default:
+				throw new RuntimeCheckException("The comparator for sorting a list must return an integer.");
+			}
+		}
+		
+	}
+}
@@ -50,7 +50,8 @@ public class ExceptionUtil {
 		@Override
 		protected void implementProvider(SimpleHostedMethodProvider provider) {
 			provider
-				.add("getStackTraceAsString", new GetStackTraceAsStringExecutor());
+				.add("getStackTraceAsString", new GetStackTraceAsStringExecutor())
+				.add("getStackTrace", new GetStackTraceExecutor());
 		}
 		
 	};
@@ -67,11 +68,28 @@ public class ExceptionUtil {
 		protected JValue apply(ThreadRuntime rt, Argument[] args) throws Exception {
 			ObjectValue ov = (ObjectValue)args[0].getValue().deref();
 			
-			String val = JulianScriptException.toStandardExceptionOutput(ov);
+			String val = JulianScriptException.toStandardExceptionOutput(rt.getTypeTable(), ov);
 			
 			StringValue sv = new StringValue(rt.getHeap(), val);
 			
 			return sv;
 		}
 	}
+	
+	private static class GetStackTraceExecutor extends StaticNativeExecutor<ExceptionUtil> {
+
+		GetStackTraceExecutor(){
+			super();
+		}
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, Argument[] args) throws Exception {
+			ObjectValue ov = (ObjectValue)args[0].getValue().deref();
+			
+			// The frames may be still pending formatting
+			JulianScriptException.flushStackTrace(rt.getTypeTable(), ov);
+			
+			return ov.getMemberValue("_stacktrace");
+		}
+	}
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Reflection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import info.julang.typesystem.jclass.ICompoundType;
+
+/**
+ * A cache of the resolutions made by a reflected member against the types of target objects.
+ * <p>
+ * When a reflected member is used on an object, the engine must check how the object's type is related to the 
+ * member's defining type, and possibly find the corresponding member on the object's type. The result only 
+ * depends on the object's type, so it's kept here for the subsequent calls made against objects of that type.
+ * <p>
+ * Only successful resolutions are cached. Each entry records the stamp of the type and is discarded if the type 
+ * has since changed. Since the types are keyed by name, an entry also records the type instance and is only used
+ * for that very instance, as a reloaded type has the same name.
+ * 
+ * @author Ming Zhou
+ */
+final class ReceiverTypeCache<T> {
+
+	private Map<ICompoundType, Entry<T>> entries = new ConcurrentHashMap<ICompoundType, Entry<T>>();
+	
+	/**
+	 * Get the resolution made against the given type.
+	 * 
+	 * @return null if no resolution has been made yet, or the cached one is out of date.
+	 */
+	T get(ICompoundType type){
+		Entry<T> entry = entries.get(type);
+		if (entry == null || entry.type != type || entry.stamp != type.getStamp()) {
+			return null;
+		}
+		
+		return entry.value;
+	}
+	
+	void put(ICompoundType type, T value){
+		entries.put(type, new Entry<T>(type, value));
+	}
+	
+	private static class Entry<T> {
+		
+		private final ICompoundType type;
+		private final T value;
+		private final int stamp;
+		
+		private Entry(ICompoundType type, T value){
+			this.type = type;
+			this.value = value;
+			this.stamp = type.getStamp();
+		}
+	}
+}
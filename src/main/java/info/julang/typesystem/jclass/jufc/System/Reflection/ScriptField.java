@@ -87,6 +87,9 @@ public class ScriptField extends ScriptMemberBase {
 	
 	private JClassFieldMember jfield;
 	
+	// The types of target objects on which the field has been found accessible.
+	private final ReceiverTypeCache<Boolean> accessibleTypes = new ReceiverTypeCache<Boolean>();
+	
 	public void setField(JClassFieldMember jtyp){
 		this.jfield = jtyp;
 	}
@@ -208,49 +211,10 @@ public class ScriptField extends ScriptMemberBase {
 				throw new ReflectedInvocationException("Cannot access to an instance field without a instance as the target.");
 			}
 
-			ICompoundType defType = jfield.getDefiningType();
 			JClassType objType = inst.getClassType();
+			checkInstanceAccess(objType);
 			
-			// if objType == defType, allow
-			// if objType : defType, if member.visibility == Pub/Pro, allow - although the member might be a private that hides the inherited
-			// if defType : objType, if member.visibility == Pub/Pro and a member of same name/visibility is defined on objType, allow
-			// if two types are not related, disallow
-			boolean set = false;
-			if (objType == defType) {
-				set = setInstanceField(rt, inst, value, fname, objType);
-			} else if (objType.isDerivedFrom(defType, false)) {
-				if (jfield.getAccessibility().isSubclassVisible()){
-					set = setInstanceField(rt, inst, value, fname, objType);
-				} else {
-					throw new ReflectedInvocationException(
-						"Cannot access to a non-public/protected field on an object which is derived from the field's defining class.");
-				}
-			} else if (defType.isDerivedFrom(objType, false)) {
-				boolean found = false;
-				Accessibility acc = jfield.getAccessibility();
-				if (acc.isSubclassVisible()){
-					JClassType objClassType = (JClassType)objType;
-					OneOrMoreList<ClassMemberLoaded> mems = objClassType.getMembers(false).getLoadedMemberByName(fname);
-					for(ClassMemberLoaded mem : mems){
-						JClassMember jcm = mem.getClassMember();
-						if (jcm.getMemberType() == MemberType.FIELD && jcm.getAccessibility().isSubclassVisible()) {
-							set = setInstanceField(rt, inst, value, fname, objClassType);
-							found = true;
-							break;
-						}
-					}
-				}
-				
-				if (!found) {
-					throw new ReflectedInvocationException(
-						"Cannot access to a field on an object of type that is the ancestor of the field's defining class. " + 
-						"Such access is only allowed if the field is also defined on the object's type with visibility to subclasses.");
-				}
-			} else {
-				throw new ReflectedInvocationException(
-					"Cannot access to a field on an object which is of neither the field's declaring type, " + 
-					"nor any type on the declaring type's class heirarchy.");
-			}
+			boolean set = setInstanceField(rt, inst, value, fname, objType);
 			
 			if (!set) {
 				throw new ReflectedInvocationException("Unable to find corresponding field member on the given target.");
@@ -300,44 +264,57 @@ public class ScriptField extends ScriptMemberBase {
 				throw new ReflectedInvocationException("Cannot access to an instance field without a instance as the target.");
 			}
 
-			ICompoundType defType = jfield.getDefiningType();
-			JClassType objType = inst.getClassType();
-			
-			// if objType == defType, allow
-			// if objType : defType, if member.visibility == Pub/Pro, allow
-			// if defType : objType, if member.visibility == Pub/Pro and a member of same name/visibility is defined on objType, allow
-			// if two types are not related, disallow
-			if (objType == defType) {
-				return inst.getMemberValue(fname);
-			} else if (objType.isDerivedFrom(defType, false)) {
-				if (jfield.getAccessibility().isSubclassVisible()){
-					return inst.getMemberValue(fname);
-				} else {
-					throw new ReflectedInvocationException(
-						"Cannot access to a non-public/protected field on an object which is derived from the field's defining class.");
-				}
-			} else if (defType.isDerivedFrom(objType, false)) {
-				Accessibility acc = jfield.getAccessibility();
-				if (acc.isSubclassVisible()){
-					JClassType objClassType = (JClassType)objType;
-					OneOrMoreList<ClassMemberLoaded> mems = objClassType.getMembers(false).getLoadedMemberByName(fname);
-					for(ClassMemberLoaded mem : mems){
-						JClassMember jcm = mem.getClassMember();
-						if (jcm.getMemberType() == MemberType.FIELD && jcm.getAccessibility().isSubclassVisible()) {
-							return inst.getMemberValue(fname);
-						}
+			checkInstanceAccess(inst.getClassType());
+			return inst.getMemberValue(fname);
+		}
+	}
+	
+	/**
+	 * Check if the field can be accessed on an object of the given type. This throws if the access is not allowed.
+	 * <p>
+	 * The result is cached for each type of target objects, so the check is only made once per type.
+	 */
+	private void checkInstanceAccess(JClassType objType) {
+		ICompoundType defType = jfield.getDefiningType();
+		if (objType == defType || accessibleTypes.get(objType) != null) {
+			return;
+		}
+		
+		// if objType == defType, allow
+		// if objType : defType, if member.visibility == Pub/Pro, allow - although the member might be a private that hides the inherited
+		// if defType : objType, if member.visibility == Pub/Pro and a member of same name/visibility is defined on objType, allow
+		// if two types are not related, disallow
+		if (objType.isDerivedFrom(defType, false)) {
+			if (!jfield.getAccessibility().isSubclassVisible()){
+				throw new ReflectedInvocationException(
+					"Cannot access to a non-public/protected field on an object which is derived from the field's defining class.");
+			}
+		} else if (defType.isDerivedFrom(objType, false)) {
+			boolean found = false;
+			Accessibility acc = jfield.getAccessibility();
+			if (acc.isSubclassVisible()){
+				OneOrMoreList<ClassMemberLoaded> mems = objType.getMembers(false).getLoadedMemberByName(jfield.getName());
+				for(ClassMemberLoaded mem : mems){
+					JClassMember jcm = mem.getClassMember();
+					if (jcm.getMemberType() == MemberType.FIELD && jcm.getAccessibility().isSubclassVisible()) {
+						found = true;
+						break;
 					}
 				}
-				
+			}
+			
+			if (!found) {
 				throw new ReflectedInvocationException(
 					"Cannot access to a field on an object of type that is the ancestor of the field's defining class. " + 
 					"Such access is only allowed if the field is also defined on the object's type with visibility to subclasses.");
-			} else {
-				throw new ReflectedInvocationException(
-					"Cannot access to a field on an object which is of neither the field's declaring type, " + 
-					"nor any type on the declaring type's class heirarchy.");
 			}
+		} else {
+			throw new ReflectedInvocationException(
+				"Cannot access to a field on an object which is of neither the field's declaring type, " + 
+				"nor any type on the declaring type's class heirarchy.");
 		}
+		
+		accessibleTypes.put(objType, Boolean.TRUE);
 	}
 
 	public String getName() {
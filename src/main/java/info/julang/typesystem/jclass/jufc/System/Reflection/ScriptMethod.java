@@ -89,6 +89,10 @@ public class ScriptMethod extends ScriptMemberBase {
 	
 	private JClassMethodMember jmethod;
 	
+	// The methods to invoke, resolved against the types of target objects, with and without dynamic dispatching.
+	private final ReceiverTypeCache<JClassMethodMember> dynamicTargets = new ReceiverTypeCache<JClassMethodMember>();
+	private final ReceiverTypeCache<JClassMethodMember> exactTargets = new ReceiverTypeCache<JClassMethodMember>();
+	
 	public void setMethod(JClassMethodMember jtyp){
 		this.jmethod = jtyp;
 	}
@@ -238,16 +242,21 @@ public class ScriptMethod extends ScriptMemberBase {
 			
 			ICompoundType valType = (ICompoundType)typ;
 			FuncCallExecutor fcall = new FuncCallExecutor(rt);
+			JClassMethodMember target = null;
 			if (valType == defType) {
 				// SHARED CASE: 'this' is of the same type on which the method is defined.
-				val = invokeInstance(rt, jmethod, fcall, av, thisVal);
+				target = jmethod;
 			} else {
-				if (dynamic) {
-					val = invokeDynamic(rt, av, valType, defType, fcall, thisVal);
-				} else {
-					val = invokeExact(rt, av, valType, defType, fcall, thisVal);
+				// The resolution is only made once for each type of target objects.
+				ReceiverTypeCache<JClassMethodMember> targets = dynamic ? dynamicTargets : exactTargets;
+				target = targets.get(valType);
+				if (target == null) {
+					target = dynamic ? resolveDynamic(valType, defType) : resolveExact(valType, defType);
+					targets.put(valType, target);
 				}
 			}
+			
+			val = invokeInstance(rt, target, fcall, av, thisVal);
 		}
 		
 		return val;
@@ -365,14 +374,13 @@ public class ScriptMethod extends ScriptMemberBase {
 	}
 
 	/**
-	 * Invoke the instance method as is.
+	 * Resolve the instance method to be invoked as is.
 	 * <p>
 	 * If 'this' object is of the same type in which the method is defined (a.k.a. defining type), there shouldn't 
 	 * be any problem. If 'this' object is derived of the defining type, we would allow it as long as the member is 
 	 * visible to the offspring type. This methods throws in all other cases.
 	 */
-	private JValue invokeExact(ThreadRuntime rt, ArrayValue av, ICompoundType valType, ICompoundType defType, FuncCallExecutor fcall, JValue thisVal) {
-		JValue val = null;
+	private JClassMethodMember resolveExact(ICompoundType valType, ICompoundType defType) {
 		if (valType.isDerivedFrom(defType, false)){
 			// CASE 1: 'this' is of derived type of method's defining type.
 			
@@ -382,17 +390,15 @@ public class ScriptMethod extends ScriptMemberBase {
 					"Cannot invoke a non-public/protected method against an object which is derived from the method's defining class.");
 			}
 			
-			val = invokeInstance(rt, jmethod, fcall, av, thisVal);
+			return jmethod;
 		} else {
 			throw new ReflectedInvocationException(
 				"Cannot invoke, as-is, an instance method against an object which is of neither the method's declaring type, nor an ancestor type thereof.");
 		}
-		
-		return val;
 	}
 
 	/**
-	 * Invoke the instance method by dynamic dispatching. 
+	 * Resolve the instance method to be invoked by dynamic dispatching. 
 	 * <p>
 	 * The method which is actually invoked is not necessarily the one represented by the current instance of 
 	 * {@link ScriptMethod}. If it's a public/protected instance method, will try to find the appropriate method of 
@@ -401,8 +407,7 @@ public class ScriptMethod extends ScriptMemberBase {
 	 * is derived, it's guaranteed that a method of corresponding signature can be retrieved; if the method's defining 
 	 * type is a subclass of the object's type, there is a chance that the method is also present on the target object.
 	 */
-	private JValue invokeDynamic(ThreadRuntime rt, ArrayValue av, ICompoundType valType, ICompoundType defType, FuncCallExecutor fcall, JValue thisVal) {
-		JValue val = null;
+	private JClassMethodMember resolveDynamic(ICompoundType valType, ICompoundType defType) {
 		if (valType.isDerivedFrom(defType, false)){
 			// CASE 1: 'this' is of derived type of method's defining type.
 			
@@ -419,7 +424,7 @@ public class ScriptMethod extends ScriptMemberBase {
 				throw new JSEError("A method with same signature cannot be found on the given object despite it having a class on which the method is defined or inherited.");
 			}
 			
-			val = invokeInstance(rt, jmethodOnVal, fcall, av, thisVal);
+			return jmethodOnVal;
 		} else if (defType.isDerivedFrom(valType, false)){
 			// CASE 2: 'this' is a parent type of method's defining type.
 			
@@ -437,13 +442,11 @@ public class ScriptMethod extends ScriptMemberBase {
 					"A method with same signature cannot be found on the given object, which has a type that is the ancestor of the method's defining class.");
 			}
 			
-			val = invokeInstance(rt, jmethodOnVal, fcall, av, thisVal);
+			return jmethodOnVal;
 		} else {
 			throw new ReflectedInvocationException(
 				"Cannot invoke an instance method against an object which is of neither the method's declaring type, nor any type on the declaring type's class heirarchy.");
 		}
-		
-		return val;
 	}
 	
 	private JValue invokeInstance(ThreadRuntime rt, JClassMethodMember methodMem, FuncCallExecutor fcall, ArrayValue args, JValue thisVal){
@@ -24,8 +24,10 @@ SOFTWARE.
 
 package info.julang.typesystem.jclass.jufc.System.Reflection;
 
+import info.julang.JSERuntimeException;
 import info.julang.execution.Argument;
 import info.julang.execution.security.PACON;
+import info.julang.execution.symboltable.AttributeIndex.Target;
 import info.julang.execution.threading.ThreadRuntime;
 import info.julang.execution.threading.ThreadRuntimeHelper;
 import info.julang.execution.threading.ThreadRuntimeHelper.IObjectPopulater;
@@ -34,7 +36,11 @@ import info.julang.hosting.SimpleHostedMethodProvider;
 import info.julang.hosting.execution.CtorNativeExecutor;
 import info.julang.hosting.execution.InstanceNativeExecutor;
 import info.julang.hosting.execution.StaticNativeExecutor;
+import info.julang.interpretation.ReflectedInvocationException;
+import info.julang.interpretation.context.Context;
+import info.julang.interpretation.errorhandling.JulianScriptException;
 import info.julang.interpretation.syntax.ClassDeclInfo;
+import info.julang.interpretation.syntax.ParsedTypeName;
 import info.julang.memory.value.ArrayValue;
 import info.julang.memory.value.HostedValue;
 import info.julang.memory.value.JValue;
@@ -44,13 +50,22 @@ import info.julang.modulesystem.ClassInfo;
 import info.julang.modulesystem.IModuleManager;
 import info.julang.modulesystem.ModuleInfo;
 import info.julang.modulesystem.ScriptInfo;
+import info.julang.typesystem.JType;
 import info.julang.typesystem.jclass.Accessibility;
+import info.julang.typesystem.jclass.ICompoundType;
 import info.julang.typesystem.jclass.JClassConstructorMember;
+import info.julang.typesystem.jclass.JClassMember;
 import info.julang.typesystem.jclass.JClassType;
 import info.julang.typesystem.jclass.jufc.FoundationModulesInfo;
+import info.julang.typesystem.jclass.jufc.System.ScriptType;
+import info.julang.typesystem.loading.LoadingInitiative;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 public class ScriptModule {
 
@@ -67,6 +82,8 @@ public class ScriptModule {
                 .add("find", new FindExecutor())
                 .add("getName", new GetNameExecutor())
                 .add("getTypes", new GetTypesExecutor())
+                .add("getTypesWithAttribute", new GetTypesWithAttributeExecutor())
+                .add("getMembersWithAttribute", new GetMembersWithAttributeExecutor())
             	.add("getScripts", new GetScriptsExecutor());
         }
         
@@ -122,6 +139,36 @@ public class ScriptModule {
         
     }
     
+    private static class GetTypesWithAttributeExecutor extends InstanceNativeExecutor<ScriptModule> {
+        
+    	GetTypesWithAttributeExecutor(){
+    		super(PACON.Reflection.Name, PACON.Reflection.Op_load);
+    	}
+    	
+        @Override
+        protected JValue apply(ThreadRuntime rt, ScriptModule sm, Argument[] args) throws Exception {
+            String attrTypeName = getString(args, 0);
+            JValue typs = sm.getTypesWithAttribute(rt, attrTypeName);
+            return typs;
+        }
+        
+    }
+    
+    private static class GetMembersWithAttributeExecutor extends InstanceNativeExecutor<ScriptModule> {
+        
+    	GetMembersWithAttributeExecutor(){
+    		super(PACON.Reflection.Name, PACON.Reflection.Op_load);
+    	}
+    	
+        @Override
+        protected JValue apply(ThreadRuntime rt, ScriptModule sm, Argument[] args) throws Exception {
+            String attrTypeName = getString(args, 0);
+            JValue mems = sm.getMembersWithAttribute(rt, attrTypeName);
+            return mems;
+        }
+        
+    }
+    
     private static class GetScriptsExecutor extends InstanceNativeExecutor<ScriptModule> {
         
         @Override
@@ -159,19 +206,8 @@ public class ScriptModule {
 
 	public ArrayValue getTypes(ThreadRuntime rt) {
     	// 1) Filter types to return. 
-    	//    If this is system module, only public types are returned
-    	//    If this is user module, all types are returned
     	// (Note the filtering doesn't honor Reflected attribute, which at this time cannot be accessed yet since the types are not loaded.)
-    	boolean isSys = FoundationModulesInfo.isFoundationModule(this.module.getName());
-		List<ClassInfo> infos = this.module.getClasses();
-		List<ClassInfo> filtered = new ArrayList<ClassInfo>(infos.size());
-		for(ClassInfo info : infos){
-			ClassDeclInfo cdl = info.getClassDeclInfo();
-			Accessibility acc = cdl.getAccessibility();
-			if (acc == Accessibility.PUBLIC || !isSys) {
-				filtered.add(info);
-			}
-		}
+		List<ClassInfo> filtered = getVisibleClasses();
 		
 		final ClassInfo[] infoArray = new ClassInfo[filtered.size()];
 		filtered.toArray(infoArray);
@@ -202,6 +238,106 @@ public class ScriptModule {
 		return array;
 	}
 
+	public ArrayValue getTypesWithAttribute(ThreadRuntime rt, String attrTypeName) {
+		// 1) Find all the types annotated with the attribute
+		Set<ICompoundType> typs = loadTypes(rt);
+		List<JValue> vals = new ArrayList<JValue>();
+		for (Target t : rt.getTypeTable().getAttributeIndex().get(attrTypeName)) {
+			ICompoundType ict = t.getType();
+			if (t.getMember() == null && typs.contains(ict)) {
+				vals.add(ThreadRuntimeHelper.getScriptTypeObject(rt, ict));
+			}
+		}
+		
+		// 2) Create an array of System.Type
+		JClassType typ = (JClassType)ThreadRuntimeHelper.loadSystemType(rt, ScriptType.FQCLASSNAME);
+		ArrayValue array = ThreadRuntimeHelper.createAndPopulateArrayValue(rt, typ, vals.toArray(new JValue[vals.size()]));
+		
+		return array;
+	}
+	
+	public ArrayValue getMembersWithAttribute(ThreadRuntime rt, String attrTypeName) {
+		// 1) Find all the types declaring any member annotated with the attribute
+		Set<ICompoundType> typs = loadTypes(rt);
+		Set<ICompoundType> declTyps = new LinkedHashSet<ICompoundType>();
+		for (Target t : rt.getTypeTable().getAttributeIndex().get(attrTypeName)) {
+			ICompoundType ict = t.getType();
+			if (t.getMember() != null && typs.contains(ict)) {
+				declTyps.add(ict);
+			}
+		}
+		
+		// 2) Collect the members visible to reflection from each type
+		List<JClassMember> members = new ArrayList<JClassMember>();
+		for (ICompoundType ict : declTyps) {
+			ScriptType st = new ScriptType();
+			st.setType(ict);
+			members.addAll(st.getMembersWithAttribute0(rt, attrTypeName));
+		}
+		
+		// 3) Create an array of System.Reflection.Member
+		return ScriptType.createMemberArray(rt, members);
+	}
+	
+	/**
+	 * Load all the types in this module which are visible to reflection. The attribute index is populated
+	 * as a side effect of loading, so this must be called before querying the index against this module.
+	 * 
+	 * @return the loaded types. Compared by identity, so that a type with the same name but from an earlier 
+	 * loading can be told apart.
+	 */
+	private Set<ICompoundType> loadTypes(ThreadRuntime rt) {
+		List<ClassInfo> infos = getVisibleClasses();
+		Set<ICompoundType> typs = Collections.newSetFromMap(new IdentityHashMap<ICompoundType, Boolean>());
+		Context context = null;
+		for (ClassInfo info : infos) {
+			String fqname = info.getFQName();
+			JType typ = rt.getTypeTable().getType(fqname, true);
+			if (typ == null) {
+				if (context == null) {
+					context = Context.createSystemLoadingContext(rt);
+				}
+				
+				try {
+					typ = rt.getTypeResolver().resolveType(
+						context, ParsedTypeName.makeFromFullName(fqname), true, LoadingInitiative.DYNAMIC);
+				} catch (JSERuntimeException jrt) {
+					JulianScriptException jre = jrt.toJSE(rt, context);
+					throw new ReflectedInvocationException(
+						"Failed when loading type through reflection.", jre);
+				} catch (JulianScriptException jre) {
+					throw new ReflectedInvocationException(
+						"Failed when loading type through reflection.", jre);
+				}
+			}
+			
+			if (typ instanceof ICompoundType) {
+				typs.add((ICompoundType)typ);
+			}
+		}
+		
+		return typs;
+	}
+	
+	/**
+	 * If this is system module, only public types are returned.
+	 * If this is user module, all types are returned.
+	 */
+	private List<ClassInfo> getVisibleClasses() {
+    	boolean isSys = FoundationModulesInfo.isFoundationModule(this.module.getName());
+		List<ClassInfo> infos = this.module.getClasses();
+		List<ClassInfo> filtered = new ArrayList<ClassInfo>(infos.size());
+		for(ClassInfo info : infos){
+			ClassDeclInfo cdl = info.getClassDeclInfo();
+			Accessibility acc = cdl.getAccessibility();
+			if (acc == Accessibility.PUBLIC || !isSys) {
+				filtered.add(info);
+			}
+		}
+		
+		return filtered;
+	}
+
 	private String getName(ThreadRuntime rt) {       
         return module.getName();
     }
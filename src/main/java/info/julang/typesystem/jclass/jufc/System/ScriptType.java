@@ -25,16 +25,19 @@ SOFTWARE.
 package info.julang.typesystem.jclass.jufc.System;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import info.julang.JSERuntimeException;
 import info.julang.execution.Argument;
 import info.julang.execution.security.PACON;
+import info.julang.execution.symboltable.AttributeIndex.Target;
 import info.julang.execution.symboltable.ITypeTable;
 import info.julang.execution.threading.ThreadRuntime;
 import info.julang.execution.threading.ThreadRuntimeHelper;
 import info.julang.execution.threading.ThreadRuntimeHelper.IObjectPopulater;
+import info.julang.external.exceptions.JSEError;
 import info.julang.hosting.HostedMethodProviderFactory;
 import info.julang.hosting.SimpleHostedMethodProvider;
 import info.julang.hosting.execution.InstanceNativeExecutor;
@@ -92,6 +95,8 @@ public class ScriptType {
 		
 	public static final String FQCLASSNAME = "System.Type";
 	
+	private static final String MEMBER_FQCLASSNAME = "System.Reflection.Member";
+	
 	//----------------- IRegisteredMethodProvider -----------------//
 	
 	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FQCLASSNAME){
@@ -112,7 +117,8 @@ public class ScriptType {
 				.add("getParent", new GetParentExecutor())
 				.add("getInterfaces", new GetInterfacesExecutor())
 				.add("getExtensions", new GetExtensionsExecutor())
-				.add("getAttributes", new GetAttributesExecutor());
+				.add("getAttributes", new GetAttributesExecutor())
+				.add("getMembersWithAttribute", new GetMembersWithAttributeExecutor());
 		}
 		
 	};
@@ -227,6 +233,18 @@ public class ScriptType {
 		
 	}
 	
+	private static class GetMembersWithAttributeExecutor extends InstanceNativeExecutor<ScriptType> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, ScriptType st, Argument[] args) throws Exception {
+			String attrTypeName = getString(args, 0);
+			ArrayValue av = st.getMembersWithAttribute(rt, attrTypeName);
+			JValue res = TempValueFactory.createTempRefValue(av);
+			return res;
+		}
+		
+	}
+	
 	private static class GetCtorsExecutor extends InstanceNativeExecutor<ScriptType> {
 		
 		@Override
@@ -332,23 +350,26 @@ public class ScriptType {
 		return jtyp.getName();
 	}
 
-	private static JClassType[] specialTyps = null; 
-	
-	private static JClassType[] getSpecialTypes(){
-		if (specialTyps == null) {
-			synchronized(ScriptType.class) {
-				if (specialTyps == null) {
-					specialTyps = new JClassType[] {
-						JFunctionType.getInstance(),
-						JArrayBaseType.getInstance(),
-						JAttributeBaseType.getInstance(),
-						JEnumBaseType.getInstance()
-					};
-				}
-			}
+	private static volatile List<JClassType> specialTyps = null; 
+	
+	// The built-in types can be rebuilt when the class loader is recycled, in which case the cached list is replaced.
+	private static List<JClassType> getSpecialTypes(){
+		List<JClassType> typs = specialTyps;
+		if (typs == null
+			|| typs.get(0) != JFunctionType.getInstance()
+			|| typs.get(1) != JArrayBaseType.getInstance()
+			|| typs.get(2) != JAttributeBaseType.getInstance()
+			|| typs.get(3) != JEnumBaseType.getInstance()) {
+			typs = Collections.unmodifiableList(Arrays.asList(new JClassType[] {
+				JFunctionType.getInstance(),
+				JArrayBaseType.getInstance(),
+				JAttributeBaseType.getInstance(),
+				JEnumBaseType.getInstance()
+			}));
+			specialTyps = typs;
 		}
 		
-		return specialTyps;
+		return typs;
 	}
 	
 	public ArrayValue getFields(ThreadRuntime rt) {
@@ -438,6 +459,76 @@ public class ScriptType {
 		return array;
 	}
 
+	public ArrayValue getMembersWithAttribute(ThreadRuntime rt, String attrTypeName) {
+		List<JClassMember> members = getMembersWithAttribute0(rt, attrTypeName);
+		return createMemberArray(rt, members);
+	}
+	
+	/**
+	 * Get the members declared on this type which are annotated with the given attribute and visible to reflection.
+	 * The members are looked up from the attribute index, in the order they were loaded.
+	 */
+	public List<JClassMember> getMembersWithAttribute0(ThreadRuntime rt, String attrTypeName) {
+		List<JClassMember> members = new ArrayList<JClassMember>();
+		if (jtyp.isObject()){
+			for (Target t : rt.getTypeTable().getAttributeIndex().get(attrTypeName, (ICompoundType)jtyp)) {
+				JClassMember mem = t.getMember();
+				if (mem != null) {
+					switch (mem.getMemberType()) {
+					case CONSTRUCTOR:
+					case METHOD:
+					case FIELD:
+						members.add(mem);
+						break;
+					default:
+						break;
+					}
+				}
+			}
+			
+			if (members.size() > 0) {
+				TypeValue tv = rt.getTypeTable().getValue(jtyp.getName());
+				members = filter(tv, members);
+			}
+		}
+
+		return members;
+	}
+	
+	/**
+	 * Create an array of <code style="color:green">System.Reflection.Member</code>, with each element being
+	 * a Constructor, Method or Field depending on the kind of the corresponding member.
+	 */
+	public static ArrayValue createMemberArray(ThreadRuntime rt, List<JClassMember> members) {
+		JValue[] vals = new JValue[members.size()];
+		for (int i = 0; i < vals.length; i++) {
+			JClassMember mem = members.get(i);
+			HostedValue hv;
+			switch (mem.getMemberType()) {
+			case CONSTRUCTOR:
+				hv = (HostedValue)ThreadRuntimeHelper.instantiateSystemType(rt, ScriptCtor.FQCLASSNAME, null);
+				((ScriptCtor)hv.getHostedObject()).setCtor((JClassConstructorMember)mem);
+				break;
+			case METHOD:
+				hv = (HostedValue)ThreadRuntimeHelper.instantiateSystemType(rt, ScriptMethod.FQCLASSNAME, null);
+				((ScriptMethod)hv.getHostedObject()).setMethod((JClassMethodMember)mem);
+				break;
+			case FIELD:
+				hv = (HostedValue)ThreadRuntimeHelper.instantiateSystemType(rt, ScriptField.FQCLASSNAME, null);
+				((ScriptField)hv.getHostedObject()).setField((JClassFieldMember)mem);
+				break;
+			default:
+				throw new JSEError("Cannot reflect on a member of type " + mem.getMemberType().name() + ".");
+			}
+			
+			vals[i] = hv;
+		}
+		
+		JType typ = ThreadRuntimeHelper.loadSystemType(rt, MEMBER_FQCLASSNAME);
+		ArrayValue array = ThreadRuntimeHelper.createAndPopulateArrayValue(rt, typ, vals);
+		return array;
+	}
+	
 	private JClassMethodMember[] getMethods0(ThreadRuntime rt) {
 		if (jtyp.isObject()){
 			List<JClassMember> l1 = collectMembers(rt);
@@ -507,8 +598,7 @@ public class ScriptType {
 			ICompoundType ict = (ICompoundType)jtyp;
 			if (ict.isClassType()) {
 				JClassType jct = (JClassType)jtyp;
-				JClassType[] specialTyps = getSpecialTypes();
-				for (JClassType spt : specialTyps) {
+				for (JClassType spt : getSpecialTypes()) {
 					if (jct.isDerivedFrom(spt, true)){
 						return new JClassConstructorMember[0];
 					}
@@ -29,12 +29,8 @@ public class AOTRawScriptInfo$Extension extends RawScriptInfo {
         
         m_classes = new ArrayList<RawClassInfo>();
         m_classes.add(new RawClassInfo("IIterableExtension", new AOTClassDeclInfo_IIterableExtension (this)));
-        m_classes.add(new RawClassInfo("LazyIterable", new AOTClassDeclInfo_LazyIterable (this)));
-        m_classes.add(new RawClassInfo("TruncateIterator", new AOTClassDeclInfo_TruncateIterator (this)));
-        m_classes.add(new RawClassInfo("ConcatIterator", new AOTClassDeclInfo_ConcatIterator (this)));
-        m_classes.add(new RawClassInfo("FilterIterator", new AOTClassDeclInfo_FilterIterator (this)));
-        m_classes.add(new RawClassInfo("MappingIterator", new AOTClassDeclInfo_MappingIterator (this)));
-        m_classes.add(new RawClassInfo("ZippingIterator", new AOTClassDeclInfo_ZippingIterator (this)));
+        m_classes.add(new RawClassInfo("Pipeline", new AOTClassDeclInfo_Pipeline (this)));
+        m_classes.add(new RawClassInfo("PipelineIterator", new AOTClassDeclInfo_PipelineIterator (this)));
         m_classes.add(new RawClassInfo("SetFilterer", new AOTClassDeclInfo_SetFilterer (this)));
 
         m_requirements = new ArrayList<RequirementInfo>();
@@ -117,16 +113,16 @@ public class AOTRawScriptInfo$Extension extends RawScriptInfo {
     }
     
         
-    class AOTClassDeclInfo_LazyIterable extends LazyClassDeclInfo {
+    class AOTClassDeclInfo_Pipeline extends LazyClassDeclInfo {
 
-        public AOTClassDeclInfo_LazyIterable(RawScriptInfo minfo) {
+        public AOTClassDeclInfo_Pipeline(RawScriptInfo minfo) {
             super(minfo);
             
             m_parentNames.add(ParsedTypeName.makeFromFullName("IIterable"));
         }
 
         private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
-        private FQName m_fullName = new FQName("System.Util.LazyIterable");
+        private FQName m_fullName = new FQName("System.Util.Pipeline");
         
         public List<ParsedTypeName> getParentTypes(){
             return m_parentNames;
@@ -137,7 +133,7 @@ public class AOTRawScriptInfo$Extension extends RawScriptInfo {
         }
         
         public String getName(){
-            return "LazyIterable";
+            return "Pipeline";
         }
 
         public ClassSubtype getSubtype() {
@@ -175,16 +171,16 @@ public class AOTRawScriptInfo$Extension extends RawScriptInfo {
     }
     
         
-    class AOTClassDeclInfo_TruncateIterator extends LazyClassDeclInfo {
+    class AOTClassDeclInfo_PipelineIterator extends LazyClassDeclInfo {
 
-        public AOTClassDeclInfo_TruncateIterator(RawScriptInfo minfo) {
+        public AOTClassDeclInfo_PipelineIterator(RawScriptInfo minfo) {
             super(minfo);
             
             m_parentNames.add(ParsedTypeName.makeFromFullName("IIterator"));
         }
 
         private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
-        private FQName m_fullName = new FQName("System.Util.TruncateIterator");
+        private FQName m_fullName = new FQName("System.Util.PipelineIterator");
         
         public List<ParsedTypeName> getParentTypes(){
             return m_parentNames;
@@ -195,239 +191,7 @@ public class AOTRawScriptInfo$Extension extends RawScriptInfo {
         }
         
         public String getName(){
-            return "TruncateIterator";
-        }
-
-        public ClassSubtype getSubtype() {
-            return ClassSubtype.CLASS;
-        }
-        
-        public boolean isFinal() {
-            return false;
-        }
-        
-        public boolean isConst() {
-            return false;
-        }
-        
-        public boolean isHosted() {
-            return false;
-        }
-        
-        public boolean isAbstract() {
-            return false;
-        }
-
-        public boolean isStatic() {
-            return false;
-        }
-
-        public Accessibility getAccessibility() {
-            return Accessibility.MODULE;
-        }
-        
-        public boolean isAccessibilitySet(){
-            return true;
-        }
-
-    }
-    
-        
-    class AOTClassDeclInfo_ConcatIterator extends LazyClassDeclInfo {
-
-        public AOTClassDeclInfo_ConcatIterator(RawScriptInfo minfo) {
-            super(minfo);
-            
-            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterator"));
-        }
-
-        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
-        private FQName m_fullName = new FQName("System.Util.ConcatIterator");
-        
-        public List<ParsedTypeName> getParentTypes(){
-            return m_parentNames;
-        }
-        
-        public FQName getFQName() {
-            return m_fullName;
-        }
-        
-        public String getName(){
-            return "ConcatIterator";
-        }
-
-        public ClassSubtype getSubtype() {
-            return ClassSubtype.CLASS;
-        }
-        
-        public boolean isFinal() {
-            return false;
-        }
-        
-        public boolean isConst() {
-            return false;
-        }
-        
-        public boolean isHosted() {
-            return false;
-        }
-        
-        public boolean isAbstract() {
-            return false;
-        }
-
-        public boolean isStatic() {
-            return false;
-        }
-
-        public Accessibility getAccessibility() {
-            return Accessibility.MODULE;
-        }
-        
-        public boolean isAccessibilitySet(){
-            return true;
-        }
-
-    }
-    
-        
-    class AOTClassDeclInfo_FilterIterator extends LazyClassDeclInfo {
-
-        public AOTClassDeclInfo_FilterIterator(RawScriptInfo minfo) {
-            super(minfo);
-            
-            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterator"));
-        }
-
-        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
-        private FQName m_fullName = new FQName("System.Util.FilterIterator");
-        
-        public List<ParsedTypeName> getParentTypes(){
-            return m_parentNames;
-        }
-        
-        public FQName getFQName() {
-            return m_fullName;
-        }
-        
-        public String getName(){
-            return "FilterIterator";
-        }
-
-        public ClassSubtype getSubtype() {
-            return ClassSubtype.CLASS;
-        }
-        
-        public boolean isFinal() {
-            return false;
-        }
-        
-        public boolean isConst() {
-            return false;
-        }
-        
-        public boolean isHosted() {
-            return false;
-        }
-        
-        public boolean isAbstract() {
-            return false;
-        }
-
-        public boolean isStatic() {
-            return false;
-        }
-
-        public Accessibility getAccessibility() {
-            return Accessibility.MODULE;
-        }
-        
-        public boolean isAccessibilitySet(){
-            return true;
-        }
-
-    }
-    
-        
-    class AOTClassDeclInfo_MappingIterator extends LazyClassDeclInfo {
-
-        public AOTClassDeclInfo_MappingIterator(RawScriptInfo minfo) {
-            super(minfo);
-            
-            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterator"));
-        }
-
-        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
-        private FQName m_fullName = new FQName("System.Util.MappingIterator");
-        
-        public List<ParsedTypeName> getParentTypes(){
-            return m_parentNames;
-        }
-        
-        public FQName getFQName() {
-            return m_fullName;
-        }
-        
-        public String getName(){
-            return "MappingIterator";
-        }
-
-        public ClassSubtype getSubtype() {
-            return ClassSubtype.CLASS;
-        }
-        
-        public boolean isFinal() {
-            return false;
-        }
-        
-        public boolean isConst() {
-            return false;
-        }
-        
-        public boolean isHosted() {
-            return false;
-        }
-        
-        public boolean isAbstract() {
-            return false;
-        }
-
-        public boolean isStatic() {
-            return false;
-        }
-
-        public Accessibility getAccessibility() {
-            return Accessibility.MODULE;
-        }
-        
-        public boolean isAccessibilitySet(){
-            return true;
-        }
-
-    }
-    
-        
-    class AOTClassDeclInfo_ZippingIterator extends LazyClassDeclInfo {
-
-        public AOTClassDeclInfo_ZippingIterator(RawScriptInfo minfo) {
-            super(minfo);
-            
-            m_parentNames.add(ParsedTypeName.makeFromFullName("IIterator"));
-        }
-
-        private List<ParsedTypeName> m_parentNames = new ArrayList<ParsedTypeName>();
-        private FQName m_fullName = new FQName("System.Util.ZippingIterator");
-        
-        public List<ParsedTypeName> getParentTypes(){
-            return m_parentNames;
-        }
-        
-        public FQName getFQName() {
-            return m_fullName;
-        }
-        
-        public String getName(){
-            return "ZippingIterator";
+            return "PipelineIterator";
         }
 
         public ClassSubtype getSubtype() {
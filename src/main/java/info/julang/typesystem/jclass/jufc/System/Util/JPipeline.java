@@ -0,0 +1,448 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import info.julang.execution.Argument;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.external.exceptions.JSEError;
+import info.julang.hosting.HostedMethodProviderFactory;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.CtorNativeExecutor;
+import info.julang.hosting.execution.StaticNativeExecutor;
+import info.julang.memory.MemoryArea;
+import info.julang.memory.value.BasicValue;
+import info.julang.memory.value.FuncValue;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.IntValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.ObjectValue;
+import info.julang.memory.value.RefValue;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.memory.value.VoidValue;
+import info.julang.typesystem.jclass.jufc.System.Collection.JList;
+
+/**
+ * The native implementation of <code style="color:green">System.Util.Pipeline</code>, the lazy iterable 
+ * returned by the extension methods such as <code>map()</code> and <code>filter()</code>.
+ * <p>
+ * A pipeline remembers its source and a single stage. When iterated, the stages of chained pipelines are 
+ * opened as a chain of {@link PipelineCursor cursors}, so that the items flow through all the stages in a 
+ * single loop on the platform, calling into script only for the functions provided by the user. Terminal 
+ * operations such as <code>toList()</code> and <code>reduce()</code> drive the same loop.
+ * <p>
+ * If a <code>parallel()</code> stage is followed only by <code>map()</code>, <code>filter()</code> and 
+ * <code>flatten()</code> stages, a terminal operation runs these stages in multiple threads. See 
+ * {@link ParallelPipeline}.
+ * 
+ * @author Ming Zhou
+ */
+public class JPipeline {
+	
+	public final static String FullTypeName = "System.Util.Pipeline";
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+
+	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FullTypeName){
+
+		@Override
+		protected void implementProvider(SimpleHostedMethodProvider provider) {
+			provider
+				.add("ctor", new InitExecutor())
+				.add("addTo", new AddToExecutor())
+				.add("reduce", new ReduceExecutor())
+				.add("reduceAndCombine", new ReduceAndCombineExecutor())
+				.add("match", new MatchExecutor())
+				.add("count", new CountExecutor());
+		}
+		
+	};
+	
+	//----------------- native executors -----------------//
+	
+	private static class InitExecutor extends CtorNativeExecutor<JPipeline> {
+
+		@Override
+		protected void initialize(ThreadRuntime rt, HostedValue hvalue, JPipeline jp, Argument[] args) throws Exception {
+			JValue source = args[0].getValue();
+			String op = getString(args, 1);
+			JValue arg = args[2].getValue();
+			JValue func = args[3].getValue().deref();
+			jp.init(rt, source, op, arg, func == RefValue.NULL ? null : (FuncValue)func);
+		}
+		
+	}
+	
+	private static class AddToExecutor extends StaticNativeExecutor<JPipeline> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, Argument[] args) throws Exception {
+			HostedValue hv = (HostedValue)args[1].getValue().deref();
+			addTo(rt, args[0].getValue(), (JList)hv.getHostedObject());
+			return VoidValue.DEFAULT;
+		}
+		
+	}
+	
+	private static class ReduceExecutor extends StaticNativeExecutor<JPipeline> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, Argument[] args) throws Exception {
+			FuncValue reducer = (FuncValue)args[2].getValue().deref();
+			return reduce(rt, args[0].getValue(), args[1].getValue(), reducer);
+		}
+		
+	}
+	
+	private static class ReduceAndCombineExecutor extends StaticNativeExecutor<JPipeline> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, Argument[] args) throws Exception {
+			FuncValue reducer = (FuncValue)args[2].getValue().deref();
+			FuncValue combiner = (FuncValue)args[3].getValue().deref();
+			return reduce(rt, args[0].getValue(), args[1].getValue(), reducer, combiner);
+		}
+		
+	}
+	
+	private static class MatchExecutor extends StaticNativeExecutor<JPipeline> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, Argument[] args) throws Exception {
+			FuncValue predicate = (FuncValue)args[1].getValue().deref();
+			boolean all = getBool(args, 2);
+			boolean res = match(rt, args[0].getValue(), predicate, all);
+			return TempValueFactory.createTempBoolValue(res);
+		}
+		
+	}
+	
+	private static class CountExecutor extends StaticNativeExecutor<JPipeline> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, Argument[] args) throws Exception {
+			int count = count(rt, args[0].getValue());
+			return TempValueFactory.createTempIntValue(count);
+		}
+		
+	}
+	
+	//----------------- implementation at native end -----------------//
+	
+	private JValue source;
+	private String op;
+	private JValue arg;
+	private FuncValue func;
+	
+	/**
+	 * @param source the iterable to pull items from.
+	 * @param op the operation performed by this stage.
+	 * @param arg the argument to the operation, if any.
+	 * @param func the function provided by the user, if any.
+	 */
+	public void init(ThreadRuntime rt, JValue source, String op, JValue arg, FuncValue func){
+		MemoryArea heap = rt.getHeap();
+		this.source = copy(heap, source);
+		this.op = op;
+		this.arg = copy(heap, arg);
+		this.func = func;
+	}
+	
+	/**
+	 * Open a new cursor which goes through all the stages from the source to this pipeline.
+	 */
+	PipelineCursor open(ThreadRuntime rt){
+		return stack(rt, openUpstream(rt));
+	}
+	
+	/**
+	 * Open a new cursor which goes through all the stages from the source to the one preceding this pipeline.
+	 */
+	PipelineCursor openUpstream(ThreadRuntime rt){
+		return PipelineCursor.open(rt, source);
+	}
+	
+	/**
+	 * Stack the operation of this pipeline on top of the given cursor.
+	 */
+	PipelineCursor stack(ThreadRuntime rt, PipelineCursor upstream){
+		switch (op) {
+		case "map":
+			return new PipelineCursor.MappingCursor(rt, upstream, func, false);
+		case "flatten":
+			return new PipelineCursor.MappingCursor(rt, upstream, func, true);
+		case "filter":
+			return new PipelineCursor.FilterCursor(rt, upstream, func);
+		case "concat":
+			return new PipelineCursor.ConcatCursor(rt, upstream, arg, true);
+		case "append":
+			return new PipelineCursor.ConcatCursor(rt, upstream, arg, false);
+		case "take":
+			return new PipelineCursor.TruncateCursor(upstream, getCount(), false);
+		case "skip":
+			return new PipelineCursor.TruncateCursor(upstream, getCount(), true);
+		case "zip":
+			return new PipelineCursor.ZippingCursor(rt, upstream, PipelineCursor.open(rt, arg), func);
+		case "parallel":
+		case "parallelUnordered":
+			// Only takes effect at the terminal operations. When iterated over, simply pass the items through.
+			return upstream;
+		default:
+			upstream.dispose();
+			throw new JSEError("Unrecognized pipeline operation: " + op);
+		}
+	}
+	
+	private int getCount(){
+		return ((IntValue)arg.deref()).getIntValue();
+	}
+	
+	//----------------- parallel execution -----------------//
+	
+	/**
+	 * @return the pipeline from which this one pulls the items, or null if the source is not a pipeline.
+	 */
+	JPipeline getUpstream(){
+		return asPipeline(source);
+	}
+	
+	boolean isParallel(){
+		return "parallel".equals(op) || "parallelUnordered".equals(op);
+	}
+	
+	boolean isOrdered(){
+		return "parallel".equals(op);
+	}
+	
+	int getParallelism(){
+		return getCount();
+	}
+	
+	/**
+	 * @return true if this stage can process the items independently from each other.
+	 */
+	boolean canRunInParallel(){
+		return "map".equals(op) || "flatten".equals(op) || "filter".equals(op);
+	}
+	
+	private static JPipeline asPipeline(JValue val){
+		val = val.deref();
+		if (val instanceof HostedValue) {
+			Object obj = ((HostedValue)val).getHostedObject();
+			if (obj instanceof JPipeline) {
+				return (JPipeline)obj;
+			}
+		}
+		
+		return null;
+	}
+	
+	// Plan for running the terminal operation in parallel, if the iterable is a pipeline with a parallel stage.
+	private static ParallelPipeline plan(ThreadRuntime rt, JValue iterable){
+		return ParallelPipeline.plan(rt, asPipeline(iterable));
+	}
+	
+	// Run the task over the iterable, in parallel if planned so.
+	private static <T> List<T> run(
+		ThreadRuntime rt, ParallelPipeline pp, JValue iterable, ParallelPipeline.ChunkTask<T> task){
+		if (pp != null) {
+			return pp.run(rt, task);
+		}
+		
+		PipelineCursor cursor = PipelineCursor.open(rt, iterable);
+		try {
+			return Collections.singletonList(task.run(rt, cursor));
+		} finally {
+			cursor.dispose();
+		}
+	}
+	
+	//----------------- terminal operations -----------------//
+	
+	// Collects the items of a chunk, copied to the heap.
+	private static final ParallelPipeline.ChunkTask<List<JValue>> COLLECT = new ParallelPipeline.ChunkTask<List<JValue>>(){
+		@Override
+		public List<JValue> run(ThreadRuntime rt, PipelineCursor cursor) {
+			MemoryArea heap = rt.getHeap();
+			List<JValue> vals = new ArrayList<JValue>();
+			while (cursor.hasNext()) {
+				vals.add(copy(heap, cursor.next()));
+			}
+			
+			return vals;
+		}
+	};
+	
+	/**
+	 * Add all the items from the iterable to the end of list, in a single step.
+	 */
+	public static void addTo(ThreadRuntime rt, JValue iterable, JList list){
+		JValue[] vals = collect(rt, plan(rt, iterable), iterable);
+		list.addAll(rt.getJThread(), vals);
+	}
+	
+	// Collect the items, copied to the heap, from the iterable.
+	private static JValue[] collect(ThreadRuntime rt, ParallelPipeline pp, JValue iterable){
+		List<List<JValue>> res = run(rt, pp, iterable, COLLECT);
+		List<JValue> all = res.size() == 1 ? res.get(0) : new ArrayList<JValue>();
+		if (res.size() > 1) {
+			for (List<JValue> vals : res) {
+				all.addAll(vals);
+			}
+		}
+		
+		return all.toArray(new JValue[all.size()]);
+	}
+	
+	/**
+	 * Fold all the items from the iterable into a single value, starting with the seed.
+	 * <p>
+	 * If a parallel stage is present, the stages following it run in parallel, but the items are 
+	 * folded in the calling thread, in the same order as seen by the pipeline's terminal.
+	 */
+	public static JValue reduce(ThreadRuntime rt, JValue iterable, JValue seed, FuncValue reducer){
+		JValue result = seed;
+		PipelineCursor.Callback callback = new PipelineCursor.Callback(rt, reducer);
+		ParallelPipeline pp = plan(rt, iterable);
+		if (pp == null) {
+			PipelineCursor cursor = PipelineCursor.open(rt, iterable);
+			try {
+				while (cursor.hasNext()) {
+					result = callback.invoke(result, cursor.next());
+				}
+			} finally {
+				cursor.dispose();
+			}
+		} else {
+			for (JValue val : collect(rt, pp, iterable)) {
+				result = callback.invoke(result, val);
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Fold all the items from the iterable into a single value. If run in parallel, each chunk of items 
+	 * is folded starting with the seed, then the results of chunks are combined into one.
+	 * 
+	 * @param seed the initial value. Must be an identity of the combiner when run in parallel.
+	 * @param combiner an associative function to combine two partial results. Must also be commutative
+	 * if the parallel stage is unordered. Not called if not run in parallel.
+	 */
+	public static JValue reduce(
+		ThreadRuntime rt, JValue iterable, final JValue seed, final FuncValue reducer, FuncValue combiner){
+		List<JValue> res = run(rt, plan(rt, iterable), iterable, new ParallelPipeline.ChunkTask<JValue>(){
+			@Override
+			public JValue run(ThreadRuntime rt, PipelineCursor cursor) {
+				PipelineCursor.Callback callback = new PipelineCursor.Callback(rt, reducer);
+				JValue result = seed;
+				while (cursor.hasNext()) {
+					result = callback.invoke(result, cursor.next());
+				}
+				
+				return copy(rt.getHeap(), result);
+			}
+		});
+		
+		JValue result = res.get(0);
+		if (res.size() > 1) {
+			PipelineCursor.Callback callback = new PipelineCursor.Callback(rt, combiner);
+			for (int i = 1; i < res.size(); i++) {
+				result = callback.invoke(result, res.get(i));
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Check the items from the iterable against the predicate, returning as soon as the result is determined.
+	 * 
+	 * @param all true to check if all the items satisfy the predicate; false to check if any does.
+	 */
+	public static boolean match(ThreadRuntime rt, JValue iterable, final FuncValue predicate, final boolean all){
+		final ParallelPipeline pp = plan(rt, iterable);
+		ParallelPipeline.ChunkTask<Boolean> task = new ParallelPipeline.ChunkTask<Boolean>(){
+			@Override
+			public Boolean run(ThreadRuntime rt, PipelineCursor cursor) {
+				PipelineCursor.Callback callback = new PipelineCursor.Callback(rt, predicate);
+				while (cursor.hasNext()) {
+					if (callback.test(cursor.next()) != all) {
+						if (pp != null) {
+							// The result is determined. No need to check the other chunks.
+							pp.stop();
+						}
+						
+						return true;
+					}
+				}
+				
+				return false;
+			}
+		};
+		
+		List<Boolean> res = run(rt, pp, iterable, task);
+		return res.contains(Boolean.TRUE) ? !all : all;
+	}
+	
+	/**
+	 * Count the items from the iterable.
+	 */
+	public static int count(ThreadRuntime rt, JValue iterable){
+		List<Integer> res = run(rt, plan(rt, iterable), iterable, new ParallelPipeline.ChunkTask<Integer>(){
+			@Override
+			public Integer run(ThreadRuntime rt, PipelineCursor cursor) {
+				int count = 0;
+				while (cursor.hasNext()) {
+					cursor.next();
+					count++;
+				}
+				
+				return count;
+			}
+		});
+		
+		int count = 0;
+		for (int c : res) {
+			count += c;
+		}
+		
+		return count;
+	}
+	
+	// Since we are bypassing the engine path, must ensure the copy semantics remain same
+	private static JValue copy(MemoryArea heap, JValue val){
+		val = val.deref();
+		if (val == RefValue.NULL) {
+			return TempValueFactory.createTempNullRefValue();
+		}
+		
+		return val.isBasic() ? ((BasicValue)val).replicateAs(val.getType(), heap) : new RefValue(heap, (ObjectValue)val);
+	}
+}
@@ -0,0 +1,106 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Util;
+
+import info.julang.execution.Argument;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.hosting.HostedMethodProviderFactory;
+import info.julang.hosting.SimpleHostedMethodProvider;
+import info.julang.hosting.execution.CtorNativeExecutor;
+import info.julang.hosting.execution.InstanceNativeExecutor;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.TempValueFactory;
+
+/**
+ * The native implementation of <code style="color:green">System.Util.PipelineIterator</code>, which iterates 
+ * over a {@link JPipeline pipeline} through a {@link PipelineCursor cursor} opened upon creation.
+ * 
+ * @author Ming Zhou
+ */
+public class JPipelineIterator {
+	
+	public final static String FullTypeName = "System.Util.PipelineIterator";
+	
+	//----------------- IRegisteredMethodProvider -----------------//
+
+	public static HostedMethodProviderFactory Factory = new HostedMethodProviderFactory(FullTypeName){
+
+		@Override
+		protected void implementProvider(SimpleHostedMethodProvider provider) {
+			provider
+				.add("ctor", new InitExecutor())
+				.add("hasNext", new HasNextExecutor())
+				.add("next", new NextExecutor());
+		}
+		
+	};
+	
+	//----------------- native executors -----------------//
+	
+	private static class InitExecutor extends CtorNativeExecutor<JPipelineIterator> {
+
+		@Override
+		protected void initialize(ThreadRuntime rt, HostedValue hvalue, JPipelineIterator jpi, Argument[] args) throws Exception {
+			HostedValue hv = (HostedValue)args[0].getValue().deref();
+			jpi.init(rt, (JPipeline)hv.getHostedObject());
+		}
+		
+	}
+	
+	private static class HasNextExecutor extends InstanceNativeExecutor<JPipelineIterator> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPipelineIterator jpi, Argument[] args) throws Exception {
+			return TempValueFactory.createTempBoolValue(jpi.hasNext());
+		}
+		
+	}
+	
+	private static class NextExecutor extends InstanceNativeExecutor<JPipelineIterator> {
+		
+		@Override
+		protected JValue apply(ThreadRuntime rt, JPipelineIterator jpi, Argument[] args) throws Exception {
+			return jpi.next();
+		}
+		
+	}
+	
+	//----------------- implementation at native end -----------------//
+	
+	private PipelineCursor cursor;
+	
+	public void init(ThreadRuntime rt, JPipeline pipeline){
+		this.cursor = pipeline.open(rt);
+	}
+	
+	public boolean hasNext(){
+		return cursor.hasNext();
+	}
+	
+	public JValue next(){
+		return cursor.next();
+	}
+}
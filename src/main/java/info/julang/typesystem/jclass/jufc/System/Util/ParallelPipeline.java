@@ -0,0 +1,220 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import info.julang.execution.threading.ForkJoinRunner;
+import info.julang.execution.threading.JThread;
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.memory.value.JValue;
+
+/**
+ * Runs the stages following a <code>parallel()</code> stage of a {@link JPipeline pipeline} in multiple 
+ * {@link JThread}s.
+ * <p>
+ * The items flowing into the parallel stage are collected by the calling thread first, then split into 
+ * chunks. The calling thread and the worker threads keep claiming the next chunk until all are done, 
+ * pulling the chunk's items through the stages and feeding them into a {@link ChunkTask}. Each thread 
+ * calls the user's functions from its own runtime. The workers are forked through {@link ForkJoinRunner}, 
+ * so one that would break the engine's thread limit is not forked, and its share of chunks is taken by 
+ * the threads already running.
+ * <p>
+ * If any thread fails, the others stop claiming new chunks, and the exception is re-thrown by the 
+ * calling thread after all the threads are done.
+ * 
+ * @author Ming Zhou
+ */
+final class ParallelPipeline {
+
+	/** Sources smaller than this are always processed by the calling thread. */
+	static final int MIN_PARALLEL_SIZE = 256;
+	
+	/** Each chunk contains at least this many items. */
+	private static final int MIN_CHUNK_SIZE = 64;
+	
+	/** The number of chunks for each thread, so that a thread being slow on one chunk won't hold up the others. */
+	private static final int CHUNKS_PER_THREAD = 4;
+	
+	/**
+	 * Processes the items coming out of a chunk, and produces the chunk's result.
+	 */
+	static interface ChunkTask<T> {
+		
+		/**
+		 * @param rt the runtime of the thread processing this chunk.
+		 * @param cursor the cursor yielding the chunk's items through all the parallel stages.
+		 * @return the result of this chunk. Must not be null.
+		 */
+		T run(ThreadRuntime rt, PipelineCursor cursor);
+		
+	}
+	
+	private JValue[] items;
+	private List<JPipeline> stages;
+	private int parallelism;
+	private boolean ordered;
+	
+	// The states shared among threads
+	private int chunkSize;
+	private int chunkCount;
+	private AtomicInteger nextChunk;
+	private volatile boolean stopped;
+	
+	private ParallelPipeline(JValue[] items, List<JPipeline> stages, int parallelism, boolean ordered) {
+		this.items = items;
+		this.stages = stages;
+		this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+		this.ordered = ordered;
+	}
+	
+	/**
+	 * Find the nearest parallel stage upstream from the given pipeline, if only those stages which can run 
+	 * in parallel, namely <code>map()</code>, <code>filter()</code> and <code>flatten()</code>, stand in between.
+	 * 
+	 * @param rt the runtime of the calling thread, which collects the items flowing into the parallel stage.
+	 * @param pipeline the last stage of pipeline. Can be null.
+	 * @return null if the pipeline must be run sequentially.
+	 */
+	static ParallelPipeline plan(ThreadRuntime rt, JPipeline pipeline) {
+		List<JPipeline> stages = new ArrayList<JPipeline>();
+		JPipeline jp = pipeline;
+		while (jp != null && jp.canRunInParallel()) {
+			stages.add(jp);
+			jp = jp.getUpstream();
+		}
+		
+		if (jp == null || !jp.isParallel()) {
+			return null;
+		}
+		
+		// Collect the items from upstream
+		List<JValue> vals = new ArrayList<JValue>();
+		PipelineCursor cursor = jp.openUpstream(rt);
+		try {
+			while (cursor.hasNext()) {
+				vals.add(cursor.next());
+			}
+		} finally {
+			cursor.dispose();
+		}
+		
+		Collections.reverse(stages);
+		return new ParallelPipeline(
+			vals.toArray(new JValue[vals.size()]), stages, jp.getParallelism(), jp.isOrdered());
+	}
+	
+	/**
+	 * Stop claiming new chunks. The chunks being processed will still run to the end.
+	 */
+	void stop() {
+		stopped = true;
+	}
+	
+	/**
+	 * Run the task over all the chunks, and wait for them to complete.
+	 * 
+	 * @param rt the runtime of the calling thread.
+	 * @param task the task to run for each chunk.
+	 * @return the results of the chunks. In ordered mode, the results follow the order of the chunks' items 
+	 * in the source; in unordered mode, the order in which they are completed. If stopped, the results from 
+	 * the chunks which have not been claimed are absent.
+	 */
+	<T> List<T> run(ThreadRuntime rt, final ChunkTask<T> task) {
+		int len = items.length;
+		int threads = Math.min(parallelism, len / MIN_CHUNK_SIZE);
+		if (len < MIN_PARALLEL_SIZE || threads <= 1) {
+			chunkCount = 1;
+			chunkSize = len;
+		} else {
+			chunkCount = Math.min(threads * CHUNKS_PER_THREAD, len / MIN_CHUNK_SIZE);
+			chunkSize = (len + chunkCount - 1) / chunkCount;
+			chunkCount = (len + chunkSize - 1) / chunkSize;
+		}
+		
+		nextChunk = new AtomicInteger();
+		
+		final Object[] results = new Object[chunkCount];
+		final List<Object> completed = new ArrayList<Object>();
+		
+		// The calling thread and the workers all keep claiming chunks until none is left.
+		List<ForkJoinRunner.Task> tasks = new ArrayList<ForkJoinRunner.Task>();
+		for (int i = 0; i < Math.max(Math.min(threads, chunkCount), 1); i++) {
+			tasks.add(new ForkJoinRunner.Task(){
+				@Override
+				public void run(ThreadRuntime runtime) {
+					try {
+						processChunks(runtime, task, results, completed);
+					} catch (RuntimeException ex) {
+						// Stop all the threads.
+						stopped = true;
+						throw ex;
+					}
+				}
+			});
+		}
+		
+		ForkJoinRunner.run(rt, tasks, "the pipeline");
+		
+		List<T> list = new ArrayList<T>();
+		for (Object res : ordered ? results : completed.toArray()) {
+			if (res != null) {
+				@SuppressWarnings("unchecked")
+				T t = (T)res;
+				list.add(t);
+			}
+		}
+		
+		return list;
+	}
+	
+	// Keep claiming and processing the next chunk until all are claimed, or stopped.
+	private <T> void processChunks(ThreadRuntime rt, ChunkTask<T> task, Object[] results, List<Object> completed) {
+		int index;
+		while (!stopped && (index = nextChunk.getAndIncrement()) < chunkCount) {
+			int from = index * chunkSize;
+			int to = Math.min(from + chunkSize, items.length);
+			PipelineCursor cursor = PipelineCursor.of(items, from, to);
+			for (JPipeline stage : stages) {
+				cursor = stage.stack(rt, cursor);
+			}
+			
+			T res;
+			try {
+				res = task.run(rt, cursor);
+			} finally {
+				cursor.dispose();
+			}
+			
+			results[index] = res;
+			synchronized (completed) {
+				completed.add(res);
+			}
+		}
+	}
+}
@@ -0,0 +1,433 @@
+/*
+MIT License
+
+Copyright (c) 2017 Ming Zhou
+
+Permission is hereby granted, free of charge, to any person obtaining a copy
+of this software and associated documentation files (the "Software"), to deal
+in the Software without restriction, including without limitation the rights
+to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+copies of the Software, and to permit persons to whom the Software is
+furnished to do so, subject to the following conditions:
+
+The above copyright notice and this permission notice shall be included in all
+copies or substantial portions of the Software.
+
+THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+SOFTWARE.
+*/
+
+package info.julang.typesystem.jclass.jufc.System.Util;
+
+import info.julang.execution.threading.ThreadRuntime;
+import info.julang.external.interfaces.JValueKind;
+import info.julang.interpretation.JIllegalStateException;
+import info.julang.interpretation.JNullReferenceException;
+import info.julang.interpretation.RuntimeCheckException;
+import info.julang.interpretation.context.Context;
+import info.julang.interpretation.errorhandling.JulianScriptException;
+import info.julang.interpretation.internal.FuncCallExecutor;
+import info.julang.memory.value.ArrayValue;
+import info.julang.memory.value.BoolValue;
+import info.julang.memory.value.FuncValue;
+import info.julang.memory.value.HostedValue;
+import info.julang.memory.value.IMethodValue;
+import info.julang.memory.value.JValue;
+import info.julang.memory.value.RefValue;
+import info.julang.memory.value.StringValue;
+import info.julang.memory.value.TempValueFactory;
+import info.julang.memory.value.iterable.IIterator;
+import info.julang.memory.value.operable.InitArgs;
+import info.julang.typesystem.JType;
+import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.jufc.SystemTypeNames;
+import info.julang.typesystem.jclass.jufc.System.Collection.JList;
+
+/**
+ * A cursor pulling items one at a time from an iterable, or from an upstream cursor through a pipeline stage.
+ * <p>
+ * The stages of a pipeline are chained as cursors on the platform, so advancing through the pipeline only
+ * calls into script for the functions provided by the user. The items of a built-in List, Map, Set, array or 
+ * string, as well as those of another pipeline, are also read without calling into script.
+ * 
+ * @author Ming Zhou
+ */
+abstract class PipelineCursor {
+	
+	private JValue nextItem;
+	private boolean end;
+	
+	/**
+	 * Fetch the next item.
+	 * 
+	 * @return null if there are no more items.
+	 */
+	protected abstract JValue fetch();
+	
+	boolean hasNext() {
+		if (nextItem == null && !end) {
+			nextItem = fetch();
+			end = nextItem == null;
+		}
+		
+		return !end;
+	}
+	
+	JValue next() {
+		if (!hasNext()) {
+			throw new JIllegalStateException("Reached the end of iterable. Cannot demand more.");
+		}
+		
+		JValue val = nextItem;
+		nextItem = null;
+		return val;
+	}
+	
+	/**
+	 * Release the resources held by this cursor and its upstream.
+	 */
+	void dispose() {
+		// NO-OP by default
+	}
+	
+	/**
+	 * Open a cursor over an iterable value.
+	 * 
+	 * @throws JNullReferenceException if the value is null.
+	 * @throws RuntimeCheckException if the value is not iterable.
+	 */
+	static PipelineCursor open(ThreadRuntime rt, JValue iterable) {
+		JValue val = iterable.deref();
+		if (val == RefValue.NULL) {
+			throw new JNullReferenceException();
+		}
+		
+		if (val instanceof HostedValue) {
+			Object obj = ((HostedValue)val).getHostedObject();
+			String name = val.getType().getName();
+			if (obj instanceof JPipeline) {
+				return ((JPipeline)obj).open(rt);
+			} else if (obj instanceof JList && JList.FullTypeName.equals(name)) {
+				return new ValuesCursor(((JList)obj).toArray());
+			}
+		}
+		
+		// Arrays, strings and other built-in containers are also iterated natively.
+		IIterator iter = val.asIterator();
+		if (iter == null) {
+			throw new RuntimeCheckException("Cannot perform iteration over a non-iterable object.");
+		}
+		
+		iter.initialize(rt, new InitArgs(Context.createSystemLoadingContext(rt), false));
+		return new IteratorCursor(iter);
+	}
+	
+	// Check if a value can be flattened, which excludes string.
+	private static boolean isFlattenable(JValue val) {
+		val = val.deref();
+		if (val == RefValue.NULL || val instanceof StringValue) {
+			return false;
+		} else if (val instanceof ArrayValue) {
+			return true;
+		}
+		
+		JType typ = val.getType();
+		return typ != null && typ.isObject() && ((JClassType)typ).hasAncestor(SystemTypeNames.System_Util_IIterable, false);
+	}
+	
+	//----------------- source cursors -----------------//
+	
+	/**
+	 * Open a cursor over the values within range [from, to).
+	 */
+	static PipelineCursor of(JValue[] values, int from, int to) {
+		return new ValuesCursor(values, from, to);
+	}
+	
+	private static class ValuesCursor extends PipelineCursor {
+		
+		private JValue[] values;
+		private int index;
+		private int end;
+		
+		private ValuesCursor(JValue[] values) {
+			this(values, 0, values.length);
+		}
+		
+		private ValuesCursor(JValue[] values, int from, int to) {
+			this.values = values;
+			this.index = from;
+			this.end = to;
+		}
+		
+		@Override
+		protected JValue fetch() {
+			if (index >= end) {
+				return null;
+			}
+			
+			JValue val = values[index++];
+			return val != null ? val : TempValueFactory.createTempNullRefValue();
+		}
+	}
+	
+	private static class IteratorCursor extends PipelineCursor {
+		
+		private IIterator iter;
+		
+		private IteratorCursor(IIterator iter) {
+			this.iter = iter;
+		}
+		
+		@Override
+		protected JValue fetch() {
+			if (!iter.hasNext()) {
+				return null;
+			}
+			
+			JValue val = iter.next();
+			return val != null ? val : TempValueFactory.createTempNullRefValue();
+		}
+		
+		@Override
+		void dispose() {
+			iter.dispose();
+		}
+	}
+	
+	//----------------- stage cursors -----------------//
+	
+	private abstract static class StageCursor extends PipelineCursor {
+		
+		protected PipelineCursor upstream;
+		
+		protected StageCursor(PipelineCursor upstream) {
+			this.upstream = upstream;
+		}
+		
+		@Override
+		void dispose() {
+			upstream.dispose();
+		}
+	}
+	
+	static class MappingCursor extends StageCursor {
+		
+		private ThreadRuntime rt;
+		private Callback mapper;
+		private boolean flatten;
+		private PipelineCursor inner;
+		
+		MappingCursor(ThreadRuntime rt, PipelineCursor upstream, FuncValue mapper, boolean flatten) {
+			super(upstream);
+			this.rt = rt;
+			this.mapper = new Callback(rt, mapper);
+			this.flatten = flatten;
+		}
+		
+		@Override
+		protected JValue fetch() {
+			while (true) {
+				// First drain the items flattened from the last mapped value
+				if (inner != null) {
+					if (inner.hasNext()) {
+						return inner.next();
+					}
+					
+					inner.dispose();
+					inner = null;
+				}
+				
+				if (!upstream.hasNext()) {
+					return null;
+				}
+				
+				JValue val = mapper.invoke(upstream.next());
+				if (flatten && isFlattenable(val)) {
+					inner = open(rt, val);
+				} else {
+					return val;
+				}
+			}
+		}
+		
+		@Override
+		void dispose() {
+			if (inner != null) {
+				inner.dispose();
+			}
+			
+			super.dispose();
+		}
+	}
+	
+	static class FilterCursor extends StageCursor {
+		
+		private Callback predicate;
+		
+		FilterCursor(ThreadRuntime rt, PipelineCursor upstream, FuncValue predicate) {
+			super(upstream);
+			this.predicate = new Callback(rt, predicate);
+		}
+		
+		@Override
+		protected JValue fetch() {
+			while (upstream.hasNext()) {
+				JValue val = upstream.next();
+				if (predicate.test(val)) {
+					return val;
+				}
+			}
+			
+			return null;
+		}
+	}
+	
+	static class ConcatCursor extends StageCursor {
+		
+		private ThreadRuntime rt;
+		private JValue extra;
+		private boolean flatten;
+		private PipelineCursor tail;
+		
+		ConcatCursor(ThreadRuntime rt, PipelineCursor upstream, JValue extra, boolean flatten) {
+			super(upstream);
+			this.rt = rt;
+			this.extra = extra;
+			this.flatten = flatten;
+		}
+		
+		@Override
+		protected JValue fetch() {
+			if (tail == null) {
+				if (upstream.hasNext()) {
+					return upstream.next();
+				}
+				
+				// Continue with the extra value
+				tail = flatten && isFlattenable(extra) ? 
+					open(rt, extra) : 
+					new ValuesCursor(new JValue[]{ extra });
+			}
+			
+			return tail.hasNext() ? tail.next() : null;
+		}
+		
+		@Override
+		void dispose() {
+			if (tail != null) {
+				tail.dispose();
+			}
+			
+			super.dispose();
+		}
+	}
+	
+	static class TruncateCursor extends StageCursor {
+		
+		private int count;
+		private boolean skip;
+		
+		TruncateCursor(PipelineCursor upstream, int count, boolean skip) {
+			super(upstream);
+			this.count = count;
+			this.skip = skip;
+		}
+		
+		@Override
+		protected JValue fetch() {
+			if (skip) {
+				// Skip the first (up to) N items
+				while (count > 0 && upstream.hasNext()) {
+					upstream.next();
+					count--;
+				}
+				
+				count = 0;
+			} else if (count <= 0) {
+				return null;
+			} else {
+				count--;
+			}
+			
+			return upstream.hasNext() ? upstream.next() : null;
+		}
+	}
+	
+	static class ZippingCursor extends StageCursor {
+		
+		private PipelineCursor another;
+		private Callback zipper;
+		
+		ZippingCursor(ThreadRuntime rt, PipelineCursor upstream, PipelineCursor another, FuncValue zipper) {
+			super(upstream);
+			this.another = another;
+			this.zipper = new Callback(rt, zipper);
+		}
+		
+		@Override
+		protected JValue fetch() {
+			if (upstream.hasNext() && another.hasNext()) {
+				JValue v1 = upstream.next();
+				JValue v2 = another.next();
+				return zipper.invoke(v1, v2);
+			}
+			
+			return null;
+		}
+		
+		@Override
+		void dispose() {
+			another.dispose();
+			super.dispose();
+		}
+	}
+	
+	//----------------- callback -----------------//
+	
+	/**
+	 * A function provided by the user. The function is resolved once upon creation. An instance must be 
+	 * only used by the thread which owns the given runtime.
+	 */
+	static class Callback {
+		
+		private FuncCallExecutor exec;
+		private FuncValue func;
+		private String funcName;
+		private JValue instance;
+		
+		Callback(ThreadRuntime rt, FuncValue func) {
+			this.exec = new FuncCallExecutor(rt);
+			this.exec.setLooseTyping(true);
+			this.func = func;
+			this.funcName = func.getType().getName();
+			if (func instanceof IMethodValue) {
+				this.instance = ((IMethodValue) func).getThisValue();
+			}
+		}
+		
+		JValue invoke(JValue... args) {
+			try {
+				return exec.invokeFuncValueInternal(func, funcName, args, instance);
+			} catch (JulianScriptException ex) {
+				// The exception is thrown by the user's function, which should be seen by the caller as is.
+				ex.preserveAcrossPlatformBoundary();
+				throw ex;
+			}
+		}
+		
+		boolean test(JValue arg) {
+			JValue res = invoke(arg).deref();
+			if (res.getKind() != JValueKind.BOOLEAN) {
+				throw new RuntimeCheckException("The predicate must return a bool value.");
+			}
+			
+			return ((BoolValue)res).getBoolValue();
+		}
+	}
+}
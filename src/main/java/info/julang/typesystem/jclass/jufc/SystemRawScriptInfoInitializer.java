@@ -13,13 +13,22 @@ public class SystemRawScriptInfoInitializer {
     public static HostedMethodProviderFactory[] getAllFactories(){
        return new HostedMethodProviderFactory[]{
            info.julang.typesystem.jclass.jufc.System.Collection.JMap.Factory,
+           info.julang.typesystem.jclass.jufc.System.Collection.JConcurrentMap.Factory,
+           info.julang.typesystem.jclass.jufc.System.Collection.JSortedMap.Factory,
            info.julang.typesystem.jclass.jufc.System.Collection.JQueue.Factory,
+           info.julang.typesystem.jclass.jufc.System.Collection.JBlockingQueue.Factory,
            info.julang.typesystem.jclass.jufc.System.Collection.JList.Factory,
+           info.julang.typesystem.jclass.jufc.System.Collection.JIntList.Factory,
+           info.julang.typesystem.jclass.jufc.System.Collection.JFloatList.Factory,
+           info.julang.typesystem.jclass.jufc.System.Collection.JByteList.Factory,
+           info.julang.typesystem.jclass.jufc.System.Collection.JCharList.Factory,
            info.julang.typesystem.jclass.jufc.System.JConsole.Factory,
            info.julang.typesystem.jclass.jufc.System.ExceptionUtil.Factory,
            info.julang.typesystem.jclass.jufc.System.Util.JMath.Factory,
            info.julang.typesystem.jclass.jufc.System.Util.Match.Factory,
            info.julang.typesystem.jclass.jufc.System.Util.JRegex.Factory,
+           info.julang.typesystem.jclass.jufc.System.Util.JPipeline.Factory,
+           info.julang.typesystem.jclass.jufc.System.Util.JPipelineIterator.Factory,
            info.julang.typesystem.jclass.jufc.System.Network.ScriptSocketStream.Factory,
            info.julang.typesystem.jclass.jufc.System.Network.ScriptSocket.Factory,
            info.julang.typesystem.jclass.jufc.System.Network.ScriptServerSocket.Factory,
@@ -53,6 +62,7 @@ public class SystemRawScriptInfoInitializer {
 		map.put("System.Collection", new String[]{
 			"Container",
 			"Map",
+			"SortedMap",
 			"List",
 			"Queue",
 			"Exception",
@@ -125,6 +135,10 @@ public class SystemRawScriptInfoInitializer {
             info.julang.typesystem.jclass.jufc.System.Collection.AOTRawScriptInfo$Map>(
             info.julang.typesystem.jclass.jufc.System.Collection.AOTRawScriptInfo$Map.class));
         
+        map.put("System/Collection/SortedMap.jul", new SystemRawScriptInfoFactory<
+            info.julang.typesystem.jclass.jufc.System.Collection.AOTRawScriptInfo$SortedMap>(
+            info.julang.typesystem.jclass.jufc.System.Collection.AOTRawScriptInfo$SortedMap.class));
+        
         map.put("System/Collection/List.jul", new SystemRawScriptInfoFactory<
             info.julang.typesystem.jclass.jufc.System.Collection.AOTRawScriptInfo$List>(
             info.julang.typesystem.jclass.jufc.System.Collection.AOTRawScriptInfo$List.class));
@@ -687,6 +687,7 @@ public class TypeLoader {
 			
 			if (tvalue != null) {
 				tvalue.addClassAttrValue(av);
+				indexAnnotation(rt, aName, tvalue, null);
 			}
 		} else {
 			// Check B - can this attribute be applied to field/method/constructor?
@@ -696,6 +697,7 @@ public class TypeLoader {
 			
 			if (tvalue != null) {
 				tvalue.addMemberAttrValue(member.getKey(), av);
+				indexAnnotation(rt, aName, tvalue, member);
 			}
 		}
 		
@@ -703,6 +705,20 @@ public class TypeLoader {
 		return av;
 	}
 
+	// Record the target in the attribute index, so that it can be discovered without scanning all the types.
+	// Bridged is skipped, as it only binds the built-in classes to their platform implementation, and is applied 
+	// to hundreds of members which no script would query for.
+	private void indexAnnotation(ThreadRuntime rt, String aName, TypeValue tvalue, JClassMember member) {
+		if (HostedAttributeUtil.BRIDGED.equals(aName)) {
+			return;
+		}
+		
+		JType typ = tvalue.getValueType();
+		if (typ instanceof ICompoundType) {
+			rt.getTypeTable().getAttributeIndex().add(aName, (ICompoundType)typ, member);
+		}
+	}
+
 	private void checkAnnotationApplicability(
 		String aName, MetaAnnotation metaAnno, Set<String> allAnnos, int attribute, String targetName) {
 		if(!metaAnno.isAllowMultiple() && allAnnos.contains(aName)){
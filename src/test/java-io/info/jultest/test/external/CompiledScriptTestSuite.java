@@ -0,0 +1,245 @@
+package info.jultest.test.external;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.script.ScriptException;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import info.julang.execution.security.EngineLimit;
+import info.julang.external.JulianScriptEngine;
+import info.julang.external.ScriptHandle;
+import info.julang.external.exceptions.ExternalBindingException;
+import info.julang.external.exceptions.JSEException;
+import info.julang.external.interfaces.ResetPolicy;
+import info.jultest.test.Commons;
+
+public class CompiledScriptTestSuite {
+	
+	private JulianScriptEngine jse = null;
+	
+	@Before
+	public void setup() {
+		jse = new JulianScriptEngine(true, false);
+	}
+	
+	@Test
+	public void runCompiledTest() throws JSEException {
+		jse.bindInt("a", 1);
+		ScriptHandle handle = jse.compileScript("a = a * 2; return a + 1;");
+		Assert.assertSame(jse, handle.getEngine());
+		
+		Assert.assertEquals(3, jse.run(handle, null));
+		Assert.assertEquals(5, jse.run(handle, null));
+		Assert.assertEquals(9, jse.run(handle, null));
+		Assert.assertEquals(8, getInt("a"));
+	}
+	
+	@Test
+	public void runCompiledWithArgumentsTest() throws JSEException {
+		ScriptHandle handle = jse.compileScript("return arguments.length + \":\" + arguments[0];");
+		Assert.assertEquals("1:x", jse.run(handle, new String[] { "x" }));
+		Assert.assertEquals("2:y", jse.run(handle, new String[] { "y", "z" }));
+	}
+	
+	@Test
+	public void compileErrorTest() throws JSEException {
+		try {
+			jse.compileScript("int i = 1;" + System.lineSeparator() + "i = (i + ;");
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			Assert.assertTrue(ex.getCause() instanceof ScriptException);
+			Assert.assertEquals(2, ((ScriptException)ex.getCause()).getLineNumber());
+		}
+		
+		// The engine is still usable.
+		Assert.assertFalse(jse.hasFunction(null, "f", 0));
+		ScriptHandle handle = jse.compileScript("int f() { return 1; }");
+		Assert.assertEquals(1, jse.invoke(handle, "f"));
+		Assert.assertTrue(jse.hasFunction(null, "f", 0));
+		Assert.assertFalse(jse.hasFunction(null, "f", 1));
+	}
+	
+	@Test
+	public void invokeTest() throws JSEException {
+		jse.bindInt("loads", 0);
+		ScriptHandle handle = jse.compileFile(getPath("compiled_1.jul"));
+		
+		// The script is loaded upon the first call ...
+		Assert.assertEquals(200, jse.invoke(handle, "evaluate", 100));
+		Assert.assertEquals(1, getInt("loads"));
+		
+		// ... and not re-run by the subsequent ones.
+		Assert.assertEquals(50, jse.invoke(handle, "evaluate", 50));
+		Assert.assertEquals(0, jse.invoke(handle, "evaluate", 5));
+		Assert.assertEquals(1, getInt("loads"));
+		
+		// Running the script explicitly doesn't affect invocation.
+		try {
+			jse.run(handle, null); // The definitions exist already
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			Assert.assertTrue(ex.getCause() instanceof ScriptException);
+		}
+		Assert.assertEquals(400, jse.invoke(handle, "evaluate", 200));
+	}
+	
+	@Test
+	public void invokeAfterResetTest() throws JSEException {
+		jse.bindInt("loads", 0);
+		ScriptHandle handle = jse.compileFile(getPath("compiled_1.jul"));
+		Assert.assertEquals(200, jse.invoke(handle, "evaluate", 100));
+		Assert.assertEquals(1, getInt("loads"));
+		
+		// The script must be loaded again after the engine is reset.
+		jse.reset(ResetPolicy.USER_DEFINED_ONLY);
+		Assert.assertEquals(200, jse.invoke(handle, "evaluate", 100));
+		Assert.assertEquals(2, getInt("loads"));
+	}
+	
+	@Test
+	public void invokeErrorTest() throws JSEException {
+		jse.bindInt("loads", 0);
+		ScriptHandle handle = jse.compileFile(getPath("compiled_1.jul"));
+		try {
+			jse.invoke(handle, "evaluate", "100");
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			Assert.assertTrue(ex.getCause() instanceof ScriptException);
+		}
+		
+		try {
+			jse.invoke(handle, "evaluate", 1.5);
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			// Double is not supported
+		}
+		
+		Assert.assertEquals(200, jse.invoke(handle, "evaluate", 100));
+		Assert.assertEquals(1, getInt("loads"));
+	}
+	
+	@Test
+	public void invokeBatchTest() throws JSEException {
+		jse.bindInt("loads", 0);
+		ScriptHandle handle = jse.compileFile(getPath("compiled_1.jul"));
+		
+		List<Object> results = jse.invokeBatch(handle, "evaluate", Arrays.asList(100, 50, 5, 200));
+		Assert.assertEquals(Arrays.asList((Object)200, 50, 0, 400), results);
+		Assert.assertEquals(1, getInt("loads"));
+		
+		results = jse.invokeBatch(handle, "evaluate", new ArrayList<Object>());
+		Assert.assertEquals(0, results.size());
+	}
+	
+	@Test
+	public void invokeBatchWithMultipleArgumentsTest() throws JSEException {
+		ScriptHandle handle = jse.compileScript("string join(string s, int i) { return s + i; }");
+		List<Object[]> inputs = new ArrayList<Object[]>();
+		inputs.add(new Object[] { "a", 1 });
+		inputs.add(new Object[] { "b", 2 });
+		inputs.add(new Object[] { "c", 3 });
+		
+		List<Object> results = jse.invokeBatch(handle, "join", inputs);
+		Assert.assertEquals(Arrays.asList((Object)"a1", "b2", "c3"), results);
+	}
+	
+	@Test
+	public void invokeBatchParallelTest() throws JSEException {
+		jse.bindInt("loads", 0);
+		ScriptHandle handle = jse.compileFile(getPath("compiled_1.jul"));
+		
+		List<Object> inputs = new ArrayList<Object>();
+		List<Object> expected = new ArrayList<Object>();
+		for (int i = 0; i < 1000; i++) {
+			inputs.add(i);
+			expected.add(i >= 100 ? i * 2 : i >= 10 ? i : 0);
+		}
+		
+		Assert.assertEquals(expected, jse.invokeBatch(handle, "evaluate", inputs, 4));
+		
+		// More threads than inputs
+		Assert.assertEquals(Arrays.asList((Object)200, 50), jse.invokeBatch(handle, "evaluate", Arrays.asList(100, 50), 8));
+		Assert.assertEquals(1, getInt("loads"));
+	}
+	
+	@Test
+	public void invokeBatchErrorTest() throws JSEException {
+		ScriptHandle handle = jse.compileScript(
+			  "int check(int i) { if (i == 777) { throw new Exception(\"bad input\"); } return i; }");
+		List<Object> inputs = new ArrayList<Object>();
+		for (int i = 0; i < 1000; i++) {
+			inputs.add(i);
+		}
+		
+		for (int parallelism : new int[] { 1, 4 }) {
+			try {
+				jse.invokeBatch(handle, "check", inputs, parallelism);
+				Assert.fail("Didn't fail.");
+			} catch (JSEException ex) {
+				Assert.assertTrue(ex.getCause() instanceof ScriptException);
+				Assert.assertTrue(ex.getCause().getMessage().contains("bad input"));
+			}
+		}
+		
+		// The engine is still usable
+		Assert.assertEquals(Arrays.asList((Object)1, 2), jse.invokeBatch(handle, "check", Arrays.asList(1, 2), 2));
+	}
+	
+	@Test
+	public void invokeBatchOverLimitTest() throws JSEException {
+		// Only one worker thread can be started. The ranges which cannot be forked are run by the calling thread.
+		jse.setLimit(EngineLimit.MAX_THREADS.getPublicName(), 2);
+		ScriptHandle handle = jse.compileScript(
+			"int check(int i) { int s = 0; for (int j = 0; j < 1000; j++) { s += j; } return i; }");
+		List<Object> inputs = new ArrayList<Object>();
+		for (int i = 0; i < 400; i++) {
+			inputs.add(i);
+		}
+		
+		List<Object> results = jse.invokeBatch(handle, "check", inputs, 4);
+		Assert.assertEquals(400, results.size());
+		for (int i = 0; i < 400; i++) {
+			Assert.assertEquals(i, results.get(i));
+		}
+	}
+	
+	@Test
+	public void foreignHandleTest() throws JSEException {
+		JulianScriptEngine jse2 = new JulianScriptEngine(true, false);
+		ScriptHandle handle = jse2.compileScript("return 1;");
+		try {
+			jse.run(handle, null);
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void compileMissingFileTest() {
+		try {
+			jse.compileFile(getPath("no_such_file.jul"));
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			// expected
+		}
+	}
+	
+	private int getInt(String name) {
+		try {
+			return jse.getInt(name);
+		} catch (ExternalBindingException e) {
+			Assert.fail("Cannot get int binding: " + name);
+			return -1;
+		}
+	}
+	
+	private String getPath(String relativePath){
+		return Commons.SRC_REPO_ROOT + "ExternalAPI/" + relativePath;
+	}
+}
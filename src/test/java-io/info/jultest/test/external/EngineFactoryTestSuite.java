@@ -3,8 +3,10 @@ package info.jultest.test.external;
 import info.jultest.test.TestCaseEngineFactory;
 import info.julang.external.EngineComponentClassLoader;
 import info.julang.external.EngineFactory;
+import info.julang.external.exceptions.EngineInvocationError;
 import info.julang.external.interfaces.IExtMemoryArea;
 import info.julang.external.interfaces.IExtModuleManager;
+import info.julang.external.interfaces.IExtResult;
 import info.julang.external.interfaces.IExtScriptEngine;
 import info.julang.external.interfaces.IExtTypeTable;
 import info.julang.external.interfaces.IExtVariableTable;
@@ -45,4 +47,45 @@ public class EngineFactoryTestSuite {
 		// But it is different from the one that is exposed to the caller
 		Assert.assertNotSame(EngineFactory.class.getClassLoader(), loader);
 	}
+	
+	@Test
+	public void reuseReleasedLoaderTest() throws EngineInvocationError {
+		EngineFactory factory = new TestCaseEngineFactory();
+		IExtScriptEngine engine1 = factory.createEngine();
+		runTypeScript(engine1);
+		ClassLoader loader1 = engine1.getClass().getClassLoader();
+		factory.release();
+		
+		// The new factory picks up the released loader, with built-in types rebuilt.
+		factory = new TestCaseEngineFactory();
+		IExtScriptEngine engine2 = factory.createEngine();
+		ClassLoader loader2 = engine2.getClass().getClassLoader();
+		Assert.assertSame(loader1, loader2);
+		runTypeScript(engine2);
+		factory.release();
+	}
+	
+	@Test
+	public void isolatedLoaderTest() throws EngineInvocationError {
+		EngineFactory factory = new TestCaseEngineFactory(true);
+		IExtScriptEngine engine1 = factory.createEngine();
+		runTypeScript(engine1);
+		ClassLoader loader1 = engine1.getClass().getClassLoader();
+		factory.release();
+		
+		// An isolated factory never shares its loader.
+		factory = new TestCaseEngineFactory(true);
+		IExtScriptEngine engine2 = factory.createEngine();
+		ClassLoader loader2 = engine2.getClass().getClassLoader();
+		Assert.assertNotSame(loader1, loader2);
+		runTypeScript(engine2);
+	}
+	
+	private void runTypeScript(IExtScriptEngine engine) throws EngineInvocationError {
+		engine.runSnippet(
+			  "System.Type t = \"a\".getType();" + System.lineSeparator()
+			+ "return t.getFullName();");
+		IExtResult res = engine.getResult();
+		Assert.assertTrue(res.isSuccess());
+	}
 }
@@ -0,0 +1,201 @@
+package info.jultest.test.external;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import javax.script.ScriptException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import info.julang.execution.security.EngineLimit;
+import info.julang.external.JulianScriptEngine;
+import info.julang.external.JulianScriptEnginePool;
+import info.julang.external.exceptions.ExternalBindingException;
+import info.julang.external.exceptions.JSEError;
+import info.julang.external.exceptions.JSEException;
+
+/**
+ * This suite tests {@link JulianScriptEnginePool}.
+ */
+public class EnginePoolTestSuite {
+
+	@Test
+	public void acquireAndReleaseTest() throws JSEException, InterruptedException {
+		JulianScriptEnginePool pool = JulianScriptEngine.Builder.create().buildPool(2);
+		Assert.assertEquals(2, pool.getIdleCount());
+
+		JulianScriptEngine jse1 = pool.acquire();
+		JulianScriptEngine jse2 = pool.acquire();
+		Assert.assertNotSame(jse1, jse2);
+		Assert.assertEquals(0, pool.getIdleCount());
+		Assert.assertNull(pool.acquire(10, TimeUnit.MILLISECONDS));
+
+		pool.release(jse1);
+		Assert.assertEquals(1, pool.getIdleCount());
+		JulianScriptEngine jse3 = pool.acquire();
+		Assert.assertSame(jse1, jse3);
+
+		pool.release(jse2);
+		pool.release(jse3);
+		Assert.assertEquals(2, pool.getIdleCount());
+	}
+
+	@Test
+	public void releaseTwiceTest() throws JSEException, InterruptedException {
+		JulianScriptEnginePool pool = JulianScriptEngine.Builder.create().buildPool(1);
+		JulianScriptEngine jse = pool.acquire();
+		pool.release(jse);
+
+		try {
+			pool.release(jse);
+			Assert.fail("Released an engine twice.");
+		} catch (JSEException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void builderUnchangedTest() throws JSEException, InterruptedException {
+		JulianScriptEngine.Builder builder = JulianScriptEngine.Builder.create();
+		JulianScriptEnginePool pool = builder.buildPool(1);
+		
+		// The engines in pool allow re-entry ...
+		JulianScriptEngine jse = pool.acquire();
+		Assert.assertEquals(1, jse.runScript("return 1;", null));
+		Assert.assertEquals(2, jse.runScript("return 2;", null));
+		pool.release(jse);
+		
+		// ... but the builder still builds engines which don't.
+		jse = builder.build();
+		Assert.assertEquals(1, jse.runScript("return 1;", null));
+		try {
+			jse.runScript("return 2;", null);
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void closeWakesWaiterTest() throws JSEException, InterruptedException {
+		final JulianScriptEnginePool pool = JulianScriptEngine.Builder.create().buildPool(1);
+		JulianScriptEngine jse = pool.acquire();
+		
+		// Another thread waits for an engine ...
+		final Throwable[] error = new Throwable[1];
+		Thread waiter = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					pool.acquire();
+				} catch (Throwable t) {
+					error[0] = t;
+				}
+			}
+		});
+		waiter.start();
+		Thread.sleep(50);
+		
+		// ... and fails once the pool is closed.
+		pool.close();
+		waiter.join(5000);
+		Assert.assertFalse(waiter.isAlive());
+		Assert.assertTrue(error[0] instanceof JSEError);
+		
+		// The engine returned after closing is disposed rather than recycled.
+		pool.release(jse);
+		Assert.assertEquals(0, pool.getIdleCount());
+	}
+
+	@Test
+	public void recycleUserStateTest() throws JSEException, InterruptedException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		JulianScriptEnginePool pool = JulianScriptEngine.Builder.create()
+			.setError(baos)
+			.buildPool(1);
+
+		JulianScriptEngine jse = pool.acquire();
+		jse.bindInt("curr", 0);
+		jse.runScript(
+			   "class MyClass { static int value = 10; } " + System.lineSeparator()
+			 + "curr = MyClass.value;",
+			null);
+		Assert.assertEquals(10, getInt(jse, "curr"));
+		pool.release(jse);
+
+		jse = pool.acquire();
+
+		// The binding is gone
+		Assert.assertNull(jse.getObject("curr"));
+
+		// So is the type
+		jse.bindInt("curr", 0);
+		try {
+			jse.runScript("curr = MyClass.value;", null);
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			Throwable cause = ex.getCause();
+			Assert.assertTrue(cause instanceof ScriptException);
+			Assert.assertTrue(cause.getMessage().contains("UndefinedSymbolException"));
+		}
+
+		// But the system types are still available
+		jse.runScript(
+			   "System.Collection.List list = new System.Collection.List();" + System.lineSeparator()
+			 + "list.add(5);" + System.lineSeparator()
+			 + "curr = list.size() + list[0];",
+			null);
+		Assert.assertEquals(6, getInt(jse, "curr"));
+
+		pool.release(jse);
+	}
+
+	@Test
+	public void recycleLimitTest() throws JSEException, InterruptedException {
+		JulianScriptEnginePool pool = JulianScriptEngine.Builder.create()
+			.setLimit(EngineLimit.MAX_THREADS.getPublicName(), 1)
+			.buildPool(1);
+
+		String script =
+			  "import System.Concurrency;" + System.lineSeparator()
+			+ "Thread t = Thread.create(()=>{});" + System.lineSeparator()
+			+ "t.start();" + System.lineSeparator()
+			+ "t.join();" + System.lineSeparator()
+			+ "return 1;";
+
+		// The limit set by the builder is applied to the engine in pool ...
+		JulianScriptEngine jse = pool.acquire();
+		try {
+			jse.runScript(script, null);
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			Assert.assertTrue(ex.getCause() instanceof ScriptException);
+		}
+
+		// ... which can be overridden by the borrower ...
+		jse.setLimit(EngineLimit.MAX_THREADS.getPublicName(), 3);
+		Assert.assertEquals(1, jse.runScript(script, null));
+		pool.release(jse);
+
+		// ... and is re-applied upon recycling.
+		jse = pool.acquire();
+		try {
+			jse.runScript(script, null);
+			Assert.fail("Didn't fail.");
+		} catch (JSEException ex) {
+			Assert.assertTrue(ex.getCause() instanceof ScriptException);
+		}
+
+		pool.release(jse);
+	}
+
+	private int getInt(JulianScriptEngine jse, String name) {
+		try {
+			return jse.getInt(name);
+		} catch (ExternalBindingException e) {
+			Assert.fail("Cannot get int binding: " + name);
+			return -1;
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package info.jultest.test.external;
+
+import javax.script.Compilable;
+import javax.script.CompiledScript;
+import javax.script.Invocable;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import info.julang.jsr223.JulianScriptingEngine;
+
+public class JSR223CompilableInvocableTestSuite {
+	
+	@Test
+	public void compiledScriptTest() throws ScriptException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.put("a", 1);
+		
+		CompiledScript cs = ((Compilable)jse).compile("a = a * 2; return a + 1;");
+		Assert.assertSame(jse, cs.getEngine());
+		Assert.assertEquals(3, cs.eval());
+		Assert.assertEquals(5, cs.eval());
+		Assert.assertEquals(9, cs.eval());
+		Assert.assertEquals(8, jse.get("a"));
+	}
+	
+	@Test
+	public void compiledScriptErrorTest() throws ScriptException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		CompiledScript cs = ((Compilable)jse).compile("int i = 1; i = i / 0;");
+		for (int i = 0; i < 2; i++) {
+			try {
+				cs.eval();
+				Assert.fail("Didn't fail.");
+			} catch (ScriptException ex) {
+				Assert.assertTrue(ex.getMessage().contains("System.DivByZeroException"));
+			}
+		}
+	}
+	
+	@Test
+	public void invokeFunctionTest() throws ScriptException, NoSuchMethodException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.put("base", 100);
+		jse.eval(
+			  "int add(int a, int b) { base++; return base + a + b; }" + System.lineSeparator()
+			+ "string greet(string s) { return \"hello \" + s; }");
+		
+		Invocable inv = (Invocable)jse;
+		Assert.assertEquals(104, inv.invokeFunction("add", 1, 2));
+		Assert.assertEquals(105, inv.invokeFunction("add", 1, 2));
+		Assert.assertEquals(101 + 1, jse.get("base"));
+		Assert.assertEquals("hello julian", inv.invokeFunction("greet", "julian"));
+	}
+	
+	@Test
+	public void invokeFunctionErrorTest() throws ScriptException, NoSuchMethodException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.eval("int add(int a, int b) { return a + b; }");
+		
+		Invocable inv = (Invocable)jse;
+		try {
+			inv.invokeFunction("sub", 1, 2);
+			Assert.fail("Didn't fail.");
+		} catch (NoSuchMethodException ex) {
+			// expected
+		}
+		
+		try {
+			inv.invokeFunction("add", 1);
+			Assert.fail("Didn't fail.");
+		} catch (NoSuchMethodException ex) {
+			// expected
+		}
+		
+		// Defined, but the arguments are of wrong type
+		try {
+			inv.invokeFunction("add", "a", 1);
+			Assert.fail("Didn't fail.");
+		} catch (ScriptException ex) {
+			// expected
+		}
+		
+		// The engine is still usable.
+		Assert.assertEquals(3, inv.invokeFunction("add", 1, 2));
+	}
+	
+	@Test
+	public void invokeMethodTest() throws ScriptException, NoSuchMethodException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.eval(
+			  "class Counter {" + System.lineSeparator()
+			+ "  int total;" + System.lineSeparator()
+			+ "  int inc() { total++; return total; }" + System.lineSeparator()
+			+ "  int inc(int d) { total += d; return total; }" + System.lineSeparator()
+			+ "}" + System.lineSeparator()
+			+ "Counter c = new Counter();");
+		
+		Invocable inv = (Invocable)jse;
+		Assert.assertEquals(1, inv.invokeMethod("c", "inc"));
+		Assert.assertEquals(11, inv.invokeMethod("c", "inc", 10));
+		Assert.assertEquals(11, jse.eval("return c.total;"));
+		
+		try {
+			inv.invokeMethod(new Object(), "inc");
+			Assert.fail("Didn't fail.");
+		} catch (IllegalArgumentException ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void invokeMethodErrorTest() throws ScriptException, NoSuchMethodException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.eval(
+			  "class Counter {" + System.lineSeparator()
+			+ "  int inc(int d) { return d + 1; }" + System.lineSeparator()
+			+ "}" + System.lineSeparator()
+			+ "Counter c = new Counter();" + System.lineSeparator()
+			+ "int i = 5;");
+		
+		Invocable inv = (Invocable)jse;
+		String[][] calls = new String[][] {
+			new String[] { "c", "dec" }, // No such method
+			new String[] { "c", "inc" }, // No overload with 0 parameters
+			new String[] { "d", "inc" }, // No such variable
+			new String[] { "i", "inc" }, // Not an object
+		};
+		
+		for (String[] call : calls) {
+			try {
+				inv.invokeMethod(call[0], call[1]);
+				Assert.fail("Didn't fail.");
+			} catch (NoSuchMethodException ex) {
+				// expected
+			}
+		}
+		
+		Assert.assertEquals(2, inv.invokeMethod("c", "inc", 1));
+	}
+	
+	@Test
+	public void invokeOverloadedMethodTest() throws ScriptException, NoSuchMethodException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.eval(
+			  "class Printer {" + System.lineSeparator()
+			+ "  string print(int i) { return \"int:\" + i; }" + System.lineSeparator()
+			+ "  string print(string s) { return \"string:\" + s; }" + System.lineSeparator()
+			+ "  string print(bool b) { return \"bool:\" + b; }" + System.lineSeparator()
+			+ "  string flag(bool b) { return \"flag:\" + b; }" + System.lineSeparator()
+			+ "}" + System.lineSeparator()
+			+ "Printer p = new Printer();");
+		
+		// The overload is selected by the types of arguments, not only by the number.
+		Invocable inv = (Invocable)jse;
+		Assert.assertEquals("int:1", inv.invokeMethod("p", "print", 1));
+		Assert.assertEquals("string:a", inv.invokeMethod("p", "print", "a"));
+		Assert.assertEquals("bool:true", inv.invokeMethod("p", "print", true));
+		Assert.assertEquals("int:2", inv.invokeMethod("p", "print", 2));
+		
+		// The only overload doesn't accept an int.
+		try {
+			inv.invokeMethod("p", "flag", 1);
+			Assert.fail("Didn't fail.");
+		} catch (ScriptException ex) {
+			// expected
+		}
+	}
+	
+	@Test
+	public void compileErrorTest() {
+		ScriptEngine jse = new JulianScriptingEngine();
+		try {
+			((Compilable)jse).compile("int i = 1;" + System.lineSeparator() + "i = (i + ;");
+			Assert.fail("Didn't fail.");
+		} catch (ScriptException ex) {
+			Assert.assertEquals(2, ex.getLineNumber());
+		}
+	}
+	
+	public static interface Calculator {
+		
+		int add(int a, int b);
+		
+		String name();
+		
+	}
+	
+	@Test
+	public void getInterfaceTest() throws ScriptException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.eval(
+			  "class Impl {" + System.lineSeparator()
+			+ "  int add(int a, int b) { return a * b; }" + System.lineSeparator()
+			+ "  string name() { return \"impl\"; }" + System.lineSeparator()
+			+ "}" + System.lineSeparator()
+			+ "int add(int a, int b) { return a + b; }" + System.lineSeparator()
+			+ "string name() { return \"calc\"; }" + System.lineSeparator()
+			+ "Impl impl = new Impl();");
+		
+		Invocable inv = (Invocable)jse;
+		Calculator calc = inv.getInterface(Calculator.class);
+		Assert.assertEquals(5, calc.add(2, 3));
+		Assert.assertEquals("calc", calc.name());
+		
+		Calculator impl = inv.getInterface("impl", Calculator.class);
+		Assert.assertEquals(6, impl.add(2, 3));
+		Assert.assertEquals("impl", impl.name());
+	}
+	
+	@Test
+	public void getInterfaceNotImplementedTest() throws ScriptException {
+		ScriptEngine jse = new JulianScriptingEngine();
+		jse.eval(
+			  "class Impl {" + System.lineSeparator()
+			+ "  int add(int a) { return a; }" + System.lineSeparator() // Wrong number of parameters
+			+ "  string name() { return \"impl\"; }" + System.lineSeparator()
+			+ "}" + System.lineSeparator()
+			+ "int add(int a, int b) { return a + b; }" + System.lineSeparator() // name() is missing
+			+ "Impl impl = new Impl();");
+		
+		Invocable inv = (Invocable)jse;
+		Assert.assertNull(inv.getInterface(Calculator.class));
+		Assert.assertNull(inv.getInterface("impl", Calculator.class));
+		Assert.assertNull(inv.getInterface("none", Calculator.class));
+	}
+}
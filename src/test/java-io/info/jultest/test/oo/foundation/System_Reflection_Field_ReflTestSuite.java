@@ -129,4 +129,12 @@ public class System_Reflection_Field_ReflTestSuite extends ExceptionTestsBase {
 		EFCommons.validateBoolValue(gvt, "b1", true);
 	}
 	
+	// get and set the same field repeatedly on values of different types
+	@Test
+	public void getSetFieldTest1() throws EngineInvocationError, IOException {	
+		VariableTable gvt = runInline(FEATURE, "get_set_1.jul");
+
+		Commons.validateIntValue(gvt, "total", 435); // 0 + 1 + ... + 29
+		Commons.validateIntValue(gvt, "failed", 30);
+	}
 }
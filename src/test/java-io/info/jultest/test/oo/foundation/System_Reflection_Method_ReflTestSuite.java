@@ -184,4 +184,14 @@ public class System_Reflection_Method_ReflTestSuite extends ExceptionTestsBase {
 		Commons.validateIntValue(gvt, "total", 0);
 		Commons.validateBoolValue(gvt, "result", true);
 	}
+	
+	// call the same method repeatedly on values of different types
+	@Test
+	public void callTest7() throws EngineInvocationError, IOException {
+		VariableTable gvt = runInline(FEATURE, "call_method_7.jul");
+
+		Commons.validateIntValue(gvt, "total", 10 * (2 + 2 + 3));
+		Commons.validateIntValue(gvt, "exact", 10 * (2 + 2 + 2));
+		Commons.validateIntValue(gvt, "failed", 30);
+	}
 }
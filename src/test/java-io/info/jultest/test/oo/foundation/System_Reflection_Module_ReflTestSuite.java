@@ -67,6 +67,24 @@ public class System_Reflection_Module_ReflTestSuite extends ExceptionTestsBase {
 		Commons.validateStringValue(gvt, "s", "MyClass");
 	}
 	
+	// Types and members annotated with a certain attribute
+	@Test
+	public void attributeIndexTest() throws EngineInvocationError, IOException {
+		VariableTable gvt = runInline(FEATURE, "attr_index_1.jul");
+
+		Commons.validateIntValue(gvt, "tcount", 2);
+		Commons.validateStringValue(gvt, "tnames", "ServiceA;ServiceC;");
+		Commons.validateIntValue(gvt, "mcount", 4);
+		Commons.validateIntValue(gvt, "methods", 2);
+		Commons.validateIntValue(gvt, "fields", 1);
+		Commons.validateIntValue(gvt, "ctors", 1);
+		Commons.validateIntValue(gvt, "mcount2", 3);
+		Commons.validateIntValue(gvt, "mcount3", 0);
+		Commons.validateStringValue(gvt, "mname", "put");
+		Commons.validateIntValue(gvt, "ucount", 0);
+		Commons.validateIntValue(gvt, "ucount2", 0);
+	}
+	
 	// User scripts
 	@Test
 	public void getModuleFromTypeTest1() throws EngineInvocationError, IOException {
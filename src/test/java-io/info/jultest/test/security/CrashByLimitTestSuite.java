@@ -48,4 +48,33 @@ public class CrashByLimitTestSuite extends ThreadingTestBase {
 		EFCommons.validateBoolValue(gvt, "caught", true);
 		EFCommons.validateBoolValue(gvt, "done", true);
 	}
+	
+	@Test
+	public void maxThreadInParallelPipelineTest() throws EngineInvocationError, IOException, InterruptedException {
+		EngineParamPair pair = prepareViaFactory(null);
+		String path = Commons.makeScriptPath(Commons.Groups.HOSTING, FEATURE, "limit_3.jul");
+		
+		IExtScriptEngine eng = pair.getFirst();
+		IExtVariableTable gvt = pair.getSecond().getGlobalVariableTable();
+		eng.setLimit(EngineLimit.MAX_THREADS.getPublicName(), 2);
+		eng.runFile(path);
+		
+		EFCommons.validateIntValue(gvt, "total", 1999 * 2000);
+		EFCommons.validateBoolValue(gvt, "done", true);
+	}
+	
+	@Test
+	public void maxThreadInParallelSortingTest() throws EngineInvocationError, IOException, InterruptedException {
+		EngineParamPair pair = prepareViaFactory(null);
+		String path = Commons.makeScriptPath(Commons.Groups.HOSTING, FEATURE, "limit_4.jul");
+		
+		IExtScriptEngine eng = pair.getFirst();
+		IExtVariableTable gvt = pair.getSecond().getGlobalVariableTable();
+		eng.setLimit(EngineLimit.MAX_THREADS.getPublicName(), 2);
+		eng.runFile(path);
+		
+		EFCommons.validateBoolValue(gvt, "sorted", true);
+		EFCommons.validateIntValue(gvt, "size", 20000);
+		EFCommons.validateBoolValue(gvt, "done", true);
+	}
 }
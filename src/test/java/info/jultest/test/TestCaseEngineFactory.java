@@ -1,6 +1,7 @@
 package info.jultest.test;
 
 import info.julang.external.EngineFactory;
+import info.julang.external.EngineInitializationOption;
 import info.julang.external.exceptions.JSEError;
 
 import java.net.MalformedURLException;
@@ -8,6 +9,14 @@ import java.net.URL;
 
 public class TestCaseEngineFactory extends EngineFactory {
 
+	public TestCaseEngineFactory() {
+		super();
+	}
+	
+	public TestCaseEngineFactory(boolean isolated) {
+		super(new EngineInitializationOption(), isolated);
+	}
+
 	@Override
 	protected URL getEngineBinariesPath() {
 		ClassLoader appLoader = EngineFactory.class.getClassLoader();
@@ -162,4 +162,42 @@ public class AdvancedTryCatchFinallyTests {
 			"System.Exception: Root Cause", System.lineSeparator(),
 			"  from", "src/test/julian/Interpret/Imperative/Try/print_2.jul, 13", System.lineSeparator());
 	}
+	
+	/*
+	 * The trace read before an exception is rethrown remains at the head of it. 
+	 */
+	@Test
+	public void readStackTraceTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		engine.run(getScriptFile(Commons.Groups.IMPERATIVE, FEATURE, "trace_1.jul"));
+		
+		validateIntValue(gvt, "caught", 100);
+		validateIntValue(gvt, "len1", 2);
+		validateIntValue(gvt, "len2", 3);
+		AssertHelper.validateStringOccurences(
+			Commons.getStringValue(gvt, "first1"), "thrower(Integer)", "Try/trace_1.jul, 4");
+		AssertHelper.validateStringOccurences(
+			Commons.getStringValue(gvt, "first2"), "thrower(Integer)", "Try/trace_1.jul, 4");
+		AssertHelper.validateStringOccurences(
+			Commons.getStringValue(gvt, "last2"), "middle()", "Try/trace_1.jul, 31");
+	}
+	
+	/*
+	 * The same catch clauses are matched against native and script exceptions repeatedly.
+	 */
+	@Test
+	public void repeatedCatchTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		engine.run(getScriptFile(Commons.Groups.IMPERATIVE, FEATURE, "catch_cache_1.jul"));
+		
+		validateIntValue(gvt, "tries", 10);
+		validateIntValue(gvt, "range", 4);
+		validateIntValue(gvt, "div", 3);
+		validateIntValue(gvt, "io", 3);
+		validateIntValue(gvt, "other", 0);
+		Commons.validateStringValue(gvt, "rangeMsg", "Access to array out of range. Index=10, Max=0.");
+		Commons.validateStringValue(gvt, "divMsg", "Cannot divide by zero.");
+	}
 }
@@ -135,6 +135,20 @@ public class BasicForEachLoopTests {
 		validateIntValue(gvt, "sum", 600);
 	}
 	
+	@Test
+	public void forEachOnContainersTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);		
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.IMPERATIVE, FEATURE, "foreach_list_04.jul"));
+		
+		validateIntValue(gvt, "sum", 10);
+		validateIntValue(gvt, "total", 60);
+		validateIntValue(gvt, "total2", 300);
+		validateIntValue(gvt, "pairs", 16);
+		validateIntValue(gvt, "klen", 3);
+	}
+	
 	@Test
 	public void forEachOnNullTest() throws EngineInvocationError {
 		ExceptionTestRunner runner = new ExceptionTestRunner(Commons.Groups.IMPERATIVE, FEATURE);
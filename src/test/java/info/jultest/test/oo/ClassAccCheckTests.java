@@ -64,6 +64,11 @@ public class ClassAccCheckTests extends ExceptionTestsBase {
 		runAndValidate("lambda_in_lambda.jul", "System.IllegalMemberAccessException");
 	}
 	
+	@Test
+	public void repeatedAccessTest() throws EngineInvocationError {
+		runAndValidate("repeated_access.jul", "System.IllegalMemberAccessException");
+	}
+	
 	//------------------------- internal (module) visibility -------------------------//
 	
 	@Test
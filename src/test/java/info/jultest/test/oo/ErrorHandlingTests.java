@@ -126,4 +126,34 @@ public class ErrorHandlingTests {
 		Assert.assertEquals("funB()", strs[1]);		
 		Assert.assertEquals("funC(int,int)", strs[2]);
 	}
+	
+	@Test
+	public void deferredStackTraceTest() throws EngineInvocationError {	
+		JType typ = context.getTypeResolver().resolveType(
+			ParsedTypeName.makeFromFullName("System.Exception"));
+		
+		TestableJulianScriptException jse = new TestableJulianScriptException((JClassType)typ, memory);
+		
+		// No Java stack is captured for script exceptions
+		Assert.assertEquals(0, jse.getStackTrace().length);
+		
+		jse.addStackTrace0("funA", new String[]{"int"});
+		jse.addRawStackTrace(Commons.DummyTypeTable, "raw frame");
+		
+		String[] strs = jse.getStackTraceAsArray();
+		Assert.assertEquals(2, strs.length);
+		Assert.assertEquals("funA(int)", strs[0]);
+		Assert.assertEquals("raw frame", strs[1]);
+		
+		// Frames added after the trace is read are appended to it
+		jse.addStackTrace0("funB", null);
+		jse.addStackTrace0("funC", new String[]{});
+		
+		strs = jse.getStackTraceAsArray();
+		Assert.assertEquals(4, strs.length);
+		Assert.assertEquals("funA(int)", strs[0]);
+		Assert.assertEquals("raw frame", strs[1]);
+		Assert.assertEquals("funB", strs[2]);
+		Assert.assertEquals("funC()", strs[3]);
+	}
 }
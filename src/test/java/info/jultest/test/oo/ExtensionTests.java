@@ -153,4 +153,16 @@ public class ExtensionTests {
 		validateIntValue(gvt, "r5", 5);
 		validateIntValue(gvt, "r7", 7);
 	}
+	
+	@Test
+	public void callExtensionMethodsRepeatedlyOnDifferentTypesTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "comp_12.jul"));
+
+		validateIntValue(gvt, "result", 204);
+		validateIntValue(gvt, "total", 42);
+		validateIntValue(gvt, "same", 20);
+	}
 }
@@ -2,6 +2,11 @@ package info.jultest.test.oo.foundation;
 
 import static info.jultest.test.Commons.getScriptFile;
 import static info.jultest.test.Commons.makeSimpleEngine;
+import static info.jultest.test.Commons.validateBoolValue;
+import static info.jultest.test.Commons.validateByteArrayValue;
+import static info.jultest.test.Commons.validateCharArrayValue;
+import static info.jultest.test.Commons.validateCharValue;
+import static info.jultest.test.Commons.validateFloatValue;
 import static info.jultest.test.Commons.validateIntValue;
 import static info.jultest.test.Commons.validateStringValue;
 import static info.jultest.test.Commons.validateIntArrayValue;
@@ -67,6 +72,31 @@ public class System_Collection_List_Tests {
 		validateIntValue(gvt, "size", 1);	
 	}
 	
+	@Test
+	public void primitiveListTest() throws EngineInvocationError, IOException {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		engine.getContext().addModulePath(Commons.SRC_REPO_ROOT);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "list_4.jul"));
+		
+		validateIntValue(gvt, "isize", 100);
+		validateIntValue(gvt, "i50", 50);
+		validateIntValue(gvt, "i50b", -50);
+		validateIntValue(gvt, "ir", 0);
+		validateIntValue(gvt, "i0", 1);
+		validateIntArrayValue(gvt, "isorted", new int[] {100, 2, 3, 7, 11, 19} );
+		validateIntArrayValue(gvt, "idesc", new int[] {19, 11, 7, 3, 2, -1} );
+		validateIntValue(gvt, "ifirst", 19);
+		validateStringValue(gvt, "msg", "Access to array out of range. Index=6, Max=5.");
+		
+		validateFloatValue(gvt, "fsum", 13.25f);
+		validateByteArrayValue(gvt, "barr", new int[] {3, 2, 1} );
+		validateCharArrayValue(gvt, "carr", new char[] {'a', 'b', 'c'} );
+		validateCharValue(gvt, "c1", 'b');
+		validateIntValue(gvt, "csize", 3);
+	}
+	
 	//------------------ Sorting (also tests IComparable) ------------------//
 	
 	@Test
@@ -136,4 +166,47 @@ public class System_Collection_List_Tests {
 		
 		validateStringArrayValue(gvt, "arr0", new String[] {"-50", "-5", "1", "9.4", "12", "18", "77", "111"});
 	}	
+	
+	@Test
+	public void listSortNativelyAndWithComparatorTest() throws EngineInvocationError, IOException {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		engine.getContext().addModulePath(Commons.SRC_REPO_ROOT);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "list_sort_6.jul"));
+		
+		validateStringValue(gvt, "intsAsc", "-2000000000,0,3,2000000000,");
+		validateStringValue(gvt, "intsDesc", "2000000000,3,0,-2000000000,");
+		validateStringValue(gvt, "numsAsc", "-0.5,1,1.5,");
+		validateStringValue(gvt, "strsDesc", "pear,fig,apple,");
+		validateStringValue(gvt, "byScore", "bdac");
+		validateBoolValue(gvt, "sorted", true);
+		validateIntValue(gvt, "bigSize", 10000);
+		validateStringValue(gvt, "msg", "bad record");
+	}
+	
+	@Test
+	public void listBulkOperationsTest() throws EngineInvocationError, IOException {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		engine.getContext().addModulePath(Commons.SRC_REPO_ROOT);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "list_5.jul"));
+		
+		validateStringValue(gvt, "s1", "1,2,3,a,b,");
+		validateStringValue(gvt, "s2", "x,1,true,2,3,a,b,0.5,");
+		validateStringValue(gvt, "s3", "x,7,8,1,true,2,3,a,b,0.5,");
+		validateStringValue(gvt, "s4", "7,8,7,8,");
+		validateStringValue(gvt, "s5", "k9");
+		validateIntValue(gvt, "i1", 10);
+		validateStringValue(gvt, "s6", "1,2,3,");
+		validateStringValue(gvt, "s7", "0,1,5,");
+		validateIntValue(gvt, "emptySize", 0);
+		validateIntArrayValue(gvt, "target", new int[] {0, 0, 1, 2, 3});
+		validateBoolValue(gvt, "e1", true);
+		validateBoolValue(gvt, "e2", true);
+		validateBoolValue(gvt, "e3", true);
+		validateBoolValue(gvt, "e4", true);
+		validateBoolValue(gvt, "e5", true);
+	}
 }
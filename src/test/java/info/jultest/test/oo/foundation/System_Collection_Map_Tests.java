@@ -4,6 +4,7 @@ import static info.jultest.test.Commons.getScriptFile;
 import static info.jultest.test.Commons.makeSimpleEngine;
 import static info.jultest.test.Commons.validateBoolValue;
 import static info.jultest.test.Commons.validateIntValue;
+import static info.jultest.test.Commons.validateNullValue;
 import static info.jultest.test.Commons.validateStringArrayValue;
 import static info.jultest.test.Commons.validateStringValue;
 import static info.jultest.test.Commons.validateUntypedValue;
@@ -113,6 +114,64 @@ public class System_Collection_Map_Tests {
 		validateStringValue(gvt, "val", "obj2");
 	}
 	
+	// keys hashed natively mixed with those relying on overridden equals(var) and hashCode()
+	@Test
+	public void mixedKeyHashingTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "map_10.jul"));
+		
+		validateStringValue(gvt, "v1", "five");
+		validateBoolValue(gvt, "b1", false);
+		validateStringValue(gvt, "v2", "byte");
+		validateStringValue(gvt, "v3", "float");
+		validateStringValue(gvt, "v4", "byte");
+		validateStringValue(gvt, "v5", "p1");
+		validateStringValue(gvt, "v6", "pt2");
+		validateBoolValue(gvt, "b2", false);
+		validateStringValue(gvt, "v7", "str");
+		validateIntValue(gvt, "size", 8);
+	}
+	
+	// ConcurrentMap: basic operations, atomic updates and updates from multiple threads
+	@Test
+	public void concurrentMapTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "map_11.jul"));
+		
+		validateIntValue(gvt, "a", 1);
+		validateIntValue(gvt, "b", 2);
+		validateStringValue(gvt, "pt", "pt");
+		validateBoolValue(gvt, "hasA", true);
+		validateIntValue(gvt, "removed", 1);
+		validateBoolValue(gvt, "hasA2", false);
+		
+		validateIntValue(gvt, "p1", 2);
+		validateNullValue(gvt, "p2");
+		validateIntValue(gvt, "c", 30);
+		
+		validateIntValue(gvt, "calls", 1);
+		validateStringValue(gvt, "c1", "d!");
+		validateStringValue(gvt, "c2", "d!");
+		validateNullValue(gvt, "c3");
+		validateBoolValue(gvt, "hasE", false);
+		
+		validateIntValue(gvt, "m1", 7);
+		validateIntValue(gvt, "m2", 5);
+		validateNullValue(gvt, "m3");
+		validateBoolValue(gvt, "hasF", false);
+		
+		validateIntValue(gvt, "total", 37);
+		validateIntValue(gvt, "size", 4);
+		
+		validateIntValue(gvt, "count0", 80);
+		validateIntValue(gvt, "count4", 80);
+		validateIntValue(gvt, "countSize", 5);
+	}
+	
 	// new Map() { ... }
 	@Test
 	public void initByMapTest() throws EngineInvocationError {
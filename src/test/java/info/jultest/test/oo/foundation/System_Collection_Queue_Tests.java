@@ -2,6 +2,7 @@ package info.jultest.test.oo.foundation;
 
 import static info.jultest.test.Commons.getScriptFile;
 import static info.jultest.test.Commons.makeSimpleEngine;
+import static info.jultest.test.Commons.validateBoolValue;
 import static info.jultest.test.Commons.validateIntValue;
 import static info.jultest.test.Commons.validateNullValue;
 import static info.jultest.test.Commons.validateStringValue;
@@ -41,4 +42,39 @@ public class System_Collection_Queue_Tests {
 		
 		validateIntValue(gvt, "sum", 500);
 	}
+	
+	@Test
+	public void boundedBlockingQueueTest() throws EngineInvocationError, IOException {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "queue_3.jul"));
+		
+		validateBoolValue(gvt, "o1", true);
+		validateBoolValue(gvt, "o2", true);
+		validateBoolValue(gvt, "o3", false);
+		validateIntValue(gvt, "size1", 2);
+		validateIntValue(gvt, "d1", 1);
+		validateIntValue(gvt, "d2", 1);
+		validateIntValue(gvt, "d3", 0);
+		validateStringValue(gvt, "drained", "12");
+		validateNullValue(gvt, "p1");
+		validateBoolValue(gvt, "timedOut", true);
+		validateBoolValue(gvt, "e1", true);
+		validateBoolValue(gvt, "e2", true);
+		validateIntValue(gvt, "sum", 5050);
+		validateBoolValue(gvt, "withinCapacity", true);
+	}
+	
+	@Test
+	public void drainToHeldListTest() throws EngineInvocationError, IOException {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "queue_4.jul"));
+		
+		validateBoolValue(gvt, "failed", true);
+		validateIntValue(gvt, "sizeAfterFailure", 2);
+		validateIntValue(gvt, "heldSize", 1);
+		validateIntValue(gvt, "drained", 2);
+		validateIntValue(gvt, "sizeAfterDrain", 3);
+	}
 }
@@ -0,0 +1,91 @@
+package info.jultest.test.oo.foundation;
+
+import static info.jultest.test.Commons.getScriptFile;
+import static info.jultest.test.Commons.makeSimpleEngine;
+import static info.jultest.test.Commons.validateBoolValue;
+import static info.jultest.test.Commons.validateIntValue;
+import static info.jultest.test.Commons.validateNullValue;
+import static info.jultest.test.Commons.validateStringValue;
+import info.julang.execution.simple.SimpleScriptEngine;
+import info.julang.execution.symboltable.VariableTable;
+import info.julang.external.exceptions.EngineInvocationError;
+import info.jultest.test.Commons;
+
+import org.junit.Test;
+
+public class System_Collection_SortedMap_Tests {
+
+	private static final String FEATURE = "Foundation/Collection";
+	
+	// put (overwrite), get, remove, first/last, floor/ceiling, range, iteration
+	@Test
+	public void sortedMapTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "sortedmap_1.jul"));
+		
+		validateIntValue(gvt, "size", 5);
+		validateStringValue(gvt, "v20", "b2");
+		validateBoolValue(gvt, "has30", true);
+		validateStringValue(gvt, "removed", "c");
+		validateBoolValue(gvt, "has30b", false);
+		
+		validateIntValue(gvt, "first", 10);
+		validateIntValue(gvt, "last", 50);
+		validateIntValue(gvt, "floor35", 20);
+		validateIntValue(gvt, "ceiling35", 40);
+		validateIntValue(gvt, "lower40", 20);
+		validateIntValue(gvt, "higher40", 50);
+		validateBoolValue(gvt, "noFloor", true);
+		
+		validateStringValue(gvt, "inRange", "b2d");
+		validateIntValue(gvt, "openEnd", 2);
+		validateIntValue(gvt, "emptyRange", 0);
+		
+		validateStringValue(gvt, "firstTwo", "10,20,");
+		validateStringValue(gvt, "all", "10,20,25,40,50,");
+		
+		validateStringValue(gvt, "top", "Ann");
+		validateStringValue(gvt, "bottom", "Cid");
+		validateStringValue(gvt, "board7", "Bob");
+	}
+	
+	// overflowing ints, mixed numbers, incomparable keys
+	@Test
+	public void sortedMapKeyComparisonTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "sortedmap_2.jul"));
+		
+		validateIntValue(gvt, "first", -2000000000);
+		validateIntValue(gvt, "last", 2000000000);
+		validateStringValue(gvt, "all", "int1,float,int,");
+		validateBoolValue(gvt, "mixedFailed", true);
+		validateBoolValue(gvt, "objFailed", true);
+		validateIntValue(gvt, "sSize", 1);
+		validateIntValue(gvt, "oSize", 0);
+	}
+	
+	// add, has, remove, first/last, floor/ceiling, range, iteration
+	@Test
+	public void sortedSetTest() throws EngineInvocationError {
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "sortedset_1.jul"));
+		
+		validateIntValue(gvt, "size", 3);
+		validateBoolValue(gvt, "hasFig", true);
+		validateBoolValue(gvt, "removed", true);
+		validateBoolValue(gvt, "removed2", false);
+		
+		validateStringValue(gvt, "first", "apple");
+		validateStringValue(gvt, "last", "pear");
+		validateStringValue(gvt, "ceiling", "pear");
+		validateNullValue(gvt, "floor");
+		validateStringValue(gvt, "all", "apple,pear,");
+		validateStringValue(gvt, "inRange", "banana,kiwi,");
+	}
+}
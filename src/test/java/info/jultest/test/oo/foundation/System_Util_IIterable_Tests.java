@@ -1,5 +1,6 @@
 package info.jultest.test.oo.foundation;
 
+import static info.jultest.test.Commons.getIntValue;
 import static info.jultest.test.Commons.getScriptFile;
 import static info.jultest.test.Commons.makeSimpleEngine;
 import static info.jultest.test.Commons.validateIntValue;
@@ -8,6 +9,7 @@ import static info.jultest.test.Commons.validateBoolValue;
 import static info.jultest.test.Commons.validateStringArrayValue;
 import static info.jultest.test.Commons.validateNullValue;
 import static info.jultest.test.Commons.resetTypeSystem;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
 
@@ -261,4 +263,50 @@ public class System_Util_IIterable_Tests extends ExceptionTestsBase {
 		validateStringArrayValue(gvt, "res1", new String[] {"target1", "target2"});
 		validateStringArrayValue(gvt, "res2", new String[] {"target1target1", "target2target2"});
 	}
+	
+	@Test
+	public void comprehensiveTest2() throws EngineInvocationError {
+		resetTypeSystem();
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "iter_31.jul"));
+
+		validateIntValue(gvt, "size", 50000);
+		validateIntValue(gvt, "last", 99998 * 3);
+		validateIntValue(gvt, "sum", 4950);
+		validateIntValue(gvt, "cnt", 10);
+		validateBoolValue(gvt, "allNonNeg", true);
+		validateBoolValue(gvt, "anyBig", true);
+		validateIntValue(gvt, "msum", 6);
+		validateIntValue(gvt, "ssum", 30);
+		validateIntValue(gvt, "total", 12);
+		validateBoolValue(gvt, "caught", true);
+	}
+	
+	@Test
+	public void parallelTest() throws EngineInvocationError {
+		resetTypeSystem();
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.OO, FEATURE, "iter_32.jul"));
+
+		validateIntValue(gvt, "size1", 1667);
+		validateBoolValue(gvt, "ordered", true);
+		validateIntValue(gvt, "size2", 5000);
+		validateIntValue(gvt, "sum2", 22500);
+		validateIntValue(gvt, "total", 24995000);
+		validateIntValue(gvt, "cnt", 715);
+		validateBoolValue(gvt, "allSmall", true);
+		validateBoolValue(gvt, "anyNeg", false);
+		validateIntValue(gvt, "len", 6);
+		validateIntValue(gvt, "firstThree", 6);
+		validateBoolValue(gvt, "caught", true);
+		validateStringValue(gvt, "msg", "cannot score 3000");
+		validateBoolValue(gvt, "traced", true);
+		
+		int threads = getIntValue(gvt.getVariable("threads"));
+		assertTrue(threads > 1 && threads <= 4);
+	}
 }
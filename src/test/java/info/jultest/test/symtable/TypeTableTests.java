@@ -0,0 +1,108 @@
+package info.jultest.test.symtable;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import info.julang.execution.symboltable.TypeTable;
+import info.julang.memory.value.TypeValue;
+import info.julang.typesystem.JType;
+import info.julang.typesystem.basic.IntType;
+import info.julang.typesystem.jclass.builtin.JObjectType;
+import info.julang.typesystem.jclass.builtin.JStringType;
+import info.jultest.test.Commons;
+
+public class TypeTableTests {
+
+	@Test
+	public void finalizeTypeTest() {
+		TypeTable tt = Commons.buildSimpleEngine().getTypeTable();
+
+		// Built-in types are finalized upon initialization
+		assertSame(JObjectType.getInstance(), tt.getType(JObjectType.getInstance().getName(), true));
+		assertSame(JStringType.getInstance(), tt.getType(JStringType.getInstance().getName(), true));
+
+		// A new type is not visible to the lookups requiring finalized types ...
+		JType typ = IntType.getInstance();
+		tt.addType("MyNS.MyType", typ);
+		assertSame(typ, tt.getType("MyNS.MyType"));
+		assertNotNull(tt.getValue("MyNS.MyType"));
+		assertNull(tt.getType("MyNS.MyType", true));
+		assertNull(tt.getValue("MyNS.MyType", true));
+
+		// ... until it's finalized.
+		tt.finalizeTypes(Arrays.asList("MyNS.MyType"));
+		assertSame(typ, tt.getType("MyNS.MyType", true));
+		assertNotNull(tt.getValue("MyNS.MyType", true));
+
+		// A finalized type can be cleared.
+		tt.clearAllUserDefinedTypes();
+		assertNull(tt.getType("MyNS.MyType"));
+		assertNull(tt.getValue("MyNS.MyType"));
+		assertNotNull(tt.getType(JObjectType.getInstance().getName(), true));
+	}
+
+	@Test
+	public void removeUnfinalizedTypeTest() {
+		TypeTable tt = Commons.buildSimpleEngine().getTypeTable();
+		tt.addType("MyNS.MyType", IntType.getInstance());
+		tt.removeUnfinalizedTypes(Arrays.asList("MyNS.MyType"));
+		assertNull(tt.getType("MyNS.MyType"));
+
+		// Can be added again
+		tt.addType("MyNS.MyType", IntType.getInstance());
+		assertNotNull(tt.getType("MyNS.MyType"));
+	}
+
+	@Test
+	public void concurrentLookupTest() throws InterruptedException {
+		final TypeTable tt = Commons.buildSimpleEngine().getTypeTable();
+		final String objName = JObjectType.getInstance().getName();
+		final AtomicBoolean failed = new AtomicBoolean();
+		final AtomicBoolean done = new AtomicBoolean();
+
+		Thread[] readers = new Thread[4];
+		for (int i = 0; i < readers.length; i++) {
+			readers[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					while (!done.get()) {
+						TypeValue tv = tt.getValue(objName, true);
+						if (tt.getType(objName, true) == null || tv == null) {
+							failed.set(true);
+						}
+
+						// A finalized type is either visible with its value, or not at all.
+						JType typ = tt.getType("MyNS.T0", true);
+						if (typ != null && tt.getValue("MyNS.T0", true) == null) {
+							failed.set(true);
+						}
+					}
+				}
+			});
+			readers[i].start();
+		}
+
+		for (int i = 0; i < 200; i++) {
+			String name = "MyNS.T" + i;
+			tt.addType(name, IntType.getInstance());
+			tt.finalizeTypes(Arrays.asList(name));
+		}
+
+		done.set(true);
+		for (Thread t : readers) {
+			t.join();
+		}
+
+		assertTrue(!failed.get());
+		for (int i = 0; i < 200; i++) {
+			assertNotNull(tt.getType("MyNS.T" + i, true));
+		}
+	}
+}
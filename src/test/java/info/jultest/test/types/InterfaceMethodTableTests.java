@@ -0,0 +1,89 @@
+package info.jultest.test.types;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import info.julang.execution.StringScriptProvider;
+import info.julang.execution.symboltable.TypeTable;
+import info.julang.external.exceptions.EngineInvocationError;
+import info.julang.typesystem.JType;
+import info.julang.typesystem.basic.IntType;
+import info.julang.typesystem.jclass.JClassType;
+import info.julang.typesystem.jclass.JInterfaceType;
+import info.julang.typesystem.jclass.builtin.JMethodType;
+import info.jultest.test.Commons;
+import info.jultest.test.EngineComponentSet;
+
+public class InterfaceMethodTableTests {
+
+	@Test
+	public void overriddenMethodTest() throws EngineInvocationError {
+		EngineComponentSet ecs = Commons.buildSimpleEngine();
+		ecs.getEngine().run(new StringScriptProvider(
+			  "interface I0 { int f(int x); }\n"
+			+ "interface I : I0 { int g(); }\n"
+			+ "class A : I { public int f(int x) { return x; } public int g() { return 1; } }\n"
+			+ "class B : A { public int f(int x) { return x * 2; } }\n"
+			+ "B b = new B();\n", false));
+		TypeTable tt = ecs.getTypeTable();
+		JInterfaceType i = (JInterfaceType)tt.getType("<default>.I", true);
+		JClassType a = (JClassType)tt.getType("<default>.A", true);
+		JClassType b = (JClassType)tt.getType("<default>.B", true);
+
+		// Inherited interface methods also have slots
+		int fslot = i.getMethodSlot("f", new JType[]{ IntType.getInstance() });
+		int gslot = i.getMethodSlot("g", new JType[0]);
+		assertTrue(fslot >= 0);
+		assertTrue(gslot >= 0);
+		assertEquals(-1, i.getMethodSlot("f", new JType[0]));
+		assertEquals(-1, i.getMethodSlot("h", new JType[0]));
+
+		JMethodType[] atable = a.getInterfaceMethodTable(i);
+		JMethodType[] btable = b.getInterfaceMethodTable(i);
+		assertEquals(2, btable.length);
+
+		// f is overridden by B, while g is inherited from A
+		assertSame(b, getDefiningType(btable[fslot]));
+		assertSame(a, getDefiningType(btable[gslot]));
+		assertSame(a, getDefiningType(atable[fslot]));
+
+		// The table is reused
+		assertSame(btable, b.getInterfaceMethodTable(i));
+	}
+
+	@Test
+	public void dispatchThroughInterfaceTest() throws EngineInvocationError {
+		EngineComponentSet ecs = Commons.buildSimpleEngine();
+		ecs.getEngine().run(new StringScriptProvider(
+			  "import System.Util;\n"
+			+ "class Iter : IIterator {\n"
+			+ "  int i;\n"
+			+ "  Iter(int i) { this.i = i; }\n"
+			+ "  public bool hasNext() { return i < 3; }\n"
+			+ "  public var next() { i++; return i; }\n"
+			+ "}\n"
+			+ "class Seq : IIterable, IIndexable {\n"
+			+ "  public IIterator getIterator() { return new Iter(0); }\n"
+			+ "  public var at(var i) { return (int)i * 10; }\n"
+			+ "  public void at(var i, var v) { }\n"
+			+ "  public int size() { return 3; }\n"
+			+ "}\n"
+			+ "class Seq2 : Seq {\n"
+			+ "  public IIterator getIterator() { return new Iter(1); }\n"
+			+ "}\n"
+			+ "int sum = 0;\n"
+			+ "for (var v : new Seq()) { sum += v; }\n"
+			+ "for (var v : new Seq2()) { sum += v * 100; }\n"
+			+ "Seq s = new Seq2();\n"
+			+ "int x = s[4];\n", false));
+		Commons.validateIntValue(ecs.getVariableTable(), "sum", 6 + 500);
+		Commons.validateIntValue(ecs.getVariableTable(), "x", 40);
+	}
+
+	private JClassType getDefiningType(JMethodType mtyp) {
+		return (JClassType)mtyp.getContainingType();
+	}
+}
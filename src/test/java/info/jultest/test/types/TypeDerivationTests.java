@@ -0,0 +1,69 @@
+package info.jultest.test.types;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import info.julang.execution.StringScriptProvider;
+import info.julang.execution.symboltable.TypeTable;
+import info.julang.external.exceptions.EngineInvocationError;
+import info.julang.typesystem.jclass.ICompoundType;
+import info.julang.typesystem.jclass.builtin.JObjectType;
+import info.julang.typesystem.jclass.builtin.JStringType;
+import info.jultest.test.Commons;
+import info.jultest.test.EngineComponentSet;
+
+public class TypeDerivationTests {
+
+	/*
+	 * Derivation checks on sealed types are made against a precomputed table. Verify the results are
+	 * the same with walking the hierarchy.
+	 */
+	@Test
+	public void sealedTypeDerivationTest() throws EngineInvocationError {
+		EngineComponentSet ecs = Commons.buildSimpleEngine();
+		ecs.getEngine().run(new StringScriptProvider(
+			  "interface I1 {}\n"
+			+ "interface I2 : I1 {}\n"
+			+ "interface I3 {}\n"
+			+ "class C1 : I2 {}\n"
+			+ "class C2 : C1, I3 {}\n"
+			+ "class C3 {}\n"
+			+ "C2 c2 = new C2();\n"
+			+ "C3 c3 = new C3();\n", false));
+		TypeTable tt = ecs.getTypeTable();
+		ICompoundType i1 = getType(tt, "I1");
+		ICompoundType i2 = getType(tt, "I2");
+		ICompoundType i3 = getType(tt, "I3");
+		ICompoundType c1 = getType(tt, "C1");
+		ICompoundType c2 = getType(tt, "C2");
+		ICompoundType c3 = getType(tt, "C3");
+		ICompoundType obj = JObjectType.getInstance();
+
+		assertTrue(c2.isDerivedFrom(c1, false));
+		assertTrue(c2.isDerivedFrom(i1, false));
+		assertTrue(c2.isDerivedFrom(i2, false));
+		assertTrue(c2.isDerivedFrom(i3, false));
+		assertTrue(c2.isDerivedFrom(obj, false));
+		assertTrue(c2.isDerivedFrom(c2, true));
+		assertFalse(c2.isDerivedFrom(c2, false));
+		assertFalse(c2.isDerivedFrom(c3, false));
+
+		assertTrue(c1.isDerivedFrom(i1, false));
+		assertFalse(c1.isDerivedFrom(i3, false));
+		assertFalse(c1.isDerivedFrom(c2, false));
+		assertTrue(c1.canDerive(c2, false));
+
+		assertTrue(i2.isDerivedFrom(i1, false));
+		assertFalse(i1.isDerivedFrom(i2, false));
+		assertFalse(i2.isDerivedFrom(obj, false)); // Interfaces are not derived from Object
+
+		assertTrue(JStringType.getInstance().isDerivedFrom(obj, false));
+		assertFalse(obj.isDerivedFrom(JStringType.getInstance(), false));
+	}
+
+	private ICompoundType getType(TypeTable tt, String name) {
+		return (ICompoundType)tt.getType("<default>." + name, true);
+	}
+}
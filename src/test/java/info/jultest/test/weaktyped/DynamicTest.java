@@ -3,12 +3,16 @@ package info.jultest.test.weaktyped;
 import static info.jultest.test.Commons.getScriptFile;
 import static info.jultest.test.Commons.makeSimpleEngine;
 import static info.jultest.test.Commons.*;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 import org.junit.Test;
 
 import info.julang.execution.simple.SimpleScriptEngine;
 import info.julang.execution.symboltable.VariableTable;
 import info.julang.external.exceptions.EngineInvocationError;
+import info.julang.memory.value.DynamicValue;
 import info.jultest.test.Commons;
 import info.jultest.test.ExceptionTestRunner;
 
@@ -235,4 +239,31 @@ public class DynamicTest {
 		validateIntValue(gvt, "i37", 37);
 		validateIntValue(gvt, "i55", 55);
 	}
+	
+	@Test
+	public void dynamicShapeTest() throws EngineInvocationError {
+		resetTypeSystem();
+		VariableTable gvt = new VariableTable(null);
+		SimpleScriptEngine engine = makeSimpleEngine(gvt);
+		
+		engine.run(getScriptFile(Commons.Groups.SCRIPTING, FEATURE, "shape_1.jul"));
+
+		validateIntValue(gvt, "sum", 66);
+		validateIntValue(gvt, "sumx", 10);
+		validateStringValue(gvt, "order", "cabd");
+		validateIntValue(gvt, "bigSize", 100);
+		validateIntValue(gvt, "big77", 77);
+		validateIntValue(gvt, "big5", 500);
+		validateStringValue(gvt, "bigOrder", "k0k1");
+		
+		// Objects built in the same way share the shape, while those with too many properties don't use one.
+		DynamicValue o = getDynamic(gvt, "o");
+		assertNotNull(o.getShape());
+		assertSame(o.getShape(), getDynamic(gvt, "p").getShape());
+		assertNull(getDynamic(gvt, "big").getShape());
+	}
+	
+	private DynamicValue getDynamic(VariableTable gvt, String name) {
+		return (DynamicValue)gvt.getVariable(name).deref();
+	}
 }